@@ -0,0 +1,110 @@
+package ru.yandex.practicum.shareit.bench;
+
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.paging.Pages;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dao.ItemDao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+// The original HashMap store with synchronized methods: every search is a scan of the whole catalog.
+final class BaselineItemStorage implements ItemDao {
+    private final Map<Long, Item> items = new HashMap<>();
+    private long id;
+
+    @Override
+    public synchronized Item addItem(Item item) {
+        item = item.toBuilder().id(++id).version(1).build();
+        items.put(item.getId(), item);
+        return item;
+    }
+
+    @Override
+    public synchronized List<Item> addItems(List<Item> batch) {
+        List<Item> added = new ArrayList<>(batch.size());
+        for (Item item : batch) {
+            added.add(addItem(item));
+        }
+        return added;
+    }
+
+    @Override
+    public List<Item> searchByOwnerId(Long ownerId, PageParams page) {
+        return scan(item -> item.getOwner().getId().equals(ownerId), page);
+    }
+
+    @Override
+    public List<Item> searchByText(String text, PageParams page) {
+        return scan(matches(text), page);
+    }
+
+    @Override
+    public List<Item> searchByRequestId(Long requestId, PageParams page) {
+        return scan(item -> item.getRequest() != null && item.getRequest().getId().equals(requestId), page);
+    }
+
+    @Override
+    public List<Item> matchText(String text, int limit) {
+        return scan(matches(text), PageParams.offset(0, limit));
+    }
+
+    @Override
+    public synchronized List<String> suggestNames(String prefix, int limit) {
+        String lower = prefix.toLowerCase(Locale.ROOT);
+        return items.values().stream()
+                .filter(Item::isAvailable)
+                .map(Item::getName)
+                .filter(name -> name.toLowerCase(Locale.ROOT).startsWith(lower))
+                .distinct()
+                .sorted()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized Item updateItem(long itemId, UnaryOperator<Item> patch) {
+        Item current = items.get(itemId);
+        if (current == null) {
+            return null;
+        }
+        Item item = patch.apply(current).toBuilder()
+                .id(itemId)
+                .request(current.getRequest())
+                .version(current.getVersion() + 1)
+                .build();
+        items.put(itemId, item);
+        return item;
+    }
+
+    @Override
+    public synchronized Item getItemById(long itemId) {
+        return items.get(itemId);
+    }
+
+    @Override
+    public synchronized List<Item> getItemsByIds(List<Long> itemIds) {
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private synchronized List<Item> scan(Predicate<Item> filter, PageParams page) {
+        return Pages.slice(items.values().stream().filter(filter).iterator(), page);
+    }
+
+    private static Predicate<Item> matches(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        return item -> item.isAvailable()
+                && (item.getName().toLowerCase(Locale.ROOT).contains(lower)
+                || item.getDescription().toLowerCase(Locale.ROOT).contains(lower));
+    }
+}
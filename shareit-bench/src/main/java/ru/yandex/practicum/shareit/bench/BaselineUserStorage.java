@@ -0,0 +1,63 @@
+package ru.yandex.practicum.shareit.bench;
+
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.paging.Pages;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.UserDao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// The original HashMap store with synchronized methods, the smallest change that makes it safe to share between
+// threads. Benchmarks run it next to the concurrent store to show what the striped locks and indexes buy.
+final class BaselineUserStorage implements UserDao {
+    private final Map<Long, User> users = new HashMap<>();
+    private long id;
+
+    @Override
+    public synchronized List<User> findAll(PageParams page) {
+        return Pages.slice(new ArrayList<>(users.values()), page);
+    }
+
+    @Override
+    public synchronized Optional<User> getById(Long id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public synchronized boolean existsById(Long id) {
+        return users.containsKey(id);
+    }
+
+    @Override
+    public synchronized User save(User user) {
+        if (user.getId() == null || !users.containsKey(user.getId())) {
+            user = user.withId(++id);
+        }
+        users.put(user.getId(), user);
+        return user;
+    }
+
+    @Override
+    public synchronized List<BatchResult<User>> insertAll(List<User> batch) {
+        List<BatchResult<User>> inserted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            inserted.add(BatchResult.created(i, save(batch.get(i).withId(null))));
+        }
+        return inserted;
+    }
+
+    @Override
+    public synchronized boolean getByEmail(String email) {
+        return users.values().stream().anyMatch(user -> user.getEmail().equalsIgnoreCase(email));
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        users.remove(id);
+    }
+}
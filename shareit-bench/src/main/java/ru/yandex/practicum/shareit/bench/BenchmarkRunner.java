@@ -0,0 +1,29 @@
+package ru.yandex.practicum.shareit.bench;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public final class BenchmarkRunner {
+    private static final String THREADS_PROPERTY = "bench.threads";
+    private static final String DEFAULT_THREADS = "1,4,16";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp() || options.shouldList() || options.getThreads().hasValue()) {
+            Main.main(args);
+            return;
+        }
+        for (String threads : System.getProperty(THREADS_PROPERTY, DEFAULT_THREADS).split(",")) {
+            new Runner(new OptionsBuilder()
+                    .parent(options)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build())
+                    .run();
+        }
+    }
+}
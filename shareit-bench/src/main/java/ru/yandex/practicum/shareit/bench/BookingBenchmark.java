@@ -0,0 +1,137 @@
+package ru.yandex.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+import ru.yandex.practicum.shareit.booking.dao.InMemoryBookingStorage;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BookingBenchmark {
+    private static final int KEYS = 1024;
+    private static final long HOT_ITEM_ID = 1;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Param({"1000", "100000"})
+    int bookingsPerItem;
+
+    InMemoryBookingStorage storage;
+    Item hotItem = Item.builder().id(HOT_ITEM_ID).owner(User.builder().id(1L).build()).available(true).build();
+    User booker = User.builder().id(2L).build();
+    int[] slots = new int[KEYS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        storage = new InMemoryBookingStorage();
+        for (int i = 0; i < bookingsPerItem; i++) {
+            storage.add(booking(i, i % 2 == 0 ? BookingStatus.APPROVED : BookingStatus.WAITING));
+        }
+        for (int i = 0; i < KEYS; i++) {
+            slots[i] = (int) ((i * 7_919L) % bookingsPerItem);
+        }
+    }
+
+    @Benchmark
+    public boolean isFreeInGap(Cursor cursor) {
+        int slot = slots[cursor.next()];
+        return storage.isFree(HOT_ITEM_ID, slotEnd(slot), slotEnd(slot).plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean isFreeOverlapping(Cursor cursor) {
+        int slot = slots[cursor.next()];
+        return storage.isFree(HOT_ITEM_ID, slotStart(slot).plusMinutes(30), slotEnd(slot).plusMinutes(30));
+    }
+
+    @Benchmark
+    public Optional<Booking> findNext(Cursor cursor) {
+        return storage.findNext(HOT_ITEM_ID, slotStart(slots[cursor.next()]).plusMinutes(10));
+    }
+
+    @Benchmark
+    public Optional<Booking> findLast(Cursor cursor) {
+        return storage.findLast(HOT_ITEM_ID, slotStart(slots[cursor.next()]).plusMinutes(10));
+    }
+
+    @Benchmark
+    public Optional<Booking> addConflicting(Cursor cursor) {
+        return storage.add(booking(slots[cursor.next()], BookingStatus.WAITING));
+    }
+
+    @Benchmark
+    public Optional<Booking> bookGapAndCancel(Cursor cursor) {
+        return bookGap(cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Booking> bookGapAndCancelContended(Cursor cursor) {
+        return bookGap(cursor);
+    }
+
+    private Optional<Booking> bookGap(Cursor cursor) {
+        int slot = slots[cursor.next()];
+        LocalDateTime start = slotEnd(slot);
+        Optional<Booking> added = storage.add(Booking.builder()
+                .start(start)
+                .end(start.plusMinutes(30))
+                .item(hotItem)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+        Optional<Booking> canceled = added.flatMap(booking -> storage.changeStatus(booking.getId(),
+                BookingStatus.WAITING, BookingStatus.CANCELED));
+        added.ifPresent(booking -> storage.restoreDeleted(booking.getId()));
+        return canceled;
+    }
+
+    private Booking booking(int slot, BookingStatus status) {
+        return Booking.builder()
+                .start(slotStart(slot))
+                .end(slotEnd(slot))
+                .item(hotItem)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+
+    private static LocalDateTime slotStart(int slot) {
+        return EPOCH.plusHours(2L * slot);
+    }
+
+    private static LocalDateTime slotEnd(int slot) {
+        return slotStart(slot).plusHours(1);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int position;
+
+        int next() {
+            position = (position + 1) & (KEYS - 1);
+            return position;
+        }
+    }
+}
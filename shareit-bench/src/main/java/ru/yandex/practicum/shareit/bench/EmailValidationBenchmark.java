@@ -0,0 +1,69 @@
+package ru.yandex.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.shareit.user.service.EmailValidator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailValidationBenchmark {
+    private static final String REGEX = "^(.+)@(\\S+)$";
+    private static final Pattern PRECOMPILED = Pattern.compile(REGEX);
+
+    @Param({"typical", "long", "adversarial-1k", "adversarial-10k"})
+    String input;
+
+    String email;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (input) {
+            case "typical":
+                email = "ivan.petrov@yandex.ru";
+                break;
+            case "long":
+                email = "a".repeat(200) + "@" + "b".repeat(200) + ".ru";
+                break;
+            case "adversarial-1k":
+                email = "@".repeat(1_000) + " ";
+                break;
+            case "adversarial-10k":
+                email = "@".repeat(10_000) + " ";
+                break;
+            default:
+                throw new IllegalArgumentException(input);
+        }
+    }
+
+    @Benchmark
+    public boolean regexCompiledPerCall() {
+        return Pattern.compile(REGEX).matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean regexPrecompiled() {
+        return PRECOMPILED.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean linear() {
+        return EmailValidator.isValid(email);
+    }
+}
@@ -0,0 +1,126 @@
+package ru.yandex.practicum.shareit.bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import ru.yandex.practicum.shareit.core.exception.ExceptionsHandler;
+import ru.yandex.practicum.shareit.core.exception.FieldError;
+import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
+import ru.yandex.practicum.shareit.core.exception.NotFoundException;
+import ru.yandex.practicum.shareit.item.cache.ItemResponseCache;
+import ru.yandex.practicum.shareit.item.dao.InMemoryItemStorage;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+import ru.yandex.practicum.shareit.item.service.ItemService;
+import ru.yandex.practicum.shareit.item.service.ItemServiceImpl;
+import ru.yandex.practicum.shareit.request.dao.InMemoryItemRequestStorage;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+import ru.yandex.practicum.shareit.user.dto.UserMapper;
+import ru.yandex.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+    private static final long MISSING_ID = Long.MAX_VALUE;
+
+    @Param({"0", "100"})
+    int stackDepth;
+
+    ItemService itemService;
+    ExceptionsHandler exceptionsHandler;
+    ItemDto itemDto = new ItemDto(null, "Дрель", "Простая дрель", true, null);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ItemMapper itemMapper = new ItemMapper();
+        itemService = new ItemServiceImpl(new InMemoryItemStorage(),
+                new UserServiceImpl(new InMemoryUserStorage(), new UserMapper(), event -> {
+                }),
+                new InMemoryItemRequestStorage(),
+                itemMapper,
+                new ItemResponseCache(itemMapper, DataSize.ofMegabytes(1)),
+                event -> {
+                });
+        exceptionsHandler = new ExceptionsHandler(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Object notFoundLegacy() {
+        try {
+            return atDepth(stackDepth, () -> {
+                throw new LegacyNotFoundException("item", MISSING_ID);
+            });
+        } catch (LegacyNotFoundException e) {
+            return Map.of("error", e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public Object notFound() {
+        try {
+            return atDepth(stackDepth, () -> itemService.getItemById(MISSING_ID, null));
+        } catch (NotFoundException e) {
+            return exceptionsHandler.notFoundExceptionHandler(e);
+        }
+    }
+
+    @Benchmark
+    public Object fieldValidationLegacy() {
+        try {
+            return atDepth(stackDepth, () -> {
+                throw new LegacyFieldValidationException("userId", "empty");
+            });
+        } catch (LegacyFieldValidationException e) {
+            return List.of(new FieldError(e.field, e.description));
+        }
+    }
+
+    @Benchmark
+    public Object fieldValidation() {
+        try {
+            return atDepth(stackDepth, () -> itemService.createItem(null, itemDto));
+        } catch (FieldValidationException e) {
+            return exceptionsHandler.fieldValidationExceptionHandler(e);
+        }
+    }
+
+    private static Object atDepth(int depth, Supplier<Object> call) {
+        return depth == 0 ? call.get() : atDepth(depth - 1, call);
+    }
+
+    private static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String entity, long id) {
+            super(entity + " with id=" + id + " not found");
+        }
+    }
+
+    private static class LegacyFieldValidationException extends RuntimeException {
+        final String field;
+        final String description;
+
+        LegacyFieldValidationException(String field, String description) {
+            this.field = field;
+            this.description = description;
+        }
+    }
+}
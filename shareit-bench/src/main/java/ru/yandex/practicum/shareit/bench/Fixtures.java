@@ -0,0 +1,66 @@
+package ru.yandex.practicum.shareit.bench;
+
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dao.ItemDao;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.UserDao;
+
+import java.util.SplittableRandom;
+
+final class Fixtures {
+    static final int VOCABULARY = 20_000;
+    static final long POWER_OWNER_ID = 1L;
+    static final int ITEMS_PER_OWNER = 100;
+
+    private Fixtures() {
+    }
+
+    static String word(int index) {
+        return String.format("w%05d", index);
+    }
+
+    static String email(long index) {
+        return "user" + index + "@shareit.ru";
+    }
+
+    static long powerOwnerItemId(int index, int catalogSize) {
+        return 1 + 10L * (index % Math.max(1, catalogSize / 10));
+    }
+
+    static long ownerCount(int catalogSize) {
+        return 1 + Math.max(1, catalogSize / ITEMS_PER_OWNER);
+    }
+
+    static void fillUsers(UserDao userDao, long count) {
+        for (long i = 1; i <= count; i++) {
+            userDao.save(new User(null, "user" + i, email(i)));
+        }
+    }
+
+    static void fillItems(ItemDao itemDao, UserDao userDao, int catalogSize) {
+        long owners = ownerCount(catalogSize);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < catalogSize; i++) {
+            long ownerId = i % 10 == 0 ? POWER_OWNER_ID : 2 + i % (owners - 1);
+            User owner = userDao.getById(ownerId).orElseThrow();
+            itemDao.addItem(new Item(null,
+                    word(random.nextInt(VOCABULARY)) + " " + word(random.nextInt(VOCABULARY)),
+                    description(random),
+                    random.nextInt(10) != 0,
+                    owner,
+                    null,
+                    0L));
+        }
+    }
+
+    static String description(SplittableRandom random) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(word(random.nextInt(VOCABULARY)));
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package ru.yandex.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import ru.yandex.practicum.shareit.item.ItemChangedEvent;
+import ru.yandex.practicum.shareit.item.cache.CachedItemResponse;
+import ru.yandex.practicum.shareit.item.cache.ItemResponseCache;
+import ru.yandex.practicum.shareit.item.dao.InMemoryItemStorage;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+import ru.yandex.practicum.shareit.item.service.ItemService;
+import ru.yandex.practicum.shareit.item.service.ItemServiceImpl;
+import ru.yandex.practicum.shareit.request.dao.InMemoryItemRequestStorage;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+import ru.yandex.practicum.shareit.user.dto.UserMapper;
+import ru.yandex.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx16g"})
+public class ItemServiceBenchmark {
+    private static final int KEYS = 1024;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int catalogSize;
+
+    ItemService itemService;
+    long owners;
+    ItemDto newItem = new ItemDto(null, "Дрель", "Простая дрель", true, null);
+    ItemDto[] renames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryUserStorage userStorage = new InMemoryUserStorage();
+        InMemoryItemStorage itemStorage = new InMemoryItemStorage();
+        owners = Fixtures.ownerCount(catalogSize);
+        Fixtures.fillUsers(userStorage, owners);
+        Fixtures.fillItems(itemStorage, userStorage, catalogSize);
+        ItemMapper itemMapper = new ItemMapper();
+        ItemResponseCache itemResponseCache = new ItemResponseCache(itemMapper, DataSize.ofMegabytes(16));
+        itemService = new ItemServiceImpl(itemStorage,
+                new UserServiceImpl(userStorage, new UserMapper(), event -> {
+                }),
+                new InMemoryItemRequestStorage(),
+                itemMapper,
+                itemResponseCache,
+                event -> itemResponseCache.onItemChanged((ItemChangedEvent) event));
+
+        renames = new ItemDto[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            renames[i] = new ItemDto(null, Fixtures.word(i) + " " + Fixtures.word(i + 1), null, null, null);
+        }
+    }
+
+    @Benchmark
+    public ItemDto createItem(Cursor cursor) {
+        return itemService.createItem(2 + cursor.next() % (owners - 1), newItem);
+    }
+
+    @Benchmark
+    public ItemDto getItemById(Cursor cursor) {
+        return itemService.getItemById(Fixtures.powerOwnerItemId(cursor.next(), catalogSize), null);
+    }
+
+    @Benchmark
+    public CachedItemResponse getItemResponse(Cursor cursor) {
+        return itemService.getItemResponse(Fixtures.powerOwnerItemId(cursor.next(), catalogSize), null);
+    }
+
+    @Benchmark
+    public ItemDto updateItem(Cursor cursor) {
+        int position = cursor.next();
+        return itemService.updateItem(Fixtures.powerOwnerItemId(position, catalogSize),
+                Fixtures.POWER_OWNER_ID,
+                renames[position]);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int position;
+
+        int next() {
+            position = (position + 1) & (KEYS - 1);
+            return position;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.yandex.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dao.CompactItemStorage;
+import ru.yandex.practicum.shareit.item.dao.InMemoryItemStorage;
+import ru.yandex.practicum.shareit.item.dao.ItemDao;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx16g"})
+public class ItemStorageBenchmark {
+    private static final int QUERIES = 1024;
+    private static final int SUGGESTIONS = 10;
+    private static final PageParams FIRST_PAGE = PageParams.offset(0, 20);
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int catalogSize;
+
+    @Param({"standard", "compact", "baseline"})
+    String storage;
+
+    ItemDao itemStorage;
+    String[] oneWordQueries;
+    String[] twoWordQueries;
+    String[] prefixes;
+    long[] owners;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryUserStorage userStorage = new InMemoryUserStorage();
+        Fixtures.fillUsers(userStorage, Fixtures.ownerCount(catalogSize));
+        itemStorage = itemStorage(userStorage);
+        Fixtures.fillItems(itemStorage, userStorage, catalogSize);
+
+        SplittableRandom random = new SplittableRandom(7);
+        oneWordQueries = new String[QUERIES];
+        twoWordQueries = new String[QUERIES];
+        prefixes = new String[QUERIES];
+        owners = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            oneWordQueries[i] = Fixtures.word(random.nextInt(Fixtures.VOCABULARY));
+            twoWordQueries[i] = itemStorage.getItemById(1 + random.nextInt(catalogSize)).getName();
+            prefixes[i] = oneWordQueries[i].substring(0, 4);
+            owners[i] = i % 4 == 0
+                    ? Fixtures.POWER_OWNER_ID
+                    : 2 + random.nextLong(Fixtures.ownerCount(catalogSize) - 1);
+        }
+    }
+
+    @Benchmark
+    public List<Item> searchByTextOneWord(Cursor cursor) {
+        return itemStorage.searchByText(oneWordQueries[cursor.next()], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<Item> searchByTextTwoWords(Cursor cursor) {
+        return itemStorage.searchByText(twoWordQueries[cursor.next()], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<Item> searchByTextPrefix(Cursor cursor) {
+        return itemStorage.searchByText(prefixes[cursor.next()], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<String> suggestNames(Cursor cursor) {
+        return itemStorage.suggestNames(prefixes[cursor.next()], SUGGESTIONS);
+    }
+
+    @Benchmark
+    public List<Item> searchByOwnerIdFirstPage(Cursor cursor) {
+        return itemStorage.searchByOwnerId(owners[cursor.next()], FIRST_PAGE);
+    }
+
+    private ItemDao itemStorage(InMemoryUserStorage userStorage) {
+        switch (storage) {
+            case "compact":
+                return new CompactItemStorage(userStorage);
+            case "baseline":
+                return new BaselineItemStorage();
+            default:
+                return new InMemoryItemStorage();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int position;
+
+        int next() {
+            position = (position + 1) & (QUERIES - 1);
+            return position;
+        }
+    }
+}
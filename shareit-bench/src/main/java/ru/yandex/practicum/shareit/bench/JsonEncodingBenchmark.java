@@ -0,0 +1,82 @@
+package ru.yandex.practicum.shareit.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import ru.yandex.practicum.shareit.core.web.EncodedJsonArray;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.cache.ItemResponseCache;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonEncodingBenchmark {
+    @Param({"20"})
+    int pageSize;
+
+    ItemMapper itemMapper = new ItemMapper();
+    ObjectWriter writer = new ObjectMapper().writer();
+    ItemResponseCache itemResponseCache = new ItemResponseCache(itemMapper, DataSize.ofMegabytes(16));
+    List<Item> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User owner = new User(1L, "owner", "owner@shareit.ru");
+        page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            page.add(new Item(id, "Дрель " + id, "Простая дрель для дома, модель " + id, true, owner, null, 1L));
+        }
+        page.forEach(itemResponseCache::encoded);
+    }
+
+    @Benchmark
+    public byte[] jackson() throws IOException {
+        List<ItemDto> dtos = page.stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        writer.writeValue(out, dtos);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encoded() throws IOException {
+        return write(EncodedJsonArray.of(page, itemMapper::toJson));
+    }
+
+    @Benchmark
+    public byte[] cachedFragments() throws IOException {
+        return write(EncodedJsonArray.of(page, itemResponseCache::encoded));
+    }
+
+    private static byte[] write(EncodedJsonArray array) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        array.writeTo(out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.yandex.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dto.UserDto;
+import ru.yandex.practicum.shareit.user.dto.UserMapper;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    ItemMapper itemMapper = new ItemMapper();
+    UserMapper userMapper = new UserMapper();
+    User user = new User(1L, "owner", "owner@shareit.ru");
+    UserDto userDto = new UserDto("owner", "owner@shareit.ru");
+    Item item = new Item(1L, "Дрель", "Простая дрель", true, user, null, 0L);
+    ItemDto itemDto = new ItemDto(null, "Дрель", "Простая дрель", true, null);
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public Item toItem() {
+        return itemMapper.toItem(itemDto);
+    }
+
+    @Benchmark
+    public UserDto toUserDto() {
+        return userMapper.toUserDto(user);
+    }
+
+    @Benchmark
+    public User toUser() {
+        return userMapper.toUser(userDto);
+    }
+}
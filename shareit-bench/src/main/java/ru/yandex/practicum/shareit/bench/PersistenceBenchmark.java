@@ -0,0 +1,137 @@
+package ru.yandex.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.shareit.booking.dao.InMemoryBookingStorage;
+import ru.yandex.practicum.shareit.core.persistence.PersistenceManager;
+import ru.yandex.practicum.shareit.core.persistence.RecordCodec;
+import ru.yandex.practicum.shareit.item.dao.InMemoryItemStorage;
+import ru.yandex.practicum.shareit.request.dao.InMemoryItemRequestStorage;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class PersistenceBenchmark {
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public static class Append {
+        Path directory;
+        PersistenceManager persistence;
+        byte[] payload;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("shareit-wal");
+            persistence = new PersistenceManager(directory, new InMemoryUserStorage(), new InMemoryItemStorage(),
+                    new InMemoryItemRequestStorage(), new InMemoryBookingStorage());
+            persistence.recover();
+            payload = RecordCodec.userPut(new User(1L, "Bench", Fixtures.email(1)));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            persistence.close();
+            deleteRecursively(directory);
+        }
+
+        @Benchmark
+        public Long appendDurable() {
+            return persistence.append(payload).join();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+    public static class Recovery {
+        private static final int BATCH = 10_000;
+
+        @Param({"1000000", "10000000"})
+        int recordCount;
+
+        @Param({"false", "true"})
+        boolean fromSnapshot;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("shareit-recovery");
+            try (PersistenceManager persistence = new PersistenceManager(directory,
+                    new InMemoryUserStorage(), new InMemoryItemStorage(), new InMemoryItemRequestStorage(),
+                    new InMemoryBookingStorage())) {
+                persistence.recover();
+                CompletableFuture<?>[] batch = new CompletableFuture<?>[BATCH];
+                for (int i = 0; i < recordCount; i++) {
+                    long id = i + 1;
+                    batch[i % BATCH] = persistence.append(
+                            RecordCodec.userPut(new User(id, "user" + id, Fixtures.email(id))));
+                    if (i % BATCH == BATCH - 1) {
+                        CompletableFuture.allOf(batch).join();
+                    }
+                }
+                CompletableFuture.allOf(Stream.of(batch).filter(Objects::nonNull).toArray(CompletableFuture[]::new))
+                        .join();
+            }
+            if (fromSnapshot) {
+                try (PersistenceManager persistence = recoverInto(new InMemoryUserStorage())) {
+                    persistence.snapshot();
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            deleteRecursively(directory);
+        }
+
+        @Benchmark
+        public InMemoryUserStorage recover() throws IOException {
+            InMemoryUserStorage users = new InMemoryUserStorage();
+            recoverInto(users).close();
+            return users;
+        }
+
+        private PersistenceManager recoverInto(InMemoryUserStorage users) throws IOException {
+            PersistenceManager persistence = new PersistenceManager(directory, users, new InMemoryItemStorage(),
+                    new InMemoryItemRequestStorage(), new InMemoryBookingStorage());
+            persistence.recover();
+            return persistence;
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ru.yandex.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+import ru.yandex.practicum.shareit.user.dao.UserDao;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class UserStorageBenchmark {
+    private static final int KEYS = 1024;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int userCount;
+
+    @Param({"concurrent", "baseline"})
+    String storage;
+
+    UserDao userStorage;
+    AtomicLong nextUser;
+    String[] existingEmails;
+    String[] missingEmails;
+    User[] existingUsers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userStorage = "baseline".equals(storage) ? new BaselineUserStorage() : new InMemoryUserStorage();
+        Fixtures.fillUsers(userStorage, userCount);
+        nextUser = new AtomicLong(userCount);
+
+        SplittableRandom random = new SplittableRandom(11);
+        existingEmails = new String[KEYS];
+        missingEmails = new String[KEYS];
+        existingUsers = new User[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            long id = 1 + random.nextLong(userCount);
+            existingEmails[i] = Fixtures.email(id).toUpperCase();
+            missingEmails[i] = "missing" + i + "@shareit.ru";
+            existingUsers[i] = userStorage.getById(id).orElseThrow();
+        }
+    }
+
+    @Benchmark
+    public boolean getByEmailHit(Cursor cursor) {
+        return userStorage.getByEmail(existingEmails[cursor.next()]);
+    }
+
+    @Benchmark
+    public boolean getByEmailMiss(Cursor cursor) {
+        return userStorage.getByEmail(missingEmails[cursor.next()]);
+    }
+
+    @Benchmark
+    public User saveNew() {
+        return userStorage.save(new User(null, "signup", Fixtures.email(nextUser.incrementAndGet())));
+    }
+
+    @Benchmark
+    public User saveExisting(Cursor cursor) {
+        User user = existingUsers[cursor.next()];
+        return userStorage.save(new User(user.getId(), user.getName(), user.getEmail()));
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int position;
+
+        int next() {
+            position = (position + 1) & (KEYS - 1);
+            return position;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ru.yandex.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+final class AppLauncher implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final long POLL_MILLIS = 200;
+
+    private final Process process;
+    private final Path log;
+
+    private AppLauncher(Process process, Path log) {
+        this.process = process;
+        this.log = log;
+    }
+
+    // The generator measures the app, not the rate limiter, so quotas are switched off unless an --app-arg
+    // turns them back on.
+    static AppLauncher start(String jar, URI target, List<String> appArgs, Path log)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + (target.getPort() < 0 ? 80 : target.getPort()));
+        command.add("--shareit.rate-limit.enabled=false");
+        command.addAll(appArgs);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        AppLauncher launcher = new AppLauncher(process, log);
+        Runtime.getRuntime().addShutdownHook(new Thread(launcher::close));
+        try {
+            launcher.awaitReady(target);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            launcher.close();
+            throw e;
+        }
+        return launcher;
+    }
+
+    private void awaitReady(URI target) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        HttpRequest probe = HttpRequest.newBuilder(target.resolve("/users?size=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("App exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        throw new IOException("App did not become ready within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    @Override
+    public void close() {
+        if (!process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
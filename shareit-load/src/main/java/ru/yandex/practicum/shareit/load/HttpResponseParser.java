@@ -0,0 +1,89 @@
+package ru.yandex.practicum.shareit.load;
+
+import java.nio.charset.StandardCharsets;
+
+final class HttpResponseParser {
+    static final int INCOMPLETE = -1;
+
+    private HttpResponseParser() {
+    }
+
+    static int parse(byte[] buffer, int length, int[] consumed) {
+        int headerEnd = indexOf(buffer, length, 0);
+        if (headerEnd < 0) {
+            return INCOMPLETE;
+        }
+        String head = new String(buffer, 0, headerEnd, StandardCharsets.ISO_8859_1);
+        int status = Integer.parseInt(head.substring(9, 12));
+        int bodyStart = headerEnd + 4;
+
+        long contentLength = 0;
+        boolean chunked = false;
+        consumed[1] = 0;
+        for (String line : head.split("\r\n")) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (name.equalsIgnoreCase("Content-Length")) {
+                contentLength = Long.parseLong(value);
+            } else if (name.equalsIgnoreCase("Transfer-Encoding") && value.equalsIgnoreCase("chunked")) {
+                chunked = true;
+            } else if (name.equalsIgnoreCase("Connection") && value.equalsIgnoreCase("close")) {
+                consumed[1] = 1;
+            }
+        }
+
+        if (!chunked) {
+            if (length - bodyStart < contentLength) {
+                return INCOMPLETE;
+            }
+            consumed[0] = (int) (bodyStart + contentLength);
+            return status;
+        }
+
+        int position = bodyStart;
+        while (true) {
+            int lineEnd = indexOfCrlf(buffer, length, position);
+            if (lineEnd < 0) {
+                return INCOMPLETE;
+            }
+            String sizeLine = new String(buffer, position, lineEnd - position, StandardCharsets.ISO_8859_1);
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+            position = lineEnd + 2;
+            if (size == 0) {
+                int trailerEnd = indexOfCrlf(buffer, length, position);
+                if (trailerEnd < 0) {
+                    return INCOMPLETE;
+                }
+                consumed[0] = trailerEnd + 2;
+                return status;
+            }
+            if (length - position < size + 2) {
+                return INCOMPLETE;
+            }
+            position += size + 2;
+        }
+    }
+
+    private static int indexOf(byte[] buffer, int length, int from) {
+        for (int i = from; i + 3 < length; i++) {
+            if (buffer[i] == '\r' && buffer[i + 1] == '\n' && buffer[i + 2] == '\r' && buffer[i + 3] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfCrlf(byte[] buffer, int length, int from) {
+        for (int i = from; i + 1 < length; i++) {
+            if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,239 @@
+package ru.yandex.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class LoadDriver implements Runnable {
+    private static final long RECONNECT_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final InetSocketAddress address;
+    private final String host;
+    private final Workload workload;
+    private final SplittableRandom random;
+    private final int connections;
+    private final long startNanos;
+    private final long rampUpNanos;
+    private final long warmupEndNanos;
+    private final long deadlineNanos;
+    private final long thinkNanos;
+    private final AtomicLong sequence;
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>(Comparator.comparingLong(timer -> timer.due));
+    private final Set<Connection> open = new HashSet<>();
+    private final int[] parsed = new int[2];
+
+    final Map<String, LatencyHistogram> histograms = new HashMap<>();
+    final Map<String, long[]> failures = new HashMap<>();
+    final long[] statusClasses = new long[6];
+    long errors;
+    int peakConnections;
+    private Selector selector;
+
+    LoadDriver(InetSocketAddress address, Workload workload, long seed, int connections, long startNanos,
+               long rampUpNanos, long warmupEndNanos, long deadlineNanos, long thinkNanos, AtomicLong sequence) {
+        this.address = address;
+        this.host = address.getHostString() + ":" + address.getPort();
+        this.workload = workload;
+        this.random = new SplittableRandom(seed);
+        this.connections = connections;
+        this.startNanos = startNanos;
+        this.rampUpNanos = rampUpNanos;
+        this.warmupEndNanos = warmupEndNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.thinkNanos = thinkNanos;
+        this.sequence = sequence;
+        for (RequestTemplate template : workload.templates()) {
+            histograms.put(template.name(), new LatencyHistogram());
+            failures.put(template.name(), new long[1]);
+        }
+    }
+
+    @Override
+    public void run() {
+        try (Selector selector = Selector.open()) {
+            this.selector = selector;
+            for (int i = 0; i < connections; i++) {
+                timers.add(new Timer(startNanos + rampUpNanos * i / Math.max(1, connections), new Connection(), true));
+            }
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= deadlineNanos) {
+                    break;
+                }
+                fireTimers(now);
+                long waitNanos = timers.isEmpty() ? deadlineNanos - now : Math.min(deadlineNanos, timers.peek().due) - now;
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Load driver failed", e);
+        } finally {
+            for (Connection connection : open) {
+                connection.close();
+            }
+        }
+    }
+
+    private void fireTimers(long now) {
+        while (!timers.isEmpty() && timers.peek().due <= now) {
+            Timer timer = timers.poll();
+            timer.connection.scheduledNanos = timer.due;
+            if (timer.reconnect) {
+                connect(timer.connection);
+            } else {
+                send(timer.connection);
+            }
+        }
+    }
+
+    private void connect(Connection connection) {
+        try {
+            connection.channel = SocketChannel.open();
+            connection.channel.configureBlocking(false);
+            connection.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            open.add(connection);
+            peakConnections = Math.max(peakConnections, open.size());
+            if (connection.channel.connect(address)) {
+                connection.key = connection.channel.register(selector, 0, connection);
+                send(connection);
+            } else {
+                connection.key = connection.channel.register(selector, SelectionKey.OP_CONNECT, connection);
+            }
+        } catch (IOException e) {
+            fail(connection);
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isConnectable()) {
+                connection.channel.finishConnect();
+                send(connection);
+            } else if (key.isWritable()) {
+                write(connection);
+            } else if (key.isReadable()) {
+                read(connection);
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(connection);
+        }
+    }
+
+    private void send(Connection connection) {
+        RequestTemplate template = workload.pick(random);
+        connection.template = template;
+        connection.out = ByteBuffer.wrap(workload.render(template, host, sequence.incrementAndGet(), random));
+        try {
+            write(connection);
+        } catch (IOException e) {
+            fail(connection);
+        }
+    }
+
+    private void write(Connection connection) throws IOException {
+        connection.channel.write(connection.out);
+        connection.key.interestOps(connection.out.hasRemaining() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void read(Connection connection) throws IOException {
+        if (connection.length == connection.in.length) {
+            byte[] larger = new byte[connection.in.length * 2];
+            System.arraycopy(connection.in, 0, larger, 0, connection.length);
+            connection.in = larger;
+        }
+        int read = connection.channel.read(ByteBuffer.wrap(connection.in, connection.length,
+                connection.in.length - connection.length));
+        if (read < 0) {
+            throw new IOException("Connection closed by server");
+        }
+        connection.length += read;
+        int status = HttpResponseParser.parse(connection.in, connection.length, parsed);
+        if (status == HttpResponseParser.INCOMPLETE) {
+            return;
+        }
+        long finished = System.nanoTime();
+        if (connection.scheduledNanos >= warmupEndNanos) {
+            histograms.get(connection.template.name())
+                    .record(TimeUnit.NANOSECONDS.toMicros(finished - connection.scheduledNanos));
+            statusClasses[Math.min(5, status / 100)]++;
+            if (status / 100 != 2) {
+                failures.get(connection.template.name())[0]++;
+            }
+        }
+        System.arraycopy(connection.in, parsed[0], connection.in, 0, connection.length - parsed[0]);
+        connection.length -= parsed[0];
+        connection.key.interestOps(0);
+        if (parsed[1] == 1) {
+            connection.close();
+            open.remove(connection);
+            timers.add(new Timer(finished, connection, true));
+        } else if (thinkNanos > 0) {
+            timers.add(new Timer(finished + thinkNanos, connection, false));
+        } else {
+            connection.scheduledNanos = finished;
+            send(connection);
+        }
+    }
+
+    private void fail(Connection connection) {
+        if (System.nanoTime() >= warmupEndNanos) {
+            errors++;
+        }
+        connection.close();
+        open.remove(connection);
+        timers.add(new Timer(System.nanoTime() + RECONNECT_DELAY_NANOS, connection, true));
+    }
+
+    private static final class Connection {
+        SocketChannel channel;
+        SelectionKey key;
+        RequestTemplate template;
+        ByteBuffer out;
+        byte[] in = new byte[16 * 1024];
+        int length;
+        long scheduledNanos;
+
+        void close() {
+            length = 0;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // the connection is being discarded either way
+                }
+            }
+        }
+    }
+
+    private static final class Timer {
+        final long due;
+        final Connection connection;
+        final boolean reconnect;
+
+        Timer(long due, Connection connection, boolean reconnect) {
+            this.due = due;
+            this.connection = connection;
+            this.reconnect = reconnect;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package ru.yandex.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class LoadTestRunner {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final List<String> DEFAULT_MIX = List.of(
+            "5*POST /items {\"name\":\"{word} {seq}\",\"description\":\"load test item\",\"available\":true}",
+            "10*PATCH /items/{item} {\"description\":\"updated {seq}\"}",
+            "45*GET /items/{item}",
+            "20*GET /items?size=20",
+            "20*GET /items/search?text={word}&size=20");
+    private static final List<String> DEFAULT_MIX_HEADERS = List.of("X-Sharer-User-Id: {user}");
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, List<String>> options = parse(args);
+        URI target = URI.create(single(options, "target", "http://localhost:8080"));
+        int connections = Integer.parseInt(single(options, "connections", "1000"));
+        int threads = Math.min(connections,
+                Integer.parseInt(single(options, "threads", String.valueOf(Runtime.getRuntime().availableProcessors()))));
+        long durationNanos = nanos(single(options, "duration", "60s"));
+        long warmupNanos = nanos(single(options, "warmup", "10s"));
+        long rampUpNanos = nanos(single(options, "ramp-up", "10s"));
+        long thinkNanos = nanos(single(options, "think", "0ms"));
+        int seedUsers = Integer.parseInt(single(options, "seed-users", "0"));
+        int seedItems = Integer.parseInt(single(options, "seed-items", "0"));
+        double theta = Double.parseDouble(single(options, "zipf", "0.99"));
+        String[] words = Workload.vocabulary(Integer.parseInt(single(options, "words", "500")));
+        long seed = Long.parseLong(single(options, "seed", "42"));
+        boolean seeded = seedUsers > 0 && seedItems > 0;
+        List<String> requests = options.getOrDefault("request", seeded ? DEFAULT_MIX : List.of("GET /users"));
+        List<String> headers = options.getOrDefault("header",
+                seeded && !options.containsKey("request") ? DEFAULT_MIX_HEADERS : List.of());
+        List<RequestTemplate> templates = new ArrayList<>();
+        for (String spec : requests) {
+            templates.add(RequestTemplate.parse(spec, headers));
+        }
+
+        String jar = single(options, "start-app", null);
+        try (AppLauncher app = jar == null ? null : AppLauncher.start(jar, target,
+                options.getOrDefault("app-arg", List.of()), Path.of(single(options, "app-log", "shareit-app.log")))) {
+            long seeding = System.nanoTime();
+            Seeder.Keys keys = new Seeder(target).seed(seedUsers, seedItems, words, theta, seed);
+            if (seeded) {
+                System.out.printf("seeded %d users and %d items in %.1fs, zipf theta=%.2f over items and %d words%n",
+                        seedUsers, seedItems, (System.nanoTime() - seeding) / 1e9, theta, words.length);
+            }
+            run(new Workload(templates, keys, words, theta), target, connections, threads, durationNanos,
+                    warmupNanos, rampUpNanos, thinkNanos, seed);
+        }
+    }
+
+    private static void run(Workload workload, URI target, int connections, int threads, long durationNanos,
+                            long warmupNanos, long rampUpNanos, long thinkNanos, long seed)
+            throws InterruptedException {
+        InetSocketAddress address = new InetSocketAddress(target.getHost(), target.getPort() < 0 ? 80 : target.getPort());
+        long start = System.nanoTime();
+        long warmupEnd = start + rampUpNanos + warmupNanos;
+        long deadline = warmupEnd + durationNanos;
+        AtomicLong sequence = new AtomicLong();
+        List<LoadDriver> drivers = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int share = connections / threads + (i < connections % threads ? 1 : 0);
+            LoadDriver driver = new LoadDriver(address, workload, seed + i, share, start, rampUpNanos, warmupEnd,
+                    deadline, thinkNanos, sequence);
+            Thread worker = new Thread(driver, "load-driver-" + i);
+            drivers.add(driver);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        report(drivers, workload.templates(), connections, durationNanos);
+    }
+
+    private static void report(List<LoadDriver> drivers, List<RequestTemplate> templates, int connections,
+                               long durationNanos) {
+        double seconds = durationNanos / 1e9;
+        long[] statusClasses = new long[6];
+        long errors = 0;
+        int peakConnections = 0;
+        LatencyHistogram overall = new LatencyHistogram();
+        Map<String, LatencyHistogram> byRequest = new LinkedHashMap<>();
+        Map<String, long[]> failures = new LinkedHashMap<>();
+        for (RequestTemplate template : templates) {
+            byRequest.put(template.name(), new LatencyHistogram());
+            failures.put(template.name(), new long[1]);
+        }
+        long[] allFailures = new long[1];
+        for (LoadDriver driver : drivers) {
+            driver.histograms.forEach((name, histogram) -> {
+                byRequest.get(name).add(histogram);
+                overall.add(histogram);
+            });
+            driver.failures.forEach((name, count) -> {
+                failures.get(name)[0] += count[0];
+                allFailures[0] += count[0];
+            });
+            for (int i = 0; i < statusClasses.length; i++) {
+                statusClasses[i] += driver.statusClasses[i];
+            }
+            errors += driver.errors;
+            peakConnections += driver.peakConnections;
+        }
+
+        System.out.printf("connections=%d (peak open %d), measured %.0fs%n", connections, peakConnections, seconds);
+        System.out.printf("%-40s %10s %10s %9s %9s %9s %9s %9s %8s%n",
+                "request", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "non-2xx");
+        byRequest.forEach((name, histogram) -> print(name, histogram, failures.get(name)[0], seconds));
+        if (byRequest.size() > 1) {
+            print("all", overall, allFailures[0], seconds);
+        }
+        System.out.printf("status 2xx=%d 3xx=%d 4xx=%d 5xx=%d, connection errors=%d%n",
+                statusClasses[2], statusClasses[3], statusClasses[4], statusClasses[5], errors);
+        System.out.println("latency is measured from each request's scheduled send time, so late timers and reconnects"
+                + " are counted; the driver is closed-loop, so a stalled server also slows the request rate and"
+                + " p99/p99.9 still under-report what an open-loop client would see");
+    }
+
+    private static void print(String name, LatencyHistogram histogram, long failures, double seconds) {
+        StringBuilder line = new StringBuilder(String.format("%-40s %10d %10.0f",
+                name, histogram.count(), histogram.count() / seconds));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" %9.2f", histogram.percentile(percentile) / 1000.0));
+        }
+        line.append(String.format(" %9.2f %8d", histogram.max() / 1000.0, failures));
+        System.out.println(line);
+    }
+
+    private static Map<String, List<String>> parse(String[] args) {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.computeIfAbsent(arg.substring(2, separator), name -> new ArrayList<>())
+                    .add(arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static String single(Map<String, List<String>> options, String name, String defaultValue) {
+        List<String> values = options.get(name);
+        return values == null ? defaultValue : values.get(values.size() - 1);
+    }
+
+    private static long nanos(String duration) {
+        String value = duration.trim().toLowerCase();
+        if (value.endsWith("ms")) {
+            return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return TimeUnit.MINUTES.toNanos(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return TimeUnit.SECONDS.toNanos(Long.parseLong(value));
+    }
+}
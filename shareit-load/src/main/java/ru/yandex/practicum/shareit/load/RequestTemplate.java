@@ -0,0 +1,91 @@
+package ru.yandex.practicum.shareit.load;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+final class RequestTemplate {
+    static final String SEQUENCE = "{seq}";
+    static final String ITEM = "{item}";
+    static final String USER = "{user}";
+    static final String WORD = "{word}";
+
+    private final int weight;
+    private final String method;
+    private final String path;
+    private final String body;
+    private final List<String> headers;
+
+    private RequestTemplate(int weight, String method, String path, String body, List<String> headers) {
+        this.weight = weight;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+        this.headers = headers;
+    }
+
+    static RequestTemplate parse(String spec, List<String> headers) {
+        String trimmed = spec.trim();
+        int weight = 1;
+        int star = trimmed.indexOf('*');
+        if (star > 0 && trimmed.substring(0, star).chars().allMatch(Character::isDigit)) {
+            weight = Integer.parseInt(trimmed.substring(0, star));
+            trimmed = trimmed.substring(star + 1).trim();
+        }
+        String[] parts = trimmed.split("\\s+", 3);
+        if (parts.length < 2 || weight < 1) {
+            throw new IllegalArgumentException("Expected \"[weight*]METHOD /path [body]\" but got: " + spec);
+        }
+        return new RequestTemplate(weight, parts[0].toUpperCase(), parts[1], parts.length == 3 ? parts[2] : null,
+                headers);
+    }
+
+    String name() {
+        return method + " " + path;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    boolean uses(String placeholder) {
+        return path.contains(placeholder) || (body != null && body.contains(placeholder))
+                || headers.stream().anyMatch(header -> header.contains(placeholder));
+    }
+
+    byte[] render(String host, long sequence, String item, String user, String word) {
+        String sequenceValue = Long.toString(sequence);
+        StringBuilder request = new StringBuilder(256)
+                .append(method).append(' ').append(fill(path, sequenceValue, item, user, word)).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(host).append("\r\n")
+                .append("Accept: application/json\r\n");
+        for (String header : headers) {
+            request.append(fill(header, sequenceValue, item, user, word)).append("\r\n");
+        }
+        byte[] payload = body == null
+                ? null
+                : fill(body, sequenceValue, item, user, word).getBytes(StandardCharsets.UTF_8);
+        if (payload != null) {
+            request.append("Content-Type: application/json\r\n")
+                    .append("Content-Length: ").append(payload.length).append("\r\n");
+        }
+        request.append("\r\n");
+        byte[] head = request.toString().getBytes(StandardCharsets.UTF_8);
+        if (payload == null) {
+            return head;
+        }
+        byte[] bytes = new byte[head.length + payload.length];
+        System.arraycopy(head, 0, bytes, 0, head.length);
+        System.arraycopy(payload, 0, bytes, head.length, payload.length);
+        return bytes;
+    }
+
+    private static String fill(String template, String sequence, String item, String user, String word) {
+        if (template.indexOf('{') < 0) {
+            return template;
+        }
+        return template.replace(SEQUENCE, sequence)
+                .replace(ITEM, item)
+                .replace(USER, user)
+                .replace(WORD, word);
+    }
+}
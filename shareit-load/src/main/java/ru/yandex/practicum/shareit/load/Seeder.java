@@ -0,0 +1,145 @@
+package ru.yandex.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class Seeder {
+    private static final int BATCH_SIZE = 1000;
+    private static final int PARALLELISM = 8;
+    private static final Pattern CREATED_ID = Pattern.compile("\"result\":\\{\"id\":(\\d+)");
+
+    private final URI target;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    Seeder(URI target) {
+        this.target = target;
+    }
+
+    // Item rank r belongs to user rank r % users, so the hottest items are spread over the hottest users.
+    Keys seed(int users, int items, String[] words, double theta, long seed) throws InterruptedException {
+        if (users < 1 || items < 1) {
+            return new Keys(new long[0], new long[0]);
+        }
+        String run = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+        long[] userIds = new long[users];
+        long[] itemIds = new long[items];
+        long[] ownerIds = new long[items];
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int from = 0; from < users; from += BATCH_SIZE) {
+                int first = from;
+                int count = Math.min(BATCH_SIZE, users - from);
+                tasks.add(executor.submit(() -> {
+                    StringBuilder body = new StringBuilder("[");
+                    for (int i = first; i < first + count; i++) {
+                        body.append(i == first ? "" : ",")
+                                .append("{\"name\":\"user").append(i)
+                                .append("\",\"email\":\"load-").append(run).append('-').append(i)
+                                .append("@shareit.test\"}");
+                    }
+                    long[] ids = post("/users/batch", null, body.append(']').toString(), count);
+                    System.arraycopy(ids, 0, userIds, first, count);
+                    return null;
+                }));
+            }
+            await(tasks);
+
+            SplittableRandom random = new SplittableRandom(seed);
+            ZipfianGenerator wordRanks = new ZipfianGenerator(words.length, theta);
+            String[] names = new String[items];
+            for (int i = 0; i < items; i++) {
+                names[i] = words[wordRanks.next(random)] + " " + words[wordRanks.next(random)];
+            }
+            tasks.clear();
+            for (int user = 0; user < Math.min(users, items); user++) {
+                int owner = user;
+                tasks.add(executor.submit(() -> {
+                    List<Integer> ranks = new ArrayList<>();
+                    for (int rank = owner; rank < items; rank += users) {
+                        ranks.add(rank);
+                    }
+                    for (int from = 0; from < ranks.size(); from += BATCH_SIZE) {
+                        List<Integer> batch = ranks.subList(from, Math.min(ranks.size(), from + BATCH_SIZE));
+                        StringBuilder body = new StringBuilder("[");
+                        for (int rank : batch) {
+                            body.append(body.length() == 1 ? "" : ",")
+                                    .append("{\"name\":\"").append(names[rank])
+                                    .append("\",\"description\":\"").append(names[rank]).append(" item ").append(rank)
+                                    .append("\",\"available\":true}");
+                        }
+                        long[] ids = post("/items/batch", userIds[owner], body.append(']').toString(), batch.size());
+                        for (int i = 0; i < ids.length; i++) {
+                            itemIds[batch.get(i)] = ids[i];
+                            ownerIds[batch.get(i)] = userIds[owner];
+                        }
+                    }
+                    return null;
+                }));
+            }
+            await(tasks);
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Keys(itemIds, ownerIds);
+    }
+
+    private long[] post(String path, Long userId, String body, int expected) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(target.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", userId.toString());
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        long[] ids = new long[expected];
+        int found = 0;
+        Matcher matcher = CREATED_ID.matcher(response.body());
+        while (found < expected && matcher.find()) {
+            ids[found++] = Long.parseLong(matcher.group(1));
+        }
+        if (response.statusCode() != 200 || found != expected) {
+            String excerpt = response.body().substring(0, Math.min(300, response.body().length()));
+            throw new IllegalStateException("Seeding " + path + " created " + found + " of " + expected
+                    + " (status " + response.statusCode() + "): " + excerpt);
+        }
+        return ids;
+    }
+
+    private static void await(List<Future<?>> tasks) throws InterruptedException {
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Seeding failed", e.getCause());
+            }
+        }
+    }
+
+    static final class Keys {
+        final long[] itemIds;
+        final long[] ownerIds;
+
+        Keys(long[] itemIds, long[] ownerIds) {
+            this.itemIds = itemIds;
+            this.ownerIds = ownerIds;
+        }
+    }
+}
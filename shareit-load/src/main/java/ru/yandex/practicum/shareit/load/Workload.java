@@ -0,0 +1,79 @@
+package ru.yandex.practicum.shareit.load;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class Workload {
+    private static final String[] SYLLABLES = {"dri", "ham", "saw", "lad", "ten", "bik", "kay", "rop", "gri", "mop",
+            "pum", "jac", "ket", "lam", "sca", "vac", "wre", "tor", "nel", "fan"};
+
+    private final List<RequestTemplate> templates;
+    private final int[] cumulativeWeights;
+    private final long[] itemIds;
+    private final long[] ownerIds;
+    private final String[] words;
+    private final ZipfianGenerator itemRanks;
+    private final ZipfianGenerator wordRanks;
+
+    Workload(List<RequestTemplate> templates, Seeder.Keys keys, String[] words, double theta) {
+        this.templates = templates;
+        this.cumulativeWeights = new int[templates.size()];
+        int total = 0;
+        for (int i = 0; i < templates.size(); i++) {
+            total += templates.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        this.itemIds = keys.itemIds;
+        this.ownerIds = keys.ownerIds;
+        this.words = words;
+        this.itemRanks = itemIds.length == 0 ? null : new ZipfianGenerator(itemIds.length, theta);
+        this.wordRanks = new ZipfianGenerator(words.length, theta);
+        for (RequestTemplate template : templates) {
+            if (itemRanks == null && (template.uses(RequestTemplate.ITEM) || template.uses(RequestTemplate.USER))) {
+                throw new IllegalArgumentException(template.name() + " uses " + RequestTemplate.ITEM + " or "
+                        + RequestTemplate.USER + ", which need --seed-users and --seed-items");
+            }
+        }
+    }
+
+    static String[] vocabulary(int size) {
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int rest = i;
+            do {
+                word.append(SYLLABLES[rest % SYLLABLES.length]);
+                rest /= SYLLABLES.length;
+            } while (rest > 0 || word.length() < 2 * SYLLABLES[0].length());
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    List<RequestTemplate> templates() {
+        return templates;
+    }
+
+    RequestTemplate pick(SplittableRandom random) {
+        if (templates.size() == 1) {
+            return templates.get(0);
+        }
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= ticket) {
+            index++;
+        }
+        return templates.get(index);
+    }
+
+    byte[] render(RequestTemplate template, String host, long sequence, SplittableRandom random) {
+        String item = "";
+        String user = "";
+        if (itemRanks != null) {
+            int rank = itemRanks.next(random);
+            item = Long.toString(itemIds[rank]);
+            user = Long.toString(ownerIds[rank]);
+        }
+        return template.render(host, sequence, item, user, words[wordRanks.next(random)]);
+    }
+}
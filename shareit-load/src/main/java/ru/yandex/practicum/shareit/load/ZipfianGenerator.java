@@ -0,0 +1,47 @@
+package ru.yandex.practicum.shareit.load;
+
+import java.util.SplittableRandom;
+
+// Gray et al., "Quickly Generating Billion-Record Synthetic Databases": rank 0 is the most popular key.
+final class ZipfianGenerator {
+    private final int items;
+    private final double alpha;
+    private final double zetan;
+    private final double eta;
+    private final double secondThreshold;
+
+    ZipfianGenerator(int items, double theta) {
+        if (items < 1 || theta < 0 || theta >= 1) {
+            throw new IllegalArgumentException("Zipfian needs items >= 1 and 0 <= theta < 1, got items=" + items
+                    + ", theta=" + theta);
+        }
+        this.items = items;
+        this.alpha = 1 / (1 - theta);
+        this.zetan = zeta(items, theta);
+        this.eta = items < 2 ? 0 : (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(2, theta) / zetan);
+        this.secondThreshold = 1 + Math.pow(0.5, theta);
+    }
+
+    int next(SplittableRandom random) {
+        if (items == 1) {
+            return 0;
+        }
+        double u = random.nextDouble();
+        double uz = u * zetan;
+        if (uz < 1) {
+            return 0;
+        }
+        if (uz < secondThreshold) {
+            return 1;
+        }
+        return (int) Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.yandex.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpResponseParserTest {
+    private static final String CHUNKED = "HTTP/1.1 200 OK\r\n"
+            + "Content-Type: application/json\r\n"
+            + "Transfer-Encoding: chunked\r\n"
+            + "\r\n"
+            + "5\r\n[{\"id\r\n"
+            + "a\r\n\":1},{\"id\":\r\n"
+            + "3\r\n2}]\r\n"
+            + "0\r\n"
+            + "\r\n";
+
+    @Test
+    void chunkedBodySplitAcrossReadsIsIncompleteUntilTheLastChunk() {
+        byte[] response = bytes(CHUNKED + "HTTP/1.1 204 No Content\r\n");
+        int complete = CHUNKED.length();
+        int[] consumed = new int[2];
+        for (int length = 0; length < complete; length++) {
+            assertEquals(HttpResponseParser.INCOMPLETE, HttpResponseParser.parse(response, length, consumed),
+                    "length " + length);
+        }
+
+        assertEquals(200, HttpResponseParser.parse(response, complete, consumed));
+        assertEquals(complete, consumed[0]);
+        assertEquals(0, consumed[1]);
+        assertEquals(200, HttpResponseParser.parse(response, response.length, consumed));
+        assertEquals(complete, consumed[0]);
+    }
+
+    @Test
+    void contentLengthBodyAndConnectionClose() {
+        String response = "HTTP/1.1 404 Not Found\r\nContent-Length: 2\r\nConnection: close\r\n\r\n{}";
+        byte[] buffer = bytes(response);
+        int[] consumed = new int[2];
+
+        assertEquals(HttpResponseParser.INCOMPLETE, HttpResponseParser.parse(buffer, buffer.length - 1, consumed));
+        assertEquals(404, HttpResponseParser.parse(buffer, buffer.length, consumed));
+        assertEquals(buffer.length, consumed[0]);
+        assertEquals(1, consumed[1]);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
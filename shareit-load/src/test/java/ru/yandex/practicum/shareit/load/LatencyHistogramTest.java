@@ -0,0 +1,50 @@
+package ru.yandex.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 0; micros < 64; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(64, histogram.count());
+        assertEquals(31, histogram.percentile(50));
+        assertEquals(63, histogram.percentile(100));
+    }
+
+    @Test
+    void percentileIsTheUpperBoundOfItsBucket() {
+        for (long micros : new long[]{64, 100, 1_000, 12_345, 1_000_000, 60_000_000}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(micros);
+            histogram.record(micros * 4);
+
+            long reported = histogram.percentile(50);
+            assertTrue(reported >= micros && reported - micros <= micros / 32,
+                    () -> micros + " reported as " + reported);
+        }
+    }
+
+    @Test
+    void percentilesAreClampedToMaxAndMergedHistogramsAddUp() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        assertEquals(0, first.percentile(99));
+        first.record(1_000);
+        second.record(-5);
+        second.record(1_001);
+
+        first.add(second);
+        assertEquals(3, first.count());
+        assertEquals(1_001, first.max());
+        assertEquals(0, first.percentile(1));
+        assertEquals(1_001, first.percentile(99.9));
+    }
+}
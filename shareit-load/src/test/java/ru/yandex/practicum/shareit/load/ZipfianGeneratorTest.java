@@ -0,0 +1,40 @@
+package ru.yandex.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfianGeneratorTest {
+    private static final int ITEMS = 1_000;
+    private static final double THETA = 0.99;
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void rankZeroFrequencyMatchesZipfForFixedSeed() {
+        ZipfianGenerator generator = new ZipfianGenerator(ITEMS, THETA);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[ITEMS];
+        for (int i = 0; i < SAMPLES; i++) {
+            int rank = generator.next(random);
+            assertTrue(rank >= 0 && rank < ITEMS, () -> "rank " + rank);
+            counts[rank]++;
+        }
+
+        double zeta = 0;
+        for (int i = 1; i <= ITEMS; i++) {
+            zeta += 1 / Math.pow(i, THETA);
+        }
+        assertEquals(1 / zeta, (double) counts[0] / SAMPLES, 0.005);
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[ITEMS - 1]);
+    }
+
+    @Test
+    void singleItemAndInvalidTheta() {
+        assertEquals(0, new ZipfianGenerator(1, 0.5).next(new SplittableRandom(42)));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(10, 1));
+    }
+}
@@ -0,0 +1,31 @@
+package ru.yandex.practicum.shareit.booking;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class Booking {
+
+    Long id;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    Item item;
+
+    User booker;
+
+    BookingStatus status;
+}
@@ -0,0 +1,101 @@
+package ru.yandex.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.yandex.practicum.shareit.booking.dto.AvailabilityDto;
+import ru.yandex.practicum.shareit.booking.dto.BookingDto;
+import ru.yandex.practicum.shareit.booking.dto.NearestBookingsDto;
+import ru.yandex.practicum.shareit.booking.service.BookingService;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@Validated
+@RequestMapping("/bookings")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingController {
+    private final static String USER_ID_HEADER = "X-Sharer-User-Id";
+    BookingService bookingService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public BookingDto create(@RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+                             @NonNull @RequestBody BookingDto dto) {
+        return bookingService.create(userId, dto);
+    }
+
+    @PatchMapping("/{id}")
+    public BookingDto decide(@PositiveOrZero @PathVariable long id,
+                             @RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+                             @RequestParam boolean approved) {
+        return bookingService.decide(id, userId, approved);
+    }
+
+    @DeleteMapping("/{id}")
+    public BookingDto cancel(@PositiveOrZero @PathVariable long id,
+                             @RequestHeader(required = false, name = USER_ID_HEADER) Long userId) {
+        return bookingService.cancel(id, userId);
+    }
+
+    @GetMapping("/{id}")
+    public BookingDto getById(@PositiveOrZero @PathVariable long id,
+                              @RequestHeader(required = false, name = USER_ID_HEADER) Long userId) {
+        return bookingService.getById(id, userId);
+    }
+
+    @GetMapping
+    public List<BookingDto> getByBooker(
+            @RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @Max(PageParams.MAX_SIZE) @RequestParam(defaultValue = PageParams.DEFAULT_SIZE) int size,
+            @PositiveOrZero @RequestParam(required = false) Long after) {
+        return bookingService.getByBooker(userId, state, PageParams.of(from, size, after));
+    }
+
+    @GetMapping("/owner")
+    public List<BookingDto> getByOwner(
+            @RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @Max(PageParams.MAX_SIZE) @RequestParam(defaultValue = PageParams.DEFAULT_SIZE) int size,
+            @PositiveOrZero @RequestParam(required = false) Long after) {
+        return bookingService.getByOwner(userId, state, PageParams.of(from, size, after));
+    }
+
+    @GetMapping("/availability")
+    public AvailabilityDto getAvailability(
+            @PositiveOrZero @RequestParam long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return bookingService.getAvailability(itemId, start, end);
+    }
+
+    @GetMapping("/nearest")
+    public NearestBookingsDto getNearest(@PositiveOrZero @RequestParam long itemId,
+                                         @RequestHeader(required = false, name = USER_ID_HEADER) Long userId) {
+        return bookingService.getNearest(itemId, userId);
+    }
+}
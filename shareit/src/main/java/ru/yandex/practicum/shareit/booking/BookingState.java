@@ -0,0 +1,30 @@
+package ru.yandex.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
+public enum BookingState {
+    ALL,
+    CURRENT,
+    PAST,
+    FUTURE,
+    WAITING,
+    REJECTED;
+
+    public Predicate<Booking> filter(LocalDateTime now) {
+        switch (this) {
+            case CURRENT:
+                return booking -> !booking.getStart().isAfter(now) && booking.getEnd().isAfter(now);
+            case PAST:
+                return booking -> !booking.getEnd().isAfter(now);
+            case FUTURE:
+                return booking -> booking.getStart().isAfter(now);
+            case WAITING:
+                return booking -> booking.getStatus() == BookingStatus.WAITING;
+            case REJECTED:
+                return booking -> booking.getStatus() == BookingStatus.REJECTED;
+            default:
+                return booking -> true;
+        }
+    }
+}
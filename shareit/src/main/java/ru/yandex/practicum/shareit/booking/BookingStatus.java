@@ -0,0 +1,18 @@
+package ru.yandex.practicum.shareit.booking;
+
+public enum BookingStatus {
+    WAITING(true),
+    APPROVED(true),
+    REJECTED(false),
+    CANCELED(false);
+
+    private final boolean occupying;
+
+    BookingStatus(boolean occupying) {
+        this.occupying = occupying;
+    }
+
+    public boolean isOccupying() {
+        return occupying;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.yandex.practicum.shareit.booking.dao;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class BookingCalendar {
+    NavigableMap<LocalDateTime, Booking> occupied = new ConcurrentSkipListMap<>();
+    NavigableMap<LocalDateTime, Booking> approved = new ConcurrentSkipListMap<>();
+
+    boolean isFree(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Booking> latest = occupied.lowerEntry(end);
+        return latest == null || !latest.getValue().getEnd().isAfter(start);
+    }
+
+    Booking last(LocalDateTime now) {
+        Map.Entry<LocalDateTime, Booking> entry = approved.floorEntry(now);
+        return entry == null ? null : entry.getValue();
+    }
+
+    Booking next(LocalDateTime now) {
+        Map.Entry<LocalDateTime, Booking> entry = approved.higherEntry(now);
+        return entry == null ? null : entry.getValue();
+    }
+
+    void replace(Booking previous, Booking current) {
+        if (previous != null) {
+            remove(previous);
+        }
+        if (current.getStatus().isOccupying()) {
+            occupied.put(current.getStart(), current);
+        }
+        if (current.getStatus() == BookingStatus.APPROVED) {
+            approved.put(current.getStart(), current);
+        }
+    }
+
+    void remove(Booking booking) {
+        remove(occupied, booking);
+        remove(approved, booking);
+    }
+
+    private static void remove(NavigableMap<LocalDateTime, Booking> bookings, Booking booking) {
+        bookings.computeIfPresent(booking.getStart(),
+                (start, existing) -> existing.getId().equals(booking.getId()) ? null : existing);
+    }
+}
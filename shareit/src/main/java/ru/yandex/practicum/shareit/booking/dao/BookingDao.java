@@ -0,0 +1,28 @@
+package ru.yandex.practicum.shareit.booking.dao;
+
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+public interface BookingDao {
+    Optional<Booking> add(Booking booking);
+
+    Optional<Booking> getById(long id);
+
+    Optional<Booking> changeStatus(long id, BookingStatus from, BookingStatus to);
+
+    List<Booking> findByBookerId(long bookerId, Predicate<Booking> filter, PageParams page);
+
+    List<Booking> findByOwnerId(long ownerId, Predicate<Booking> filter, PageParams page);
+
+    boolean isFree(long itemId, LocalDateTime start, LocalDateTime end);
+
+    Optional<Booking> findLast(long itemId, LocalDateTime now);
+
+    Optional<Booking> findNext(long itemId, LocalDateTime now);
+}
@@ -0,0 +1,85 @@
+package ru.yandex.practicum.shareit.booking.dao;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+import ru.yandex.practicum.shareit.core.concurrent.LockStripes;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.persistence.PersistenceManager;
+import ru.yandex.practicum.shareit.core.persistence.RecordCodec;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+@Primary
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.persistence", name = "enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DurableBookingStorage implements BookingDao {
+    InMemoryBookingStorage delegate;
+    PersistenceManager persistence;
+    LockStripes locks = new LockStripes(64);
+
+    @Override
+    public Optional<Booking> add(Booking booking) {
+        Optional<Booking> added = delegate.add(booking);
+        added.ifPresent(value -> logState(value.getId()));
+        return added;
+    }
+
+    @Override
+    public Optional<Booking> getById(long id) {
+        return delegate.getById(id);
+    }
+
+    @Override
+    public Optional<Booking> changeStatus(long id, BookingStatus from, BookingStatus to) {
+        Optional<Booking> changed = delegate.changeStatus(id, from, to);
+        changed.ifPresent(value -> logState(value.getId()));
+        return changed;
+    }
+
+    @Override
+    public List<Booking> findByBookerId(long bookerId, Predicate<Booking> filter, PageParams page) {
+        return delegate.findByBookerId(bookerId, filter, page);
+    }
+
+    @Override
+    public List<Booking> findByOwnerId(long ownerId, Predicate<Booking> filter, PageParams page) {
+        return delegate.findByOwnerId(ownerId, filter, page);
+    }
+
+    @Override
+    public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        return delegate.isFree(itemId, start, end);
+    }
+
+    @Override
+    public Optional<Booking> findLast(long itemId, LocalDateTime now) {
+        return delegate.findLast(itemId, now);
+    }
+
+    @Override
+    public Optional<Booking> findNext(long itemId, LocalDateTime now) {
+        return delegate.findNext(itemId, now);
+    }
+
+    private void logState(long id) {
+        appendState(id).join();
+    }
+
+    private CompletableFuture<Long> appendState(long id) {
+        synchronized (locks.forId(id)) {
+            return persistence.append(RecordCodec.bookingPut(delegate.getById(id).orElseThrow()));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ru.yandex.practicum.shareit.booking.dao;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+import ru.yandex.practicum.shareit.core.index.GroupIndex;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.paging.Pages;
+import ru.yandex.practicum.shareit.core.persistence.Restorable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+@Repository
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InMemoryBookingStorage implements BookingDao, Restorable<Booking> {
+    AtomicLong id = new AtomicLong();
+    Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    Map<Long, BookingCalendar> calendars = new ConcurrentHashMap<>();
+    GroupIndex bookerIndex = new GroupIndex();
+    GroupIndex ownerIndex = new GroupIndex();
+
+    @Override
+    public Optional<Booking> add(Booking booking) {
+        BookingCalendar calendar = calendarFor(booking.getItem().getId());
+        synchronized (calendar) {
+            if (booking.getStatus().isOccupying() && !calendar.isFree(booking.getStart(), booking.getEnd())) {
+                return Optional.empty();
+            }
+            booking.setId(id.incrementAndGet());
+            put(calendar, booking);
+        }
+        return Optional.of(booking);
+    }
+
+    @Override
+    public Optional<Booking> getById(long bookingId) {
+        return Optional.ofNullable(bookings.get(bookingId));
+    }
+
+    @Override
+    public Optional<Booking> changeStatus(long bookingId, BookingStatus from, BookingStatus to) {
+        Booking current = bookings.get(bookingId);
+        if (current == null) {
+            return Optional.empty();
+        }
+        BookingCalendar calendar = calendarFor(current.getItem().getId());
+        synchronized (calendar) {
+            current = bookings.get(bookingId);
+            if (current.getStatus() != from) {
+                return Optional.empty();
+            }
+            if (to.isOccupying() && !from.isOccupying()
+                    && !calendar.isFree(current.getStart(), current.getEnd())) {
+                return Optional.empty();
+            }
+            Booking changed = Booking.builder()
+                    .id(current.getId())
+                    .start(current.getStart())
+                    .end(current.getEnd())
+                    .item(current.getItem())
+                    .booker(current.getBooker())
+                    .status(to)
+                    .build();
+            put(calendar, changed);
+            return Optional.of(changed);
+        }
+    }
+
+    @Override
+    public List<Booking> findByBookerId(long bookerId, Predicate<Booking> filter, PageParams page) {
+        return find(bookerIndex, bookerId, filter, page);
+    }
+
+    @Override
+    public List<Booking> findByOwnerId(long ownerId, Predicate<Booking> filter, PageParams page) {
+        return find(ownerIndex, ownerId, filter, page);
+    }
+
+    @Override
+    public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingCalendar calendar = calendars.get(itemId);
+        return calendar == null || calendar.isFree(start, end);
+    }
+
+    @Override
+    public Optional<Booking> findLast(long itemId, LocalDateTime now) {
+        BookingCalendar calendar = calendars.get(itemId);
+        return calendar == null ? Optional.empty() : Optional.ofNullable(calendar.last(now));
+    }
+
+    @Override
+    public Optional<Booking> findNext(long itemId, LocalDateTime now) {
+        BookingCalendar calendar = calendars.get(itemId);
+        return calendar == null ? Optional.empty() : Optional.ofNullable(calendar.next(now));
+    }
+
+    public int size() {
+        return bookings.size();
+    }
+
+    public int calendarCount() {
+        return calendars.size();
+    }
+
+    @Override
+    public void restore(Booking booking) {
+        BookingCalendar calendar = calendarFor(booking.getItem().getId());
+        synchronized (calendar) {
+            put(calendar, booking);
+            restoreLastId(booking.getId());
+        }
+    }
+
+    @Override
+    public void restoreDeleted(long bookingId) {
+        Booking booking = bookings.remove(bookingId);
+        if (booking != null) {
+            BookingCalendar calendar = calendarFor(booking.getItem().getId());
+            synchronized (calendar) {
+                calendar.remove(booking);
+            }
+            bookerIndex.remove(bookingId);
+            ownerIndex.remove(bookingId);
+        }
+        restoreLastId(bookingId);
+    }
+
+    @Override
+    public void forEachRecord(Consumer<Booking> consumer) {
+        bookings.values().forEach(consumer);
+    }
+
+    @Override
+    public long lastId() {
+        return id.get();
+    }
+
+    @Override
+    public void restoreLastId(long lastId) {
+        id.accumulateAndGet(lastId, Math::max);
+    }
+
+    private void put(BookingCalendar calendar, Booking booking) {
+        calendar.replace(bookings.put(booking.getId(), booking), booking);
+        bookerIndex.put(booking.getId(), booking.getBooker().getId());
+        ownerIndex.put(booking.getId(), booking.getItem().getOwner().getId());
+    }
+
+    private List<Booking> find(GroupIndex index, long groupId, Predicate<Booking> filter, PageParams page) {
+        return Pages.slice(index.stream(groupId, page.getAfter())
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .filter(filter)
+                .iterator(), page);
+    }
+
+    private BookingCalendar calendarFor(long itemId) {
+        return calendars.computeIfAbsent(itemId, key -> new BookingCalendar());
+    }
+}
@@ -0,0 +1,26 @@
+package ru.yandex.practicum.shareit.booking.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingDto {
+    @PositiveOrZero Long id;
+    @NotNull Long itemId;
+    @NotNull LocalDateTime start;
+    @NotNull LocalDateTime end;
+    BookingStatus status;
+    Long bookerId;
+    ItemDto item;
+}
@@ -0,0 +1,39 @@
+package ru.yandex.practicum.shareit.booking.dto;
+
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+
+@Component
+public class BookingMapper {
+    public Booking toBooking(BookingDto dto) {
+        return new Booking(null,
+                dto.getStart(),
+                dto.getEnd(),
+                null,
+                null,
+                null
+        );
+    }
+
+    public BookingDto toBookingDto(Booking booking, ItemDto item) {
+        return new BookingDto(
+                booking.getId(),
+                booking.getItem().getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus(),
+                booking.getBooker().getId(),
+                item
+        );
+    }
+
+    public BookingShortDto toBookingShortDto(Booking booking) {
+        return new BookingShortDto(
+                booking.getId(),
+                booking.getBooker().getId(),
+                booking.getStart(),
+                booking.getEnd()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package ru.yandex.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingShortDto {
+    Long id;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+}
@@ -0,0 +1,10 @@
+package ru.yandex.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+@Value
+public class NearestBookingsDto {
+    Long itemId;
+    BookingShortDto lastBooking;
+    BookingShortDto nextBooking;
+}
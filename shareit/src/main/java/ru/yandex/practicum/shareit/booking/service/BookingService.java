@@ -0,0 +1,31 @@
+package ru.yandex.practicum.shareit.booking.service;
+
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.booking.dto.AvailabilityDto;
+import ru.yandex.practicum.shareit.booking.dto.BookingDto;
+import ru.yandex.practicum.shareit.booking.dto.NearestBookingsDto;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+public interface BookingService {
+
+    BookingDto create(Long userId, BookingDto dto);
+
+    BookingDto decide(long id, Long userId, boolean approved);
+
+    BookingDto cancel(long id, Long userId);
+
+    BookingDto getById(long id, Long userId);
+
+    List<BookingDto> getByBooker(Long userId, String state, PageParams page);
+
+    List<BookingDto> getByOwner(Long userId, String state, PageParams page);
+
+    AvailabilityDto getAvailability(long itemId, LocalDateTime start, LocalDateTime end);
+
+    NearestBookingsDto getNearest(long itemId, Long userId);
+
+}
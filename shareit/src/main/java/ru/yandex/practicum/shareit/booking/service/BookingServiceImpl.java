@@ -0,0 +1,224 @@
+package ru.yandex.practicum.shareit.booking.service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.booking.BookingState;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+import ru.yandex.practicum.shareit.booking.dao.BookingDao;
+import ru.yandex.practicum.shareit.booking.dto.AvailabilityDto;
+import ru.yandex.practicum.shareit.booking.dto.BookingDto;
+import ru.yandex.practicum.shareit.booking.dto.BookingMapper;
+import ru.yandex.practicum.shareit.booking.dto.NearestBookingsDto;
+import ru.yandex.practicum.shareit.core.exception.BookingConflictException;
+import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
+import ru.yandex.practicum.shareit.core.exception.NotFoundException;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dao.ItemDao;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingServiceImpl implements BookingService {
+    private static final FieldValidationException EMPTY_USER_ID =
+            new FieldValidationException("userId", "empty");
+    private static final FieldValidationException EMPTY_BOOKING =
+            new FieldValidationException("booking", "empty");
+    private static final FieldValidationException EMPTY_ITEM_ID =
+            new FieldValidationException("itemId", "empty");
+    private static final FieldValidationException EMPTY_START =
+            new FieldValidationException("start", "empty");
+    private static final FieldValidationException EMPTY_END =
+            new FieldValidationException("end", "empty");
+    private static final FieldValidationException START_IN_PAST =
+            new FieldValidationException("start", "in the past");
+    private static final FieldValidationException END_BEFORE_START =
+            new FieldValidationException("end", "not after start");
+    private static final FieldValidationException ITEM_UNAVAILABLE =
+            new FieldValidationException("available", "item is not available");
+    private static final FieldValidationException ALREADY_DECIDED =
+            new FieldValidationException("status", "booking is not waiting");
+    private static final FieldValidationException NOT_CANCELABLE =
+            new FieldValidationException("status", "booking can not be canceled");
+
+    BookingDao bookingDao;
+    ItemDao itemDao;
+    UserService userService;
+    BookingMapper bookingMapper;
+    ItemMapper itemMapper;
+
+    @Override
+    public BookingDto create(Long userId, BookingDto dto) {
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        User booker = userService.getById(userId);
+
+        Optional.ofNullable(dto).orElseThrow(
+                () -> EMPTY_BOOKING);
+        Long itemId = Optional.ofNullable(dto.getItemId()).orElseThrow(
+                () -> EMPTY_ITEM_ID);
+        validateInterval(dto.getStart(), dto.getEnd());
+        if (dto.getStart().isBefore(LocalDateTime.now())) {
+            throw START_IN_PAST;
+        }
+
+        Item item = findItem(itemId);
+        if (booker.getId().equals(item.getOwner().getId())) {
+            throw new NotFoundException("item", itemId);
+        }
+        if (!item.isAvailable()) {
+            throw ITEM_UNAVAILABLE;
+        }
+
+        Booking booking = bookingMapper.toBooking(dto);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+
+        return toDto(bookingDao.add(booking)
+                .orElseThrow(() -> new BookingConflictException(itemId, dto.getStart(), dto.getEnd())));
+    }
+
+    @Override
+    public BookingDto decide(long id, Long userId, boolean approved) {
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        Booking booking = findBooking(id);
+        if (!userId.equals(booking.getItem().getOwner().getId())) {
+            throw new NotFoundException("booking", id);
+        }
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        return toDto(bookingDao.changeStatus(id, BookingStatus.WAITING, status)
+                .orElseThrow(() -> ALREADY_DECIDED));
+    }
+
+    @Override
+    public BookingDto cancel(long id, Long userId) {
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        Booking booking = findBooking(id);
+        if (!userId.equals(booking.getBooker().getId())) {
+            throw new NotFoundException("booking", id);
+        }
+        if (!booking.getStatus().isOccupying() || !booking.getStart().isAfter(LocalDateTime.now())) {
+            throw NOT_CANCELABLE;
+        }
+
+        return toDto(bookingDao.changeStatus(id, booking.getStatus(), BookingStatus.CANCELED)
+                .orElseThrow(() -> NOT_CANCELABLE));
+    }
+
+    @Override
+    public BookingDto getById(long id, Long userId) {
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        Booking booking = findBooking(id);
+        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId())) {
+            throw new NotFoundException("booking", id);
+        }
+        return toDto(booking);
+    }
+
+    @Override
+    public List<BookingDto> getByBooker(Long userId, String state, PageParams page) {
+        return find(userId, state, (now, bookingState) ->
+                bookingDao.findByBookerId(userId, bookingState.filter(now), page));
+    }
+
+    @Override
+    public List<BookingDto> getByOwner(Long userId, String state, PageParams page) {
+        return find(userId, state, (now, bookingState) ->
+                bookingDao.findByOwnerId(userId, bookingState.filter(now), page));
+    }
+
+    @Override
+    public AvailabilityDto getAvailability(long itemId, LocalDateTime start, LocalDateTime end) {
+        validateInterval(start, end);
+        Item item = findItem(itemId);
+        return new AvailabilityDto(itemId, start, end,
+                item.isAvailable() && bookingDao.isFree(itemId, start, end));
+    }
+
+    @Override
+    public NearestBookingsDto getNearest(long itemId, Long userId) {
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        Item item = findItem(itemId);
+        if (!userId.equals(item.getOwner().getId())) {
+            throw new NotFoundException("owner", userId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return new NearestBookingsDto(itemId,
+                bookingDao.findLast(itemId, now).map(bookingMapper::toBookingShortDto).orElse(null),
+                bookingDao.findNext(itemId, now).map(bookingMapper::toBookingShortDto).orElse(null));
+    }
+
+    private List<BookingDto> find(Long userId, String state,
+                                  BiFunction<LocalDateTime, BookingState, List<Booking>> query) {
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        BookingState bookingState = parseState(state);
+        if (!userService.existsById(userId)) {
+            throw new NotFoundException("user", userId);
+        }
+
+        return query.apply(LocalDateTime.now(), bookingState)
+                .stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private BookingDto toDto(Booking booking) {
+        Item item = Optional.ofNullable(itemDao.getItemById(booking.getItem().getId())).orElse(booking.getItem());
+        return bookingMapper.toBookingDto(booking, itemMapper.toItemDto(item));
+    }
+
+    private Item findItem(long itemId) {
+        return Optional.ofNullable(itemDao.getItemById(itemId))
+                .orElseThrow(() -> new NotFoundException("item", itemId));
+    }
+
+    private Booking findBooking(long id) {
+        return bookingDao.getById(id)
+                .orElseThrow(() -> new NotFoundException("booking", id));
+    }
+
+    private static void validateInterval(LocalDateTime start, LocalDateTime end) {
+        Optional.ofNullable(start).orElseThrow(
+                () -> EMPTY_START);
+        Optional.ofNullable(end).orElseThrow(
+                () -> EMPTY_END);
+        if (!end.isAfter(start)) {
+            throw END_BEFORE_START;
+        }
+    }
+
+    private static BookingState parseState(String state) {
+        try {
+            return BookingState.valueOf(state.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new FieldValidationException("state", "Unknown state: " + state);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.yandex.practicum.shareit.core.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+import lombok.With;
+import org.springframework.http.HttpStatus;
+import ru.yandex.practicum.shareit.core.exception.DuplicatedEmailException;
+import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
+import ru.yandex.practicum.shareit.core.exception.NotFoundException;
+
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult<T> {
+    public static final int MAX_SIZE = 1000;
+
+    @With
+    int index;
+    int status;
+    T result;
+    String error;
+
+    public static <T> BatchResult<T> created(int index, T result) {
+        return new BatchResult<>(index, HttpStatus.CREATED.value(), result, null);
+    }
+
+    public static <T> BatchResult<T> failed(int index, HttpStatus status, String error) {
+        return new BatchResult<>(index, status.value(), null, error);
+    }
+
+    public static <T> BatchResult<T> failed(int index, RuntimeException exception) {
+        if (exception instanceof FieldValidationException) {
+            return failed(index, HttpStatus.BAD_REQUEST, exception.getMessage());
+        }
+        if (exception instanceof DuplicatedEmailException) {
+            return failed(index, HttpStatus.CONFLICT, exception.getMessage());
+        }
+        if (exception instanceof NotFoundException) {
+            return failed(index, HttpStatus.NOT_FOUND, exception.getMessage());
+        }
+        throw exception;
+    }
+}
@@ -0,0 +1,193 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ClusterClient {
+    public static final String FORWARDED_HEADER = "X-Shareit-Forwarded";
+    public static final String SECRET_HEADER = "X-Shareit-Cluster-Secret";
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "content-length", "date", "expect",
+            "from", "host", "keep-alive", "transfer-encoding", "upgrade", "via", "warning",
+            FORWARDED_HEADER.toLowerCase(Locale.ROOT), SECRET_HEADER.toLowerCase(Locale.ROOT));
+
+    HttpClient http;
+    ObjectMapper objectMapper;
+    Duration timeout;
+    String secret;
+
+    public ClusterClient(ObjectMapper objectMapper, Duration timeout, String secret) {
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.secret = secret;
+    }
+
+    public ResponseEntity<byte[]> forward(String node, HttpServletRequest request, byte[] body) {
+        return toEntity(send(forwarded(node, request, body)));
+    }
+
+    public CompletableFuture<ResponseEntity<byte[]>> forwardAsync(String node, HttpServletRequest request,
+                                                                  byte[] body) {
+        return http.sendAsync(forwarded(node, request, body), HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(ClusterClient::toEntity);
+    }
+
+    public <T> CompletableFuture<T> get(String node, String path, Map<String, ?> params, TypeReference<T> type) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(node).path(path);
+        params.forEach((name, value) -> {
+            if (value != null) {
+                uri.queryParam(name, value);
+            }
+        });
+        HttpRequest request = HttpRequest.newBuilder(uri.encode().build().toUri())
+                .timeout(timeout)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(FORWARDED_HEADER, "true")
+                .header(SECRET_HEADER, secret)
+                .GET()
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(response -> {
+                    checkSuccess(request, response);
+                    try {
+                        return objectMapper.readValue(response.body(), type);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    public void post(String node, String path, List<byte[]> records) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + path))
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                .header(FORWARDED_HEADER, "true")
+                .header(SECRET_HEADER, secret)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(frame(records)))
+                .build();
+        checkSuccess(request, send(request));
+    }
+
+    public void join(String peer, String node) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(peer)
+                .path("/cluster/nodes")
+                .queryParam("node", node)
+                .encode()
+                .build()
+                .toUri();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, "true")
+                .header(SECRET_HEADER, secret)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        checkSuccess(request, send(request));
+    }
+
+    public static byte[] frame(List<byte[]> records) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            for (byte[] record : records) {
+                out.writeInt(record.length);
+                out.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<byte[]> unframe(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        List<byte[]> records = new ArrayList<>();
+        while (in.available() > 0) {
+            byte[] record = new byte[in.readInt()];
+            in.readFully(record);
+            records.add(record);
+        }
+        return records;
+    }
+
+    private HttpRequest forwarded(String node, HttpServletRequest request, byte[] body) {
+        String query = request.getQueryString();
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(URI.create(node + request.getRequestURI()
+                        + (query == null ? "" : "?" + query)))
+                .timeout(timeout)
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_HEADER, "true")
+                .header(SECRET_HEADER, secret);
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    forwarded.header(name, value);
+                }
+            }
+        }
+        return forwarded.build();
+    }
+
+    private static ResponseEntity<byte[]> toEntity(HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) {
+                headers.addAll(name, values);
+            }
+        });
+        return new ResponseEntity<>(response.body(), headers, HttpStatus.valueOf(response.statusCode()));
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to call " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + request.uri(), e);
+        }
+    }
+
+    private static void checkSuccess(HttpRequest request, HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered "
+                    + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.yandex.practicum.shareit.item.dao.ItemStorage;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit.cluster", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfig {
+
+    @Bean
+    public ClusterMembership clusterMembership(ClusterProperties properties, ItemStorage itemStorage) {
+        if (properties.getNodeId() < 0 || properties.getNodeId() >= properties.getMaxNodes()) {
+            throw new IllegalStateException("shareit.cluster.node-id must be in [0, "
+                    + properties.getMaxNodes() + "), got " + properties.getNodeId());
+        }
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("shareit.cluster.secret must be set when the cluster is enabled");
+        }
+        itemStorage.partitionIds(properties.getMaxNodes(), properties.getNodeId());
+        return new ClusterMembership(properties);
+    }
+
+    @Bean
+    public ClusterClient clusterClient(ObjectMapper objectMapper, ClusterProperties properties) {
+        return new ClusterClient(objectMapper, properties.getTimeout(), properties.getSecret());
+    }
+}
@@ -0,0 +1,64 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.service.ItemServiceImpl;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/cluster")
+@ConditionalOnProperty(prefix = "shareit.cluster", name = "enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ClusterController {
+    ClusterMembership membership;
+    ClusterReplicator replicator;
+    ItemServiceImpl localItems;
+
+    @GetMapping("/nodes")
+    public List<String> nodes() {
+        return membership.nodes();
+    }
+
+    @PostMapping("/nodes")
+    public List<String> join(@RequestParam String node) {
+        return replicator.join(node);
+    }
+
+    @PostMapping(path = "/records", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void records(@RequestBody byte[] body) {
+        replicator.apply(body);
+    }
+
+    @GetMapping("/items/search")
+    public List<ItemDto> search(@RequestParam String text,
+                                @RequestParam int size,
+                                @RequestParam(required = false) Long after) {
+        return localItems.searchByText(text, PageParams.of(0, size, after));
+    }
+
+    @GetMapping("/items/suggest")
+    public List<String> suggest(@RequestParam String prefix, @RequestParam int size) {
+        return localItems.suggestNames(prefix, size);
+    }
+
+    @GetMapping("/items")
+    public List<ItemDto> getByIds(@RequestParam List<Long> ids) {
+        return localItems.getItemsByIds(ids);
+    }
+}
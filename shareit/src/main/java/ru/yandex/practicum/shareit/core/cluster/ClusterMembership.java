@@ -0,0 +1,76 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ClusterMembership {
+    final String self;
+    final String primary;
+    final int virtualNodes;
+    final Set<String> allowed;
+    volatile HashRing ring;
+
+    public ClusterMembership(ClusterProperties properties) {
+        Set<String> nodes = new LinkedHashSet<>(properties.getNodes());
+        nodes.add(properties.getSelf());
+        this.self = properties.getSelf();
+        this.primary = nodes.iterator().next();
+        this.virtualNodes = properties.getVirtualNodes();
+        this.ring = new HashRing(nodes, virtualNodes);
+        nodes.addAll(properties.getAllowedNodes());
+        this.allowed = Set.copyOf(nodes);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public String primary() {
+        return primary;
+    }
+
+    public boolean isPrimary() {
+        return primary.equals(self);
+    }
+
+    public String ownerNode(long ownerId) {
+        return ring.nodeFor(ownerId);
+    }
+
+    public boolean isLocal(long ownerId) {
+        return self.equals(ring.nodeFor(ownerId));
+    }
+
+    public List<String> nodes() {
+        return ring.nodes();
+    }
+
+    public List<String> peers() {
+        return ring.nodes()
+                .stream()
+                .filter(node -> !node.equals(self))
+                .collect(Collectors.toList());
+    }
+
+    public boolean isAllowed(String node) {
+        return allowed.contains(node);
+    }
+
+    public synchronized boolean join(String node) {
+        HashRing grown = ring.with(node);
+        if (grown == ring) {
+            return false;
+        }
+        ring = grown;
+        log.info("Node {} joined, cluster is now {}", node, grown.nodes());
+        return true;
+    }
+}
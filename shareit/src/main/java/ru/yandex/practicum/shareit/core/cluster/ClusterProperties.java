@@ -0,0 +1,27 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cluster")
+public class ClusterProperties {
+    private boolean enabled;
+    private int nodeId;
+    private String self = "http://localhost:8080";
+    private List<String> nodes = new ArrayList<>();
+    private List<String> allowedNodes = new ArrayList<>();
+    private String secret;
+    private int virtualNodes = 128;
+    private int maxNodes = 64;
+    private Duration timeout = Duration.ofSeconds(2);
+    private int replicationQueueSize = 10_000;
+    private Duration replicationRetry = Duration.ofMillis(200);
+    private Duration replicationMaxRetry = Duration.ofSeconds(30);
+}
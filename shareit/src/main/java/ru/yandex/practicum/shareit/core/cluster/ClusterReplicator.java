@@ -0,0 +1,220 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
+import ru.yandex.practicum.shareit.core.persistence.PersistenceManager;
+import ru.yandex.practicum.shareit.core.persistence.RecordCodec;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dao.ItemStorage;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.UserChangedEvent;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.cluster", name = "enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ClusterReplicator {
+    static final String RECORDS_PATH = "/cluster/records";
+    private static final int TRANSFER_BATCH = 1_000;
+    private static final FieldValidationException UNKNOWN_NODE =
+            new FieldValidationException("node", "not a configured cluster node");
+
+    ClusterMembership membership;
+    ClusterClient client;
+    InMemoryUserStorage users;
+    ItemStorage items;
+    ObjectProvider<PersistenceManager> persistence;
+    ClusterProperties properties;
+    ExecutorService worker = Executors.newSingleThreadExecutor();
+    ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-replication");
+        thread.setDaemon(true);
+        return thread;
+    });
+    Map<String, PeerOutbox> outboxes = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void announce() {
+        for (String peer : membership.peers()) {
+            try {
+                client.join(peer, membership.self());
+            } catch (RuntimeException e) {
+                log.warn("Could not announce {} to {}: {}", membership.self(), peer, e.getMessage());
+            }
+        }
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        User user = event.getUser();
+        byte[] record = event.isDeleted()
+                ? RecordCodec.userDelete(user.getId())
+                : RecordCodec.userPut(user);
+        for (String peer : membership.peers()) {
+            outbox(peer).offer(record);
+        }
+    }
+
+    public List<String> join(String node) {
+        if (!membership.isAllowed(node)) {
+            throw UNKNOWN_NODE;
+        }
+        if (membership.join(node)) {
+            worker.execute(() -> welcome(node));
+        }
+        return membership.nodes();
+    }
+
+    @PreDestroy
+    public void close() {
+        worker.shutdown();
+        senders.shutdownNow();
+    }
+
+    public synchronized void rebalance() {
+        Map<String, List<Item>> moving = new HashMap<>();
+        items.forEachRecord(item -> {
+            String node = membership.ownerNode(item.getOwner().getId());
+            if (!node.equals(membership.self())) {
+                moving.computeIfAbsent(node, key -> new ArrayList<>()).add(item);
+            }
+        });
+        moving.forEach((node, batch) -> {
+            List<Item> pending = batch;
+            while (!pending.isEmpty()) {
+                pending = transfer(node, pending);
+            }
+            log.info("Moved {} items to {}", batch.size(), node);
+        });
+    }
+
+    public void apply(byte[] body) {
+        try {
+            for (byte[] record : ClusterClient.unframe(body)) {
+                RecordCodec.decode(record, new RecordCodec.RecordHandler() {
+                    @Override
+                    public void userPut(User user) {
+                        users.restore(user);
+                    }
+
+                    @Override
+                    public void userDelete(long id) {
+                        users.restoreDeleted(id);
+                    }
+
+                    @Override
+                    public void itemPut(Item item) {
+                        items.restore(item);
+                    }
+
+                    @Override
+                    public void itemDelete(long id) {
+                        items.restoreDeleted(id);
+                    }
+
+                    @Override
+                    public void requestPut(ItemRequest request) {
+                        throw new IllegalArgumentException("Requests are not replicated");
+                    }
+
+                    @Override
+                    public void bookingPut(Booking booking) {
+                        throw new IllegalArgumentException("Bookings are not replicated");
+                    }
+                });
+                log(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void welcome(String node) {
+        for (String peer : membership.peers()) {
+            if (!peer.equals(node)) {
+                try {
+                    client.join(peer, node);
+                } catch (RuntimeException e) {
+                    log.warn("Could not tell {} about {}: {}", peer, node, e.getMessage());
+                }
+            }
+        }
+        try {
+            if (membership.isPrimary()) {
+                List<byte[]> records = new ArrayList<>();
+                users.forEachRecord(user -> records.add(RecordCodec.userPut(user)));
+                client.post(node, RECORDS_PATH, records);
+            }
+            rebalance();
+        } catch (RuntimeException e) {
+            log.error("Failed to hand data over to {}", node, e);
+        }
+    }
+
+    // An item is removed only if it still has the version that was copied. One written meanwhile is copied again,
+    // so a late update reaches the new owner instead of being deleted with the old copy.
+    private List<Item> transfer(String node, List<Item> batch) {
+        List<Item> changed = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += TRANSFER_BATCH) {
+            List<Item> part = batch.subList(from, Math.min(batch.size(), from + TRANSFER_BATCH));
+            client.post(node, RECORDS_PATH, part.stream().map(RecordCodec::itemPut).collect(Collectors.toList()));
+            for (Item item : part) {
+                if (items.removeIfVersion(item.getId(), item.getVersion())) {
+                    log(RecordCodec.itemDelete(item.getId()));
+                } else {
+                    Item current = items.getItemById(item.getId());
+                    if (current != null && node.equals(membership.ownerNode(current.getOwner().getId()))) {
+                        changed.add(current);
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private PeerOutbox outbox(String peer) {
+        return outboxes.computeIfAbsent(peer, node -> new PeerOutbox(node, client, senders, this::userRecords,
+                properties.getReplicationQueueSize(), properties.getReplicationRetry().toMillis(),
+                properties.getReplicationMaxRetry().toMillis()));
+    }
+
+    // Every id up to the last one issued, so users deleted while the peer was unreachable are deleted there too.
+    private List<byte[]> userRecords() {
+        List<byte[]> records = new ArrayList<>();
+        for (long id = 1; id <= users.lastId(); id++) {
+            long userId = id;
+            records.add(users.getById(userId)
+                    .map(RecordCodec::userPut)
+                    .orElseGet(() -> RecordCodec.userDelete(userId)));
+        }
+        return records;
+    }
+
+    private void log(byte[] record) {
+        persistence.ifAvailable(manager -> manager.append(record).join());
+    }
+}
@@ -0,0 +1,134 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.yandex.practicum.shareit.item.dao.ItemStorage;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.cluster", name = "enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ClusterRoutingFilter extends OncePerRequestFilter {
+    public static final String PEER_ATTRIBUTE = ClusterRoutingFilter.class.getName() + ".peer";
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Pattern ITEM_PATH = Pattern.compile("/items/(\\d+)");
+    private static final byte[] NO_BODY = new byte[0];
+
+    ClusterMembership membership;
+    ClusterClient client;
+    ClusterProperties properties;
+    ItemStorage items;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (isPeer(request)) {
+            request.setAttribute(PEER_ATTRIBUTE, Boolean.TRUE);
+            if (request.getHeader(ClusterClient.FORWARDED_HEADER) != null) {
+                chain.doFilter(request, response);
+                return;
+            }
+        } else if (path.equals("/cluster") || path.startsWith("/cluster/")) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        Matcher itemPath = ITEM_PATH.matcher(path);
+        if (path.startsWith("/users")) {
+            if (method != HttpMethod.GET && !membership.isPrimary()) {
+                write(client.forward(membership.primary(), request, request.getInputStream().readAllBytes()), response);
+                return;
+            }
+        } else if ((path.equals("/items") && request.getParameter("ids") == null) || path.equals("/items/batch")
+                || (itemPath.matches() && method == HttpMethod.PATCH)) {
+            String owner = ownerNode(request);
+            if (owner != null) {
+                write(client.forward(owner, request, request.getInputStream().readAllBytes()), response);
+                return;
+            }
+        } else if (itemPath.matches() && method == HttpMethod.GET
+                && items.getItemById(Long.parseLong(itemPath.group(1))) == null) {
+            ResponseEntity<byte[]> found = probePeers(request);
+            if (found != null) {
+                write(found, response);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    // Peers are asked in parallel and each call has the client timeout, so a miss costs one round trip at most
+    // and a shard that is down is skipped like one that does not have the item.
+    private ResponseEntity<byte[]> probePeers(HttpServletRequest request) {
+        List<String> peers = membership.peers();
+        List<CompletableFuture<ResponseEntity<byte[]>>> probes = new ArrayList<>(peers.size());
+        for (String peer : peers) {
+            probes.add(client.forwardAsync(peer, request, NO_BODY));
+        }
+        for (int i = 0; i < probes.size(); i++) {
+            try {
+                ResponseEntity<byte[]> found = probes.get(i).join();
+                if (found.getStatusCode() != HttpStatus.NOT_FOUND) {
+                    probes.forEach(probe -> probe.cancel(true));
+                    return found;
+                }
+            } catch (CompletionException | CancellationException e) {
+                log.warn("Shard {} did not answer an item lookup: {}", peers.get(i), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private boolean isPeer(HttpServletRequest request) {
+        String secret = request.getHeader(ClusterClient.SECRET_HEADER);
+        return secret != null && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                properties.getSecret().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String ownerNode(HttpServletRequest request) {
+        String header = request.getHeader(USER_ID_HEADER);
+        if (header == null) {
+            return null;
+        }
+        long ownerId;
+        try {
+            ownerId = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return membership.isLocal(ownerId) ? null : membership.ownerNode(ownerId);
+    }
+
+    private static void write(ResponseEntity<byte[]> forwarded, HttpServletResponse response) throws IOException {
+        response.setStatus(forwarded.getStatusCodeValue());
+        forwarded.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (forwarded.getBody() != null) {
+            response.getOutputStream().write(forwarded.getBody());
+        }
+    }
+}
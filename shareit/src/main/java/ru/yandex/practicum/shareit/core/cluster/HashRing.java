@@ -0,0 +1,65 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class HashRing {
+    List<String> nodes;
+    NavigableMap<Long, String> points = new TreeMap<>();
+    int virtualNodes;
+
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+        this.virtualNodes = virtualNodes;
+        for (String node : this.nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                points.putIfAbsent(hash(node + '#' + replica), node);
+            }
+        }
+    }
+
+    public String nodeFor(long key) {
+        Map.Entry<Long, String> point = points.ceilingEntry(mix(key));
+        return (point == null ? points.firstEntry() : point).getValue();
+    }
+
+    public HashRing with(String node) {
+        if (nodes.contains(node)) {
+            return this;
+        }
+        List<String> grown = new ArrayList<>(nodes);
+        grown.add(node);
+        return new HashRing(grown, virtualNodes);
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,115 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Delivers records to one peer in order, retrying until the peer takes them. When the queue overflows the pending
+// records are dropped and the peer is sent a full resync instead, so a long outage costs bounded memory.
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+final class PeerOutbox {
+    private static final int BATCH = 1_000;
+
+    String peer;
+    ClusterClient client;
+    Executor executor;
+    Supplier<List<byte[]>> resyncRecords;
+    BlockingQueue<byte[]> queue;
+    long retryMillis;
+    long maxRetryMillis;
+    AtomicBoolean resync = new AtomicBoolean();
+    AtomicBoolean scheduled = new AtomicBoolean();
+
+    PeerOutbox(String peer, ClusterClient client, Executor executor, Supplier<List<byte[]>> resyncRecords,
+               int capacity, long retryMillis, long maxRetryMillis) {
+        this.peer = peer;
+        this.client = client;
+        this.executor = executor;
+        this.resyncRecords = resyncRecords;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.retryMillis = retryMillis;
+        this.maxRetryMillis = maxRetryMillis;
+    }
+
+    void offer(byte[] record) {
+        if (!queue.offer(record)) {
+            if (resync.compareAndSet(false, true)) {
+                log.warn("Replication queue for {} is full, it will be resynced once it answers", peer);
+            }
+            queue.clear();
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                List<byte[]> batch;
+                if (resync.getAndSet(false)) {
+                    queue.clear();
+                    batch = resyncRecords.get();
+                } else {
+                    batch = new ArrayList<>(Math.min(BATCH, queue.size()));
+                    queue.drainTo(batch, BATCH);
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (int from = 0; from < batch.size(); from += BATCH) {
+                    if (!deliver(batch.subList(from, Math.min(batch.size(), from + BATCH)))) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        if (!queue.isEmpty() || resync.get()) {
+            schedule();
+        }
+    }
+
+    private boolean deliver(List<byte[]> batch) {
+        long delay = retryMillis;
+        while (true) {
+            try {
+                client.post(peer, ClusterReplicator.RECORDS_PATH, batch);
+                return true;
+            } catch (RuntimeException e) {
+                log.warn("Could not replicate {} records to {}, retrying in {} ms: {}",
+                        batch.size(), peer, delay, e.getMessage());
+            }
+            if (resync.get()) {
+                return true;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            delay = Math.min(maxRetryMillis, delay * 2);
+        }
+    }
+}
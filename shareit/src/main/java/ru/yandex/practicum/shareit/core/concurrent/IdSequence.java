@@ -0,0 +1,48 @@
+package ru.yandex.practicum.shareit.core.concurrent;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IdSequence {
+    public static final int BLOCK_BITS = 14;
+
+    final AtomicLong last = new AtomicLong();
+    volatile int stride = 1;
+    volatile int offset;
+
+    public void partition(int stride, int offset) {
+        if (stride < 1 || offset < 0 || offset >= stride) {
+            throw new IllegalArgumentException("Invalid id partition " + offset + " of " + stride);
+        }
+        this.stride = stride;
+        this.offset = offset;
+        last.updateAndGet(current -> isOwn(current + 1) ? current : firstOfNextBlock(current) - 1);
+    }
+
+    public long next() {
+        return last.updateAndGet(current -> isOwn(current + 1) ? current + 1 : firstOfNextBlock(current));
+    }
+
+    public long last() {
+        return last.get();
+    }
+
+    public void advanceTo(long id) {
+        if (isOwn(id)) {
+            last.accumulateAndGet(id, Math::max);
+        }
+    }
+
+    private boolean isOwn(long id) {
+        return stride == 1 || (id >>> BLOCK_BITS) % stride == offset;
+    }
+
+    private long firstOfNextBlock(long id) {
+        long block = (id >>> BLOCK_BITS) + 1;
+        long shift = Math.floorMod(offset - block, (long) stride);
+        return Math.max(1, (block + shift) << BLOCK_BITS);
+    }
+}
@@ -0,0 +1,29 @@
+package ru.yandex.practicum.shareit.core.concurrent;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LockStripes {
+    Object[] locks;
+
+    public LockStripes(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new Object[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public Object forId(long id) {
+        return forHash(Long.hashCode(id));
+    }
+
+    public Object forKey(Object key) {
+        return forHash(key.hashCode());
+    }
+
+    private Object forHash(int hash) {
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+}
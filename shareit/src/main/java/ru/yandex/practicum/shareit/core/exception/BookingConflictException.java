@@ -0,0 +1,20 @@
+package ru.yandex.practicum.shareit.core.exception;
+
+import java.time.LocalDateTime;
+
+public class BookingConflictException extends ShareItException {
+    private final long itemId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public BookingConflictException(long itemId, LocalDateTime start, LocalDateTime end) {
+        this.itemId = itemId;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public String getMessage() {
+        return "item with id=" + itemId + " is already booked between " + start + " and " + end;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.yandex.practicum.shareit.core.exception;
+
+import lombok.Getter;
+
+public class BulkheadFullException extends ShareItException {
+    private final String endpoint;
+    @Getter
+    private final long retryAfterSeconds;
+
+    public BulkheadFullException(String endpoint, long retryAfterSeconds) {
+        this.endpoint = endpoint;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public String getMessage() {
+        return "too many concurrent " + endpoint + " requests, retry in " + retryAfterSeconds + "s";
+    }
+}
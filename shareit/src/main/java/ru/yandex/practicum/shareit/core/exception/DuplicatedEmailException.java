@@ -1,7 +1,14 @@
 package ru.yandex.practicum.shareit.core.exception;
 
-public class DuplicatedEmailException extends RuntimeException {
+public class DuplicatedEmailException extends ShareItException {
+    private final String email;
+
     public DuplicatedEmailException(String email) {
-        super("User with email = " + email + " already exists");
+        this.email = email;
+    }
+
+    @Override
+    public String getMessage() {
+        return "User with email = " + email + " already exists";
     }
 }
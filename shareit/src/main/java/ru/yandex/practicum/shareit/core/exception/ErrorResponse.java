@@ -0,0 +1,12 @@
+package ru.yandex.practicum.shareit.core.exception;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ErrorResponse {
+    private final Throwable exception;
+
+    public String getError() {
+        return String.valueOf(exception.getMessage());
+    }
+}
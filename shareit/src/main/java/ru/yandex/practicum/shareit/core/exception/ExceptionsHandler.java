@@ -1,24 +1,43 @@
 package ru.yandex.practicum.shareit.core.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import javax.validation.ConstraintViolationException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 @ResponseStatus(HttpStatus.BAD_REQUEST)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class ExceptionsHandler {
+    private static final String ERRORS_COUNTER = "shareit.errors";
+
+    MeterRegistry registry;
+    Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
 
     @ExceptionHandler
     public List<FieldError> fieldValidationExceptionHandler(MethodArgumentNotValidException exception) {
-        log.error("Invalid arguments", exception);
+        count(exception, HttpStatus.BAD_REQUEST);
+        logExpected("Invalid arguments", exception);
         return exception
                 .getFieldErrors()
                 .stream()
@@ -28,28 +47,105 @@ public class ExceptionsHandler {
 
     @ExceptionHandler
     public List<FieldError> fieldValidationExceptionHandler(FieldValidationException exception) {
-        log.error("Invalid arguments", exception);
+        count(exception, HttpStatus.BAD_REQUEST);
+        logExpected("Invalid arguments", exception);
         return List.of(new FieldError(exception.getField(), exception.getDescription()));
     }
 
+    @ExceptionHandler
+    public List<FieldError> constraintViolationExceptionHandler(ConstraintViolationException exception) {
+        count(exception, HttpStatus.BAD_REQUEST);
+        logExpected("Invalid arguments", exception);
+        return exception
+                .getConstraintViolations()
+                .stream()
+                .map(violation -> new FieldError(violation.getPropertyPath().toString(), violation.getMessage()))
+                .collect(Collectors.toList());
+    }
+
+    @ExceptionHandler
+    public List<FieldError> missingParameterExceptionHandler(MissingServletRequestParameterException exception) {
+        count(exception, HttpStatus.BAD_REQUEST);
+        logExpected("Missing parameter", exception);
+        return List.of(new FieldError(exception.getParameterName(), "required"));
+    }
+
+    @ExceptionHandler
+    public List<FieldError> typeMismatchExceptionHandler(MethodArgumentTypeMismatchException exception) {
+        count(exception, HttpStatus.BAD_REQUEST);
+        logExpected("Invalid arguments", exception);
+        return List.of(new FieldError(exception.getName(), "invalid value"));
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    public Map<String, String> notFoundExceptionHandler(NotFoundException exception) {
-        log.error("Entity not found", exception);
-        return Map.of("error", exception.getMessage());
+    public ErrorResponse notFoundExceptionHandler(NotFoundException exception) {
+        count(exception, HttpStatus.NOT_FOUND);
+        logExpected("Entity not found", exception);
+        return new ErrorResponse(exception);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
-    public Map<String, String> duplicatedExceptionHandler(DuplicatedEmailException exception) {
-        log.error("Duplicated email", exception);
-        return Map.of("error", exception.getMessage());
+    public ErrorResponse duplicatedExceptionHandler(DuplicatedEmailException exception) {
+        count(exception, HttpStatus.CONFLICT);
+        logExpected("Duplicated email", exception);
+        return new ErrorResponse(exception);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse bookingConflictExceptionHandler(BookingConflictException exception) {
+        count(exception, HttpStatus.CONFLICT);
+        logExpected("Booking conflict", exception);
+        return new ErrorResponse(exception);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<ErrorResponse> rateLimitExceededHandler(RateLimitExceededException exception) {
+        count(exception, HttpStatus.TOO_MANY_REQUESTS);
+        logExpected("Rate limit exceeded", exception);
+        return rejected(HttpStatus.TOO_MANY_REQUESTS, exception.getRetryAfterSeconds(), exception);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ErrorResponse> bulkheadFullHandler(BulkheadFullException exception) {
+        count(exception, HttpStatus.SERVICE_UNAVAILABLE);
+        logExpected("Bulkhead full", exception);
+        return rejected(HttpStatus.SERVICE_UNAVAILABLE, exception.getRetryAfterSeconds(), exception);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public Map<String, String> internalServerErrorHandler(Exception exception) {
+    public ErrorResponse internalServerErrorHandler(Exception exception) {
+        count(exception, HttpStatus.INTERNAL_SERVER_ERROR);
         log.error("Internal error", exception);
-        return Map.of("error", exception.getMessage());
+        return new ErrorResponse(exception);
+    }
+
+    private void count(Exception exception, HttpStatus status) {
+        Counter counter = counters.get(exception.getClass());
+        if (counter == null) {
+            counter = counters.computeIfAbsent(exception.getClass(), type -> registry.counter(ERRORS_COUNTER,
+                    "exception", type.getSimpleName(),
+                    "status", String.valueOf(status.value())));
+        }
+        counter.increment();
+    }
+
+    private static ResponseEntity<ErrorResponse> rejected(HttpStatus status, long retryAfterSeconds,
+                                                          Exception exception) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse(exception));
+    }
+
+    private static void logExpected(String description, Exception exception) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}: {}", description, exception.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
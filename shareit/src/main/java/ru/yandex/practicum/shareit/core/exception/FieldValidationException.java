@@ -6,7 +6,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 @Data
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class FieldValidationException extends RuntimeException {
+public class FieldValidationException extends ShareItException {
     private final String field;
     private final String description;
 
@@ -17,4 +17,9 @@ public class FieldValidationException extends RuntimeException {
     public String getDescription() {
         return description;
     }
+
+    @Override
+    public String getMessage() {
+        return field + ": " + description;
+    }
 }
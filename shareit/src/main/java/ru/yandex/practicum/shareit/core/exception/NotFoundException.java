@@ -1,7 +1,16 @@
 package ru.yandex.practicum.shareit.core.exception;
 
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends ShareItException {
+    private final String entity;
+    private final long id;
+
     public NotFoundException(String entity, long id) {
-        super(entity + " with id=" + id + " not found");
+        this.entity = entity;
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage() {
+        return entity + " with id=" + id + " not found";
     }
 }
@@ -0,0 +1,19 @@
+package ru.yandex.practicum.shareit.core.exception;
+
+import lombok.Getter;
+
+public class RateLimitExceededException extends ShareItException {
+    private final String endpoint;
+    @Getter
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String endpoint, long retryAfterSeconds) {
+        this.endpoint = endpoint;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public String getMessage() {
+        return "rate limit for " + endpoint + " exceeded, retry in " + retryAfterSeconds + "s";
+    }
+}
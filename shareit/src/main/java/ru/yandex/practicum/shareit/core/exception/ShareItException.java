@@ -0,0 +1,11 @@
+package ru.yandex.practicum.shareit.core.exception;
+
+public abstract class ShareItException extends RuntimeException {
+
+    protected ShareItException() {
+        super(null, null, false, false);
+    }
+
+    @Override
+    public abstract String getMessage();
+}
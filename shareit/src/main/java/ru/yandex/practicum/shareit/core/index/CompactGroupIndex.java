@@ -0,0 +1,88 @@
+package ru.yandex.practicum.shareit.core.index;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CompactGroupIndex {
+    Map<Long, Group> groups = new ConcurrentHashMap<>();
+
+    public void add(long groupId, long id) {
+        groups.compute(groupId, (key, group) -> {
+            Group result = group == null ? new Group() : group;
+            result.add(id);
+            return result;
+        });
+    }
+
+    public void remove(long groupId, long id) {
+        groups.computeIfPresent(groupId, (key, group) -> {
+            group.remove(id);
+            return group.isEmpty() ? null : group;
+        });
+    }
+
+    public List<Long> page(Long groupId, PageParams page) {
+        Group group = groupId == null ? null : groups.get(groupId);
+        return group == null ? Collections.emptyList() : group.page(page);
+    }
+
+    public int groupCount() {
+        return groups.size();
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static final class Group {
+        long[] ids = new long[2];
+        int size;
+
+        synchronized void add(long id) {
+            int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                position = -position - 1;
+            } else if (position < size) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        synchronized void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        synchronized List<Long> page(PageParams page) {
+            int from = page.getFrom();
+            if (page.isKeyset()) {
+                int position = Arrays.binarySearch(ids, 0, size, page.getAfter());
+                from = position >= 0 ? position + 1 : -position - 1;
+            }
+            int to = (int) Math.min(size, (long) from + page.getSize());
+            List<Long> result = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                result.add(ids[i]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.yandex.practicum.shareit.core.index;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.paging.Pages;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GroupIndex {
+    Map<Long, NavigableSet<Long>> idsByGroup = new ConcurrentHashMap<>();
+    Map<Long, Long> groupById = new ConcurrentHashMap<>();
+
+    public void put(long id, Long groupId) {
+        Long previous = groupById.put(id, groupId);
+        if (groupId.equals(previous)) {
+            return;
+        }
+        idsByGroup.compute(groupId, (group, ids) -> {
+            NavigableSet<Long> result = ids == null ? new ConcurrentSkipListSet<>() : ids;
+            result.add(id);
+            return result;
+        });
+        if (previous != null) {
+            removeFromGroup(id, previous);
+        }
+    }
+
+    public void remove(long id) {
+        Long previous = groupById.remove(id);
+        if (previous != null) {
+            removeFromGroup(id, previous);
+        }
+    }
+
+    public List<Long> page(Long groupId, PageParams page) {
+        NavigableSet<Long> ids = groupId == null ? null : idsByGroup.get(groupId);
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        return Pages.slice(page.isKeyset() ? ids.tailSet(page.getAfter(), false) : ids, page);
+    }
+
+    public Stream<Long> stream(Long groupId, Long after) {
+        NavigableSet<Long> ids = groupId == null ? null : idsByGroup.get(groupId);
+        if (ids == null) {
+            return Stream.empty();
+        }
+        return (after == null ? ids : ids.tailSet(after, false)).stream();
+    }
+
+    public int groupCount() {
+        return idsByGroup.size();
+    }
+
+    private void removeFromGroup(long id, Long groupId) {
+        idsByGroup.computeIfPresent(groupId, (group, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
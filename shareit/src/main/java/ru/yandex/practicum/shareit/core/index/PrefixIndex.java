@@ -0,0 +1,291 @@
+package ru.yandex.practicum.shareit.core.index;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PrefixIndex {
+    private static final char[] NO_FIRSTS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::getRank)
+            .reversed()
+            .thenComparing(Candidate::getKey);
+
+    Node root = new Node("");
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            insert(key, name.trim());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            delete(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replace(String previous, String current) {
+        if (Objects.equals(normalize(previous), normalize(current))) {
+            return;
+        }
+        remove(previous);
+        add(current);
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        String key = normalizePrefix(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            StringBuilder path = new StringBuilder();
+            int matched = 0;
+            while (matched < key.length()) {
+                node = node.child(key.charAt(matched));
+                if (node == null) {
+                    return Collections.emptyList();
+                }
+                int common = commonPrefix(node.label, key, matched);
+                if (common < node.label.length() && matched + common < key.length()) {
+                    return Collections.emptyList();
+                }
+                path.append(node.label);
+                matched += common;
+            }
+            return best(node, path.toString(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalize(String name) {
+        return normalizePrefix(name).trim();
+    }
+
+    public static String normalizePrefix(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        if (space) {
+            normalized.append(' ');
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private List<String> best(Node start, String path, int limit) {
+        List<String> completions = new ArrayList<>(Math.min(limit, 16));
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(start, path, start.best, false));
+        while (!queue.isEmpty() && completions.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node node = candidate.getNode();
+            if (candidate.isTerminal()) {
+                completions.add(node.display);
+                continue;
+            }
+            if (node.count > 0) {
+                queue.add(new Candidate(node, candidate.getKey(), node.count, true));
+            }
+            for (Node child : node.children) {
+                queue.add(new Candidate(child, candidate.getKey() + child.label, child.best, false));
+            }
+        }
+        return completions;
+    }
+
+    private void insert(String key, String display) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int matched = 0;
+        while (true) {
+            path.add(node);
+            if (matched == key.length()) {
+                if (node.count++ == 0) {
+                    node.display = display;
+                }
+                break;
+            }
+            Node child = node.child(key.charAt(matched));
+            if (child == null) {
+                Node leaf = new Node(key.substring(matched));
+                leaf.count = 1;
+                leaf.display = display;
+                node.put(leaf);
+                path.add(leaf);
+                break;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.put(child);
+                split.best = child.best;
+                node.put(split);
+                child = split;
+            }
+            matched += common;
+            node = child;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).refreshBest();
+        }
+    }
+
+    private void delete(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            path.add(node);
+            node = node.child(key.charAt(matched));
+            if (node == null || !key.startsWith(node.label, matched)) {
+                return;
+            }
+            matched += node.label.length();
+        }
+        if (node.count == 0) {
+            return;
+        }
+        if (--node.count == 0) {
+            node.display = null;
+        }
+        path.add(node);
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.count == 0 && current.children.length == 0) {
+                parent.delete(current);
+            } else if (current.count == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.put(only);
+            } else {
+                current.refreshBest();
+            }
+        }
+        root.refreshBest();
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int limit = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < limit && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static class Node {
+        String label;
+        String display;
+        int count;
+        int best;
+        char[] firsts = NO_FIRSTS;
+        Node[] children = NO_CHILDREN;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            return index < 0 ? null : children[index];
+        }
+
+        void put(Node child) {
+            char first = child.label.charAt(0);
+            int index = Arrays.binarySearch(firsts, first);
+            if (index >= 0) {
+                children[index] = child;
+                return;
+            }
+            index = -index - 1;
+            char[] grownFirsts = new char[firsts.length + 1];
+            Node[] grownChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, grownFirsts, 0, index);
+            System.arraycopy(children, 0, grownChildren, 0, index);
+            grownFirsts[index] = first;
+            grownChildren[index] = child;
+            System.arraycopy(firsts, index, grownFirsts, index + 1, firsts.length - index);
+            System.arraycopy(children, index, grownChildren, index + 1, children.length - index);
+            firsts = grownFirsts;
+            children = grownChildren;
+        }
+
+        void delete(Node child) {
+            int index = Arrays.binarySearch(firsts, child.label.charAt(0));
+            if (index < 0) {
+                return;
+            }
+            char[] shrunkFirsts = new char[firsts.length - 1];
+            Node[] shrunkChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, shrunkFirsts, 0, index);
+            System.arraycopy(children, 0, shrunkChildren, 0, index);
+            System.arraycopy(firsts, index + 1, shrunkFirsts, index, firsts.length - index - 1);
+            System.arraycopy(children, index + 1, shrunkChildren, index, children.length - index - 1);
+            firsts = shrunkFirsts;
+            children = shrunkChildren;
+        }
+
+        void refreshBest() {
+            int result = count;
+            for (Node child : children) {
+                result = Math.max(result, child.best);
+            }
+            best = result;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class Candidate {
+        Node node;
+        String key;
+        int rank;
+        boolean terminal;
+    }
+}
@@ -0,0 +1,187 @@
+package ru.yandex.practicum.shareit.core.index;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SnapshotGroupIndex<T> {
+    private static final int MAX_CHUNK = 1024;
+
+    Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    ToLongFunction<T> idOf;
+
+    public SnapshotGroupIndex(ToLongFunction<T> idOf) {
+        this.idOf = idOf;
+    }
+
+    public void put(long groupId, T record) {
+        snapshots.compute(groupId, (group, snapshot) -> (snapshot == null ? Snapshot.EMPTY : snapshot)
+                .put(idOf.applyAsLong(record), record, idOf));
+    }
+
+    public void remove(long groupId, long id) {
+        snapshots.computeIfPresent(groupId, (group, snapshot) -> snapshot.remove(id, idOf));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<T> page(Long groupId, PageParams page) {
+        Snapshot snapshot = groupId == null ? null : snapshots.get(groupId);
+        if (snapshot == null) {
+            return Collections.emptyList();
+        }
+        int chunk = 0;
+        int offset = 0;
+        if (page.isKeyset()) {
+            chunk = Math.max(0, snapshot.chunkFor(page.getAfter()));
+            offset = chunk < snapshot.chunks.length ? snapshot.higher(chunk, page.getAfter(), idOf) : 0;
+        }
+        for (int skip = page.getFrom(); skip > 0 && chunk < snapshot.chunks.length; ) {
+            int available = snapshot.chunks[chunk].length - offset;
+            if (skip < available) {
+                offset += skip;
+                break;
+            }
+            skip -= available;
+            chunk++;
+            offset = 0;
+        }
+        List<T> result = new ArrayList<>(Math.min(page.getSize(), PageParams.MAX_SIZE));
+        while (chunk < snapshot.chunks.length && result.size() < page.getSize()) {
+            Object[] records = snapshot.chunks[chunk];
+            int count = Math.min(records.length - offset, page.getSize() - result.size());
+            for (int i = 0; i < count; i++) {
+                result.add((T) records[offset + i]);
+            }
+            chunk++;
+            offset = 0;
+        }
+        return result;
+    }
+
+    public int groupCount() {
+        return snapshots.size();
+    }
+
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new Object[0][], new long[0]);
+
+        Object[][] chunks;
+        long[] firstIds;
+
+        @SuppressWarnings("unchecked")
+        <T> Snapshot put(long id, T record, ToLongFunction<T> idOf) {
+            if (chunks.length == 0) {
+                return new Snapshot(new Object[][]{{record}}, new long[]{id});
+            }
+            int chunk = Math.max(0, chunkFor(id));
+            Object[] records = chunks[chunk];
+            int slot = search(records, id, (ToLongFunction<Object>) idOf);
+            if (slot >= 0) {
+                Object[] replaced = records.clone();
+                replaced[slot] = record;
+                return withChunk(chunk, replaced);
+            }
+            slot = -slot - 1;
+            Object[] grown = new Object[records.length + 1];
+            System.arraycopy(records, 0, grown, 0, slot);
+            grown[slot] = record;
+            System.arraycopy(records, slot, grown, slot + 1, records.length - slot);
+            if (grown.length <= MAX_CHUNK) {
+                Snapshot grownSnapshot = withChunk(chunk, grown);
+                grownSnapshot.firstIds[chunk] = Math.min(grownSnapshot.firstIds[chunk], id);
+                return grownSnapshot;
+            }
+            int half = grown.length / 2;
+            Object[][] split = new Object[chunks.length + 1][];
+            long[] splitIds = new long[chunks.length + 1];
+            System.arraycopy(chunks, 0, split, 0, chunk);
+            System.arraycopy(firstIds, 0, splitIds, 0, chunk);
+            split[chunk] = Arrays.copyOfRange(grown, 0, half);
+            split[chunk + 1] = Arrays.copyOfRange(grown, half, grown.length);
+            splitIds[chunk] = idOf.applyAsLong((T) split[chunk][0]);
+            splitIds[chunk + 1] = idOf.applyAsLong((T) split[chunk + 1][0]);
+            System.arraycopy(chunks, chunk + 1, split, chunk + 2, chunks.length - chunk - 1);
+            System.arraycopy(firstIds, chunk + 1, splitIds, chunk + 2, chunks.length - chunk - 1);
+            return new Snapshot(split, splitIds);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Snapshot remove(long id, ToLongFunction<T> idOf) {
+            int chunk = chunkFor(id);
+            if (chunk < 0) {
+                return this;
+            }
+            Object[] records = chunks[chunk];
+            int slot = search(records, id, (ToLongFunction<Object>) idOf);
+            if (slot < 0) {
+                return this;
+            }
+            if (records.length > 1) {
+                Object[] shrunk = new Object[records.length - 1];
+                System.arraycopy(records, 0, shrunk, 0, slot);
+                System.arraycopy(records, slot + 1, shrunk, slot, records.length - slot - 1);
+                Snapshot shrunkSnapshot = withChunk(chunk, shrunk);
+                if (slot == 0) {
+                    shrunkSnapshot.firstIds[chunk] = idOf.applyAsLong((T) shrunk[0]);
+                }
+                return shrunkSnapshot;
+            }
+            if (chunks.length == 1) {
+                return null;
+            }
+            Object[][] fewer = new Object[chunks.length - 1][];
+            long[] fewerIds = new long[chunks.length - 1];
+            System.arraycopy(chunks, 0, fewer, 0, chunk);
+            System.arraycopy(firstIds, 0, fewerIds, 0, chunk);
+            System.arraycopy(chunks, chunk + 1, fewer, chunk, chunks.length - chunk - 1);
+            System.arraycopy(firstIds, chunk + 1, fewerIds, chunk, chunks.length - chunk - 1);
+            return new Snapshot(fewer, fewerIds);
+        }
+
+        int chunkFor(long id) {
+            int index = Arrays.binarySearch(firstIds, id);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        <T> int higher(int chunk, long id, ToLongFunction<T> idOf) {
+            @SuppressWarnings("unchecked")
+            int slot = search(chunks[chunk], id, (ToLongFunction<Object>) idOf);
+            return slot >= 0 ? slot + 1 : -slot - 1;
+        }
+
+        private Snapshot withChunk(int chunk, Object[] records) {
+            Object[][] copied = chunks.clone();
+            copied[chunk] = records;
+            return new Snapshot(copied, firstIds.clone());
+        }
+
+        private static int search(Object[] records, long id, ToLongFunction<Object> idOf) {
+            int low = 0;
+            int high = records.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                long middleId = idOf.applyAsLong(records[middle]);
+                if (middleId < id) {
+                    low = middle + 1;
+                } else if (middleId > id) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package ru.yandex.practicum.shareit.core.index;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.yandex.practicum.shareit.core.concurrent.LockStripes;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.paging.Pages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TextIndex {
+    public static final int MIN_MATCH_TERM_LENGTH = 3;
+    private static final int MAX_MATCH_POSTINGS = 1000;
+
+    NavigableMap<String, NavigableSet<Long>> postings = new ConcurrentSkipListMap<>();
+    Map<Long, Set<String>> termsById = new ConcurrentHashMap<>();
+    LockStripes termLocks = new LockStripes(64);
+    LongAdder termCount = new LongAdder();
+
+    public void index(long id, String... texts) {
+        remove(id);
+        Set<String> terms = terms(texts);
+        if (terms.isEmpty()) {
+            return;
+        }
+        termsById.put(id, terms);
+        addPostings(id, terms);
+    }
+
+    public void remove(long id) {
+        Set<String> terms = termsById.remove(id);
+        if (terms != null) {
+            removePostings(id, terms);
+        }
+    }
+
+    public void update(long id, String[] previousTexts, String[] texts) {
+        Set<String> previous = terms(previousTexts);
+        Set<String> current = terms(texts);
+        Set<String> removed = new LinkedHashSet<>(previous);
+        removed.removeAll(current);
+        current.removeAll(previous);
+        removePostings(id, removed);
+        addPostings(id, current);
+    }
+
+    public List<Long> search(String query, PageParams page) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        words.sort(Comparator.comparingInt(String::length).reversed());
+
+        List<Collection<NavigableSet<Long>>> filters = new ArrayList<>(words.size() - 1);
+        for (String word : words.subList(1, words.size())) {
+            Collection<NavigableSet<Long>> matches = matchPrefix(word);
+            if (matches.isEmpty()) {
+                return Collections.emptyList();
+            }
+            filters.add(matches);
+        }
+
+        Iterator<Long> candidates = new MergingIterator(matchPrefix(words.get(0)), page.getAfter());
+        Iterator<Long> matches = new Iterator<>() {
+            Long next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Long next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Long result = next;
+                next = advance();
+                return result;
+            }
+
+            private Long advance() {
+                while (candidates.hasNext()) {
+                    Long id = candidates.next();
+                    if (filters.stream().allMatch(sets -> containsAny(sets, id))) {
+                        return id;
+                    }
+                }
+                return null;
+            }
+        };
+        return Pages.slice(matches, page);
+    }
+
+    public List<Long> matchAny(String text, int limit) {
+        Map<Long, Integer> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(tokenize(text))) {
+            NavigableSet<Long> ids = term.length() < MIN_MATCH_TERM_LENGTH ? null : postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            Iterator<Long> newest = ids.descendingIterator();
+            for (int i = 0; i < MAX_MATCH_POSTINGS && newest.hasNext(); i++) {
+                scores.merge(newest.next(), 1, Integer::sum);
+            }
+        }
+        return scores.entrySet()
+                .stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    public long termCount() {
+        return termCount.sum();
+    }
+
+    private void addPostings(long id, Set<String> terms) {
+        for (String term : terms) {
+            synchronized (termLocks.forKey(term)) {
+                NavigableSet<Long> ids = postings.get(term);
+                if (ids == null) {
+                    ids = new ConcurrentSkipListSet<>();
+                    postings.put(term, ids);
+                    termCount.increment();
+                }
+                ids.add(id);
+            }
+        }
+    }
+
+    private void removePostings(long id, Set<String> terms) {
+        for (String term : terms) {
+            synchronized (termLocks.forKey(term)) {
+                Set<Long> ids = postings.get(term);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(term);
+                    termCount.decrement();
+                }
+            }
+        }
+    }
+
+    public static Set<String> terms(String... texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String text : texts) {
+            terms.addAll(tokenize(text));
+        }
+        return terms;
+    }
+
+    private Collection<NavigableSet<Long>> matchPrefix(String word) {
+        return postings.subMap(word, true, word + Character.MAX_VALUE, false).values();
+    }
+
+    private static boolean containsAny(Collection<NavigableSet<Long>> sets, Long id) {
+        for (NavigableSet<Long> ids : sets) {
+            if (ids.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static class MergingIterator implements Iterator<Long> {
+        final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::getId));
+        Long last;
+
+        MergingIterator(Collection<NavigableSet<Long>> sets, Long after) {
+            for (NavigableSet<Long> ids : sets) {
+                push((after == null ? ids : ids.tailSet(after, false)).iterator());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!heads.isEmpty() && heads.peek().getId().equals(last)) {
+                Head head = heads.poll();
+                push(head.getRest());
+            }
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Head head = heads.poll();
+            last = head.getId();
+            push(head.getRest());
+            return last;
+        }
+
+        private void push(Iterator<Long> ids) {
+            if (ids.hasNext()) {
+                heads.add(new Head(ids.next(), ids));
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class Head {
+        Long id;
+        Iterator<Long> rest;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.yandex.practicum.shareit.core.jdbc;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class BatchInserts {
+    private BatchInserts() {
+    }
+
+    public static <T> List<Long> insertReturningIds(JdbcTemplate jdbc, String sql, List<T> rows,
+                                                    RowBinder<T> binder) {
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbc.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (T row : rows) {
+                    binder.bind(statement, row);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != rows.size()) {
+                    throw new SQLException("Expected " + rows.size() + " generated keys, got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    @FunctionalInterface
+    public interface RowBinder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+}
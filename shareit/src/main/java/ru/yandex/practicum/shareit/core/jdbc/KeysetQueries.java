@@ -0,0 +1,38 @@
+package ru.yandex.practicum.shareit.core.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class KeysetQueries {
+    private KeysetQueries() {
+    }
+
+    public static <T> List<T> page(JdbcTemplate jdbc, String select, String condition, String idColumn,
+                                   PageParams page, RowMapper<T> mapper, Object... args) {
+        List<String> conditions = new ArrayList<>(2);
+        List<Object> parameters = new ArrayList<>(Arrays.asList(args));
+        if (condition != null) {
+            conditions.add(condition);
+        }
+        if (page.isKeyset()) {
+            conditions.add(idColumn + " > ?");
+            parameters.add(page.getAfter());
+        }
+        StringBuilder sql = new StringBuilder(select);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(idColumn).append(" LIMIT ?");
+        parameters.add(page.getSize());
+        if (page.getFrom() > 0) {
+            sql.append(" OFFSET ?");
+            parameters.add(page.getFrom());
+        }
+        return jdbc.query(sql.toString(), mapper, parameters.toArray());
+    }
+}
@@ -0,0 +1,27 @@
+package ru.yandex.practicum.shareit.core.memory;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StringDeduplicator {
+    String[] table;
+
+    public StringDeduplicator(int capacity) {
+        table = new String[Integer.highestOneBit(Math.max(1, capacity - 1)) << 1];
+    }
+
+    public String deduplicate(String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (table.length - 1);
+        String cached = table[slot];
+        if (value.equals(cached)) {
+            return cached;
+        }
+        table[slot] = value;
+        return value;
+    }
+}
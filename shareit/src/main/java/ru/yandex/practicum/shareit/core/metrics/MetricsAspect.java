@@ -0,0 +1,76 @@
+package ru.yandex.practicum.shareit.core.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MetricsAspect {
+    public static final String TIMER_NAME = "shareit.calls";
+    private static final String NO_EXCEPTION = "none";
+
+    MeterRegistry registry;
+    Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * ru.yandex.practicum.shareit..service.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("execution(public * ru.yandex.practicum.shareit..dao.*Dao.*(..))")
+    public Object timeDao(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "dao");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        long started = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            timer(joinPoint, layer, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        successTimer(joinPoint, layer).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Timer successTimer(ProceedingJoinPoint joinPoint, String layer) {
+        Class<?> target = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, Timer> byMethod = timers.get(target);
+        if (byMethod == null) {
+            byMethod = timers.computeIfAbsent(target, key -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byMethod.get(method);
+        if (timer == null) {
+            timer = byMethod.computeIfAbsent(method, key -> timer(joinPoint, layer, NO_EXCEPTION));
+        }
+        return timer;
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String layer, String exception) {
+        return Timer.builder(TIMER_NAME)
+                .tag("layer", layer)
+                .tag("class", joinPoint.getTarget().getClass().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.yandex.practicum.shareit.core.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.booking.dao.InMemoryBookingStorage;
+import ru.yandex.practicum.shareit.item.cache.ItemResponseCache;
+import ru.yandex.practicum.shareit.item.dao.ItemStorage;
+import ru.yandex.practicum.shareit.request.dao.InMemoryItemRequestStorage;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StorageMetrics implements MeterBinder {
+    InMemoryUserStorage userStorage;
+    ItemStorage itemStorage;
+    InMemoryItemRequestStorage requestStorage;
+    InMemoryBookingStorage bookingStorage;
+    ItemResponseCache itemResponseCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.store.size", userStorage, InMemoryUserStorage::size)
+                .tag("store", "users")
+                .register(registry);
+        Gauge.builder("shareit.store.size", itemStorage, ItemStorage::size)
+                .tag("store", "items")
+                .register(registry);
+        Gauge.builder("shareit.store.size", requestStorage, InMemoryItemRequestStorage::size)
+                .tag("store", "requests")
+                .register(registry);
+        Gauge.builder("shareit.store.size", bookingStorage, InMemoryBookingStorage::size)
+                .tag("store", "bookings")
+                .register(registry);
+
+        Gauge.builder("shareit.index.size", userStorage, InMemoryUserStorage::emailIndexSize)
+                .tag("index", "user-email")
+                .register(registry);
+        Gauge.builder("shareit.index.size", itemStorage, ItemStorage::textIndexTermCount)
+                .tag("index", "item-text-terms")
+                .register(registry);
+        Gauge.builder("shareit.index.size", itemStorage, ItemStorage::ownerIndexSize)
+                .tag("index", "item-owners")
+                .register(registry);
+        Gauge.builder("shareit.index.size", requestStorage, InMemoryItemRequestStorage::textIndexTermCount)
+                .tag("index", "request-text-terms")
+                .register(registry);
+        Gauge.builder("shareit.index.size", bookingStorage, InMemoryBookingStorage::calendarCount)
+                .tag("index", "booking-calendars")
+                .register(registry);
+
+        FunctionCounter.builder("shareit.item.cache.requests", itemResponseCache, cache -> cache.stats().getHits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("shareit.item.cache.requests", itemResponseCache, cache -> cache.stats().getMisses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("shareit.item.cache.evictions", itemResponseCache,
+                        cache -> cache.stats().getEvictions())
+                .register(registry);
+        Gauge.builder("shareit.item.cache.size", itemResponseCache, cache -> cache.stats().getSizeBytes())
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
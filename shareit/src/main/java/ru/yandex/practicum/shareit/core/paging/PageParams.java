@@ -0,0 +1,29 @@
+package ru.yandex.practicum.shareit.core.paging;
+
+import lombok.Value;
+
+@Value
+public class PageParams {
+    public static final String DEFAULT_SIZE = "20";
+    public static final int MAX_SIZE = 100;
+
+    int from;
+    int size;
+    Long after;
+
+    public static PageParams of(int from, int size, Long after) {
+        return new PageParams(after == null ? from : 0, size, after);
+    }
+
+    public static PageParams offset(int from, int size) {
+        return new PageParams(from, size, null);
+    }
+
+    public static PageParams after(Long after, int size) {
+        return new PageParams(0, size, after);
+    }
+
+    public boolean isKeyset() {
+        return after != null;
+    }
+}
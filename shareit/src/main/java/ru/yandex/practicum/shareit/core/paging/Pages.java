@@ -0,0 +1,25 @@
+package ru.yandex.practicum.shareit.core.paging;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public final class Pages {
+    private Pages() {
+    }
+
+    public static <T> List<T> slice(Iterable<T> source, PageParams page) {
+        return slice(source.iterator(), page);
+    }
+
+    public static <T> List<T> slice(Iterator<T> iterator, PageParams page) {
+        for (int i = 0; i < page.getFrom() && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        List<T> result = new ArrayList<>(Math.min(page.getSize(), PageParams.MAX_SIZE));
+        while (iterator.hasNext() && result.size() < page.getSize()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.yandex.practicum.shareit.core.persistence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.yandex.practicum.shareit.booking.dao.InMemoryBookingStorage;
+import ru.yandex.practicum.shareit.item.dao.ItemStorage;
+import ru.yandex.practicum.shareit.request.dao.InMemoryItemRequestStorage;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+import java.io.IOException;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit.persistence", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfig {
+
+    @Bean(destroyMethod = "close")
+    public PersistenceManager persistenceManager(PersistenceProperties properties,
+                                                 InMemoryUserStorage userStorage,
+                                                 ItemStorage itemStorage,
+                                                 InMemoryItemRequestStorage requestStorage,
+                                                 InMemoryBookingStorage bookingStorage) throws IOException {
+        PersistenceManager manager = new PersistenceManager(properties.getDirectory(), userStorage, itemStorage,
+                requestStorage, bookingStorage);
+        manager.recover();
+        manager.scheduleSnapshots(properties.getSnapshotInterval(), properties.getSnapshotThreshold());
+        return manager;
+    }
+}
@@ -0,0 +1,281 @@
+package ru.yandex.practicum.shareit.core.persistence;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PersistenceManager implements Closeable {
+    private static final int SNAPSHOT_MAGIC = 0x53484954;
+    private static final int SNAPSHOT_VERSION = 3;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final long SNAPSHOT_CHECK_SECONDS = 10;
+
+    Path directory;
+    Restorable<User> users;
+    Restorable<Item> items;
+    Restorable<ItemRequest> requests;
+    Restorable<Booking> bookings;
+    WriteAheadLog wal;
+    AtomicLong recordsSinceSnapshot = new AtomicLong();
+    ReadWriteLock applying = new ReentrantReadWriteLock();
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PersistenceManager(Path directory, Restorable<User> users, Restorable<Item> items,
+                              Restorable<ItemRequest> requests, Restorable<Booking> bookings) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.users = users;
+        this.items = items;
+        this.requests = requests;
+        this.bookings = bookings;
+        this.wal = new WriteAheadLog(directory);
+    }
+
+    public void recover() throws IOException {
+        long started = System.nanoTime();
+        long boundary = 0;
+        Optional<Path> snapshot = latestSnapshot();
+        if (snapshot.isPresent()) {
+            boundary = loadSnapshot(snapshot.get());
+        }
+        AtomicLong replayed = new AtomicLong();
+        long last = wal.replay(boundary, payload -> {
+            apply(payload);
+            replayed.incrementAndGet();
+        });
+        recordsSinceSnapshot.set(replayed.get());
+        wal.start();
+        log.info("Recovered state up to record {} from {} and {} log records in {} ms",
+                last, snapshot.map(Path::getFileName).orElse(null), replayed.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    public void scheduleSnapshots(Duration interval, long threshold) {
+        long intervalChecks = Math.max(1, interval.getSeconds() / SNAPSHOT_CHECK_SECONDS);
+        AtomicLong checks = new AtomicLong();
+        scheduler.scheduleWithFixedDelay(() -> {
+            long records = recordsSinceSnapshot.get();
+            boolean due = checks.incrementAndGet() % intervalChecks == 0;
+            if (records >= threshold || (due && records > 0)) {
+                try {
+                    snapshot();
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to write a snapshot", e);
+                }
+            }
+        }, SNAPSHOT_CHECK_SECONDS, SNAPSHOT_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<Long> append(byte[] payload) {
+        recordsSinceSnapshot.incrementAndGet();
+        return wal.append(payload);
+    }
+
+    public <T> T logThenApply(byte[] payload, Supplier<T> apply) {
+        return logThenApply(List.of(payload), apply);
+    }
+
+    // The change becomes visible only after its records are durable. Snapshots rotate the log while no write is
+    // between the two steps, so a logged record cannot miss both the snapshot and the segments kept after it.
+    public <T> T logThenApply(List<byte[]> payloads, Supplier<T> apply) {
+        applying.readLock().lock();
+        try {
+            List<CompletableFuture<Long>> written = new ArrayList<>(payloads.size());
+            for (byte[] payload : payloads) {
+                written.add(append(payload));
+            }
+            CompletableFuture.allOf(written.toArray(CompletableFuture[]::new)).join();
+            return apply.get();
+        } finally {
+            applying.readLock().unlock();
+        }
+    }
+
+    public synchronized long snapshot() throws IOException {
+        long recordsBefore = recordsSinceSnapshot.get();
+        long boundary;
+        applying.writeLock().lock();
+        try {
+            boundary = wal.rotate();
+        } finally {
+            applying.writeLock().unlock();
+        }
+        Path target = snapshotPath(boundary);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(boundary);
+            out.writeLong(users.lastId());
+            out.writeLong(items.lastId());
+            out.writeLong(requests.lastId());
+            out.writeLong(bookings.lastId());
+            users.forEachRecord(user -> writeRecord(out, RecordCodec.userPut(user)));
+            requests.forEachRecord(request -> writeRecord(out, RecordCodec.requestPut(request)));
+            items.forEachRecord(item -> writeRecord(out, RecordCodec.itemPut(item)));
+            bookings.forEachRecord(booking -> writeRecord(out, RecordCodec.bookingPut(booking)));
+            out.writeInt(-1);
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        wal.deleteSegmentsBefore(boundary + 1);
+        for (Path old : snapshots()) {
+            if (!old.equals(target)) {
+                Files.deleteIfExists(old);
+            }
+        }
+        recordsSinceSnapshot.addAndGet(-recordsBefore);
+        log.info("Wrote snapshot {}", target.getFileName());
+        return boundary;
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        wal.close();
+    }
+
+    private long loadSnapshot(Path snapshot) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16), crc))) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != SNAPSHOT_MAGIC || version < 1 || version > SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported snapshot format in " + snapshot);
+            }
+            long boundary = in.readLong();
+            long userLastId = in.readLong();
+            long itemLastId = in.readLong();
+            long requestLastId = version >= 2 ? in.readLong() : 0;
+            long bookingLastId = version >= 3 ? in.readLong() : 0;
+            for (int length = in.readInt(); length >= 0; length = in.readInt()) {
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                apply(payload);
+            }
+            int expected = (int) crc.getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Snapshot " + snapshot + " is corrupted");
+            }
+            users.restoreLastId(userLastId);
+            items.restoreLastId(itemLastId);
+            requests.restoreLastId(requestLastId);
+            bookings.restoreLastId(bookingLastId);
+            return boundary;
+        }
+    }
+
+    private void apply(byte[] payload) {
+        try {
+            RecordCodec.decode(payload, new RecordCodec.RecordHandler() {
+                @Override
+                public void userPut(User user) {
+                    users.restore(user);
+                }
+
+                @Override
+                public void userDelete(long id) {
+                    users.restoreDeleted(id);
+                }
+
+                @Override
+                public void itemPut(Item item) {
+                    items.restore(item);
+                }
+
+                @Override
+                public void itemDelete(long id) {
+                    items.restoreDeleted(id);
+                }
+
+                @Override
+                public void requestPut(ItemRequest request) {
+                    requests.restore(request);
+                }
+
+                @Override
+                public void bookingPut(Booking booking) {
+                    bookings.restore(booking);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, byte[] payload) {
+        try {
+            out.writeInt(payload.length);
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<Path> latestSnapshot() throws IOException {
+        List<Path> snapshots = snapshots();
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                            && path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path snapshotPath(long boundary) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, boundary, SNAPSHOT_SUFFIX));
+    }
+}
@@ -0,0 +1,18 @@
+package ru.yandex.practicum.shareit.core.persistence;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.persistence")
+public class PersistenceProperties {
+    private boolean enabled;
+    private Path directory = Path.of("data");
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+    private long snapshotThreshold = 1_000_000;
+}
@@ -0,0 +1,205 @@
+package ru.yandex.practicum.shareit.core.persistence;
+
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public final class RecordCodec {
+    static final byte USER_PUT = 1;
+    static final byte USER_DELETE = 2;
+    static final byte ITEM_PUT = 3;
+    static final byte REQUEST_PUT = 4;
+    static final byte BOOKING_PUT = 5;
+    static final byte ITEM_DELETE = 6;
+
+    private RecordCodec() {
+    }
+
+    public static byte[] userPut(User user) {
+        return encode(out -> {
+            out.writeByte(USER_PUT);
+            out.writeLong(user.getId());
+            writeString(out, user.getName());
+            writeString(out, user.getEmail());
+        });
+    }
+
+    public static byte[] userDelete(long id) {
+        return encode(out -> {
+            out.writeByte(USER_DELETE);
+            out.writeLong(id);
+        });
+    }
+
+    public static byte[] itemPut(Item item) {
+        return encode(out -> {
+            out.writeByte(ITEM_PUT);
+            out.writeLong(item.getId());
+            writeString(out, item.getName());
+            writeString(out, item.getDescription());
+            out.writeBoolean(item.isAvailable());
+            out.writeLong(item.getOwner().getId());
+            out.writeLong(item.getVersion());
+            out.writeLong(item.getRequest() == null ? 0 : item.getRequest().getId());
+        });
+    }
+
+    public static byte[] itemDelete(long id) {
+        return encode(out -> {
+            out.writeByte(ITEM_DELETE);
+            out.writeLong(id);
+        });
+    }
+
+    public static byte[] requestPut(ItemRequest request) {
+        return encode(out -> {
+            out.writeByte(REQUEST_PUT);
+            out.writeLong(request.getId());
+            writeString(out, request.getDescription());
+            out.writeLong(request.getRequestor().getId());
+            writeTime(out, request.getCreated());
+        });
+    }
+
+    public static byte[] bookingPut(Booking booking) {
+        return encode(out -> {
+            out.writeByte(BOOKING_PUT);
+            out.writeLong(booking.getId());
+            out.writeLong(booking.getItem().getId());
+            out.writeLong(booking.getItem().getOwner().getId());
+            out.writeLong(booking.getBooker().getId());
+            writeTime(out, booking.getStart());
+            writeTime(out, booking.getEnd());
+            out.writeByte(booking.getStatus().ordinal());
+        });
+    }
+
+    public static void decode(byte[] payload, RecordHandler handler) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        switch (type) {
+            case USER_PUT:
+                handler.userPut(User.builder()
+                        .id(in.readLong())
+                        .name(readString(in))
+                        .email(readString(in))
+                        .build());
+                break;
+            case USER_DELETE:
+                handler.userDelete(in.readLong());
+                break;
+            case ITEM_PUT:
+                Item item = Item.builder()
+                        .id(in.readLong())
+                        .name(readString(in))
+                        .description(readString(in))
+                        .available(in.readBoolean())
+                        .owner(User.builder().id(in.readLong()).build())
+                        .version(in.readLong())
+                        .build();
+                long requestId = in.available() > 0 ? in.readLong() : 0;
+                if (requestId != 0) {
+                    item = item.withRequest(ItemRequest.builder().id(requestId).build());
+                }
+                handler.itemPut(item);
+                break;
+            case ITEM_DELETE:
+                handler.itemDelete(in.readLong());
+                break;
+            case REQUEST_PUT:
+                handler.requestPut(ItemRequest.builder()
+                        .id(in.readLong())
+                        .description(readString(in))
+                        .requestor(User.builder().id(in.readLong()).build())
+                        .created(readTime(in))
+                        .build());
+                break;
+            case BOOKING_PUT:
+                handler.bookingPut(Booking.builder()
+                        .id(in.readLong())
+                        .item(Item.builder()
+                                .id(in.readLong())
+                                .owner(User.builder().id(in.readLong()).build())
+                                .build())
+                        .booker(User.builder().id(in.readLong()).build())
+                        .start(readTime(in))
+                        .end(readTime(in))
+                        .status(BookingStatus.values()[in.readByte()])
+                        .build());
+                break;
+            default:
+                throw new IOException("Unknown record type " + type);
+        }
+    }
+
+    private static byte[] encode(RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            writer.write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public interface RecordHandler {
+        void userPut(User user);
+
+        void userDelete(long id);
+
+        void itemPut(Item item);
+
+        void itemDelete(long id);
+
+        void requestPut(ItemRequest request);
+
+        void bookingPut(Booking booking);
+    }
+
+    private interface RecordWriter {
+        void write(DataOutput out) throws IOException;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.yandex.practicum.shareit.core.persistence;
+
+import java.util.function.Consumer;
+
+public interface Restorable<T> {
+    void restore(T record);
+
+    void restoreDeleted(long id);
+
+    void forEachRecord(Consumer<T> consumer);
+
+    long lastId();
+
+    void restoreLastId(long lastId);
+}
@@ -0,0 +1,337 @@
+package ru.yandex.practicum.shareit.core.persistence;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int MAX_BATCH = 8192;
+    private static final int MAX_RECORD_BYTES = 64 << 20;
+
+    final Path directory;
+    final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    final Object sequenceLock = new Object();
+    long lastSequence;
+    boolean closed;
+    FileChannel channel;
+    long committedBytes;
+    boolean broken;
+    ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    Thread writer;
+
+    public WriteAheadLog(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public long replay(long afterSequence, Consumer<byte[]> consumer) throws IOException {
+        long last = afterSequence;
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            last = Math.max(last, replaySegment(segments.get(i), afterSequence, i == segments.size() - 1, consumer));
+        }
+        synchronized (sequenceLock) {
+            lastSequence = last;
+        }
+        return last;
+    }
+
+    public void start() throws IOException {
+        openSegment(lastSequence() + 1);
+        writer = new Thread(this::writeLoop, "wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public CompletableFuture<Long> append(byte[] payload) {
+        return enqueue(Kind.RECORD, payload);
+    }
+
+    public long rotate() {
+        return enqueue(Kind.ROTATE, null).join();
+    }
+
+    public long lastSequence() {
+        synchronized (sequenceLock) {
+            return lastSequence;
+        }
+    }
+
+    public void deleteSegmentsBefore(long firstSequence) throws IOException {
+        for (Path segment : segments()) {
+            if (firstSequence(segment) < firstSequence) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        CompletableFuture<Long> closing;
+        synchronized (sequenceLock) {
+            if (closed) {
+                return;
+            }
+            closing = enqueue(Kind.CLOSE, null);
+            closed = true;
+        }
+        closing.join();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Long> enqueue(Kind kind, byte[] payload) {
+        synchronized (sequenceLock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Write-ahead log is closed"));
+            }
+            Entry entry = new Entry(kind, kind == Kind.RECORD ? ++lastSequence : lastSequence, payload);
+            queue.add(entry);
+            return entry.getFuture();
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>();
+        List<Entry> pending = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH);
+            if (broken) {
+                running = reject(batch);
+                batch.clear();
+                continue;
+            }
+            try {
+                for (Entry entry : batch) {
+                    if (entry.getKind() == Kind.RECORD) {
+                        frame(entry);
+                        pending.add(entry);
+                        continue;
+                    }
+                    flush(pending);
+                    if (entry.getKind() == Kind.ROTATE) {
+                        openSegment(entry.getSequence() + 1);
+                    } else {
+                        channel.close();
+                        running = false;
+                    }
+                    entry.getFuture().complete(entry.getSequence());
+                }
+                flush(pending);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to write the write-ahead log", e);
+                buffer.clear();
+                batch.forEach(entry -> entry.getFuture().completeExceptionally(e));
+                pending.clear();
+                discardUncommitted();
+            }
+            batch.clear();
+        }
+    }
+
+    private void discardUncommitted() {
+        try {
+            channel.truncate(committedBytes);
+            channel.position(committedBytes);
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to discard a partial write-ahead log write, rejecting further writes", e);
+            broken = true;
+        }
+    }
+
+    private boolean reject(List<Entry> batch) {
+        boolean running = true;
+        for (Entry entry : batch) {
+            if (entry.getKind() == Kind.CLOSE) {
+                closeQuietly();
+                entry.getFuture().complete(entry.getSequence());
+                running = false;
+            } else {
+                entry.getFuture().completeExceptionally(new IllegalStateException("Write-ahead log is broken"));
+            }
+        }
+        return running;
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the write-ahead log", e);
+        }
+    }
+
+    private void frame(Entry entry) {
+        byte[] payload = entry.getPayload();
+        ensureCapacity(FRAME_HEADER_BYTES + payload.length);
+        CRC32 crc = new CRC32();
+        int start = buffer.position();
+        buffer.putInt(payload.length);
+        buffer.putInt(0);
+        buffer.putLong(entry.getSequence());
+        buffer.put(payload);
+        crc.update(buffer.array(), start + Integer.BYTES * 2, Long.BYTES + payload.length);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    private void flush(List<Entry> pending) throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        channel.force(false);
+        committedBytes = channel.position();
+        pending.forEach(entry -> entry.getFuture().complete(entry.getSequence()));
+        pending.clear();
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        channel = openChannel(segmentPath(firstSequence));
+        committedBytes = 0;
+    }
+
+    FileChannel openChannel(Path segment) throws IOException {
+        return FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private long replaySegment(Path segment, long afterSequence, boolean lastSegment, Consumer<byte[]> consumer)
+            throws IOException {
+        long last = afterSequence;
+        long validBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return last;
+                }
+                if (length < 0 || length > MAX_RECORD_BYTES) {
+                    break;
+                }
+                byte[] frame = new byte[Long.BYTES + length];
+                int crc;
+                try {
+                    crc = in.readInt();
+                    in.readFully(frame);
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 actual = new CRC32();
+                actual.update(frame);
+                if ((int) actual.getValue() != crc) {
+                    break;
+                }
+                ByteBuffer wrapped = ByteBuffer.wrap(frame);
+                long sequence = wrapped.getLong();
+                if (sequence > afterSequence) {
+                    byte[] payload = new byte[length];
+                    wrapped.get(payload);
+                    consumer.accept(payload);
+                    last = sequence;
+                }
+                validBytes += FRAME_HEADER_BYTES + length;
+            }
+        }
+        if (!lastSegment) {
+            throw new IOException("Write-ahead log segment " + segment + " is corrupted at byte " + validBytes);
+        }
+        log.warn("Truncating torn write-ahead log tail of {} at byte {}", segment, validBytes);
+        try (FileChannel truncated = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            truncated.truncate(validBytes);
+            truncated.force(true);
+        }
+        return last;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((left, right) -> Long.compare(firstSequence(left), firstSequence(right)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private enum Kind {
+        RECORD, ROTATE, CLOSE
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class Entry {
+        Kind kind;
+        long sequence;
+        byte[] payload;
+        CompletableFuture<Long> future = new CompletableFuture<>();
+    }
+}
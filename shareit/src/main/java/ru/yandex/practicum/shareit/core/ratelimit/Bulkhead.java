@@ -0,0 +1,38 @@
+package ru.yandex.practicum.shareit.core.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class Bulkhead {
+    Semaphore permits;
+    long maxWaitNanos;
+
+    public Bulkhead(int maxConcurrent, Duration maxWait) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Invalid bulkhead size " + maxConcurrent);
+        }
+        permits = new Semaphore(maxConcurrent);
+        maxWaitNanos = maxWait.toNanos();
+    }
+
+    public boolean tryEnter() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        try {
+            return maxWaitNanos > 0 && permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.yandex.practicum.shareit.core.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+    RateLimitProperties properties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        long now = System.nanoTime();
+        Map<String, RateLimitProperties.Quota> quotas = new HashMap<>(properties.getQuotas());
+        quotas.putIfAbsent(RateLimitProperties.DEFAULT_ENDPOINT, new RateLimitProperties.Quota());
+        Map<String, UserRateLimiter> limiters = new HashMap<>();
+        quotas.forEach((endpoint, quota) -> limiters.put(endpoint, new UserRateLimiter(quota.getRate(),
+                quota.getBurst(), properties.getMaxUsers(), properties.getSweepInterval().toNanos(), now)));
+        Map<String, Bulkhead> bulkheads = new HashMap<>();
+        properties.getBulkheads().forEach((endpoint, limit) ->
+                bulkheads.put(endpoint, new Bulkhead(limit.getMaxConcurrent(), limit.getMaxWait())));
+        registry.addInterceptor(new RateLimitInterceptor(limiters, bulkheads));
+    }
+}
@@ -0,0 +1,102 @@
+package ru.yandex.practicum.shareit.core.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.yandex.practicum.shareit.core.cluster.ClusterRoutingFilter;
+import ru.yandex.practicum.shareit.core.exception.BulkheadFullException;
+import ru.yandex.practicum.shareit.core.exception.RateLimitExceededException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String BULKHEAD_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".bulkhead";
+    private static final long ANONYMOUS = -1;
+    private static final long BULKHEAD_RETRY_SECONDS = 1;
+
+    Map<String, UserRateLimiter> limiters;
+    Map<String, Bulkhead> bulkheads;
+    Map<Method, String> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC
+                || request.getAttribute(ClusterRoutingFilter.PEER_ATTRIBUTE) != null) {
+            return true;
+        }
+        String endpoint = endpointOf((HandlerMethod) handler);
+        UserRateLimiter limiter = limiters.getOrDefault(endpoint, limiters.get(RateLimitProperties.DEFAULT_ENDPOINT));
+        long wait = limiter.tryAcquire(userId(request), System.nanoTime());
+        if (wait > 0) {
+            throw new RateLimitExceededException(endpoint, Math.max(1, ceilSeconds(wait)));
+        }
+        Bulkhead bulkhead = bulkheads.get(endpoint);
+        if (bulkhead != null) {
+            if (!bulkhead.tryEnter()) {
+                throw new BulkheadFullException(endpoint, BULKHEAD_RETRY_SECONDS);
+            }
+            request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        Object bulkhead = request.getAttribute(BULKHEAD_ATTRIBUTE);
+        if (bulkhead != null) {
+            request.removeAttribute(BULKHEAD_ATTRIBUTE);
+            ((Bulkhead) bulkhead).exit();
+        }
+    }
+
+    private String endpointOf(HandlerMethod handler) {
+        String endpoint = endpoints.get(handler.getMethod());
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(handler.getMethod(), method -> {
+                RateLimited annotation = AnnotatedElementUtils.findMergedAnnotation(method, RateLimited.class);
+                if (annotation == null) {
+                    annotation = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), RateLimited.class);
+                }
+                return annotation == null ? RateLimitProperties.DEFAULT_ENDPOINT : annotation.value();
+            });
+        }
+        return endpoint;
+    }
+
+    private static long userId(HttpServletRequest request) {
+        String header = request.getHeader(USER_ID_HEADER);
+        if (header == null) {
+            return anonymous(request);
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return anonymous(request);
+        }
+    }
+
+    // User ids are never negative, so callers without one get a negative key per client address
+    // instead of sharing a single bucket with every other anonymous client.
+    private static long anonymous(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        return address == null ? ANONYMOUS : ANONYMOUS - 1 - Integer.toUnsignedLong(address.hashCode());
+    }
+
+    private static long ceilSeconds(long nanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return (nanos + second - 1) / second;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.yandex.practicum.shareit.core.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    public static final String DEFAULT_ENDPOINT = "default";
+
+    private boolean enabled = true;
+    private int maxUsers = 100_000;
+    private Duration sweepInterval = Duration.ofSeconds(1);
+    private Map<String, Quota> quotas = new HashMap<>();
+    private Map<String, BulkheadLimit> bulkheads = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Quota {
+        private double rate = 50;
+        private int burst = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class BulkheadLimit {
+        private int maxConcurrent = 16;
+        private Duration maxWait = Duration.ofMillis(50);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.yandex.practicum.shareit.core.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class TokenBucket {
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        fullAt = new AtomicLong(now);
+    }
+
+    // The bucket is stored as the instant it will be full again: every token moves that instant forward by
+    // one interval, and a request is admitted while the bucket is less than `burst` intervals from full.
+    long tryAcquire(long now, long interval, long capacity) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.yandex.practicum.shareit.core.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserRateLimiter {
+    Map<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+    long interval;
+    long capacity;
+    int maxUsers;
+    long sweepInterval;
+    AtomicLong nextSweep;
+    TokenBucket overflow;
+
+    public UserRateLimiter(double rate, int burst, int maxUsers, long sweepIntervalNanos, long now) {
+        if (rate <= 0 || burst < 1 || maxUsers < 1) {
+            throw new IllegalArgumentException("Invalid quota: rate=" + rate + ", burst=" + burst
+                    + ", maxUsers=" + maxUsers);
+        }
+        interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        capacity = interval * burst;
+        this.maxUsers = maxUsers;
+        sweepInterval = sweepIntervalNanos;
+        nextSweep = new AtomicLong(now + sweepIntervalNanos);
+        overflow = new TokenBucket(now);
+    }
+
+    public long tryAcquire(long userId, long now) {
+        TokenBucket bucket = buckets.get(userId);
+        if (bucket == null) {
+            bucket = newBucket(userId, now);
+        }
+        return bucket.tryAcquire(now, interval, capacity);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket newBucket(long userId, long now) {
+        long scheduled = nextSweep.get();
+        if (now - scheduled >= 0 && nextSweep.compareAndSet(scheduled, now + sweepInterval)) {
+            sweep(now);
+        }
+        if (buckets.size() >= maxUsers) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(userId, id -> new TokenBucket(now));
+    }
+
+    // A bucket that has refilled completely is indistinguishable from a new one, so dropping it loses nothing.
+    private void sweep(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+}
@@ -0,0 +1,43 @@
+package ru.yandex.practicum.shareit.core.web;
+
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Value
+public class EncodedJsonArray {
+    List<byte[]> elements;
+
+    public static <T> EncodedJsonArray of(List<T> values, Function<T, byte[]> encoder) {
+        List<byte[]> elements = new ArrayList<>(values.size());
+        for (T value : values) {
+            elements.add(encoder.apply(value));
+        }
+        return new EncodedJsonArray(elements);
+    }
+
+    public long length() {
+        long length = 2 + Math.max(0, elements.size() - 1);
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+        return length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write('[');
+        boolean first = true;
+        for (byte[] element : elements) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            out.write(element);
+        }
+        out.write(']');
+    }
+}
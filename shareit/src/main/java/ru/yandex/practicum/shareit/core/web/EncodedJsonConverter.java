@@ -0,0 +1,43 @@
+package ru.yandex.practicum.shareit.core.web;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class EncodedJsonConverter extends AbstractHttpMessageConverter<EncodedJsonArray> {
+
+    public EncodedJsonConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> type) {
+        return EncodedJsonArray.class.isAssignableFrom(type);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedJsonArray readInternal(Class<? extends EncodedJsonArray> type, HttpInputMessage message) {
+        throw new HttpMessageNotReadableException("Encoded JSON arrays are write-only", message);
+    }
+
+    @Override
+    protected Long getContentLength(EncodedJsonArray array, MediaType contentType) {
+        return array.length();
+    }
+
+    @Override
+    protected void writeInternal(EncodedJsonArray array, HttpOutputMessage message) throws IOException {
+        array.writeTo(message.getBody());
+    }
+}
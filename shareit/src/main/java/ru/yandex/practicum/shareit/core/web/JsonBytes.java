@@ -0,0 +1,166 @@
+package ru.yandex.practicum.shareit.core.web;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public final class JsonBytes {
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    byte[] buffer;
+    int size;
+    boolean first = true;
+
+    public JsonBytes(int capacity) {
+        buffer = new byte[capacity];
+    }
+
+    public JsonBytes beginObject() {
+        write('{');
+        first = true;
+        return this;
+    }
+
+    public JsonBytes endObject() {
+        write('}');
+        first = false;
+        return this;
+    }
+
+    public JsonBytes field(String name, Long value) {
+        name(name);
+        if (value == null) {
+            write(NULL);
+        } else {
+            writeLong(value);
+        }
+        return this;
+    }
+
+    public JsonBytes field(String name, Boolean value) {
+        name(name);
+        write(value == null ? NULL : value ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonBytes field(String name, String value) {
+        name(name);
+        if (value == null) {
+            write(NULL);
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void name(String name) {
+        if (!first) {
+            write(',');
+        }
+        first = false;
+        writeString(name);
+        write(':');
+    }
+
+    private void writeString(String value) {
+        ensure(value.length() + 2);
+        buffer[size++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                ensure(1);
+                buffer[size++] = (byte) c;
+            } else if (c < 0x80) {
+                writeEscaped(c);
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[size++] = (byte) (0xc0 | c >> 6);
+                buffer[size++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                writeEscaped(c);
+            } else {
+                ensure(3);
+                buffer[size++] = (byte) (0xe0 | c >> 12);
+                buffer[size++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[size++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        write('"');
+    }
+
+    private void writeEscaped(char c) {
+        ensure(6);
+        buffer[size++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buffer[size++] = (byte) c;
+                break;
+            case '\n':
+                buffer[size++] = 'n';
+                break;
+            case '\r':
+                buffer[size++] = 'r';
+                break;
+            case '\t':
+                buffer[size++] = 't';
+                break;
+            case '\b':
+                buffer[size++] = 'b';
+                break;
+            case '\f':
+                buffer[size++] = 'f';
+                break;
+            default:
+                buffer[size++] = 'u';
+                buffer[size++] = HEX[c >> 12];
+                buffer[size++] = HEX[c >> 8 & 0xf];
+                buffer[size++] = HEX[c >> 4 & 0xf];
+                buffer[size++] = HEX[c & 0xf];
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value < 0) {
+            write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private void write(char c) {
+        ensure(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void write(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
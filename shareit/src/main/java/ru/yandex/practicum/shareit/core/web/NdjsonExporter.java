@@ -0,0 +1,57 @@
+package ru.yandex.practicum.shareit.core.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NdjsonExporter {
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+    private static final int BATCH_SIZE = PageParams.MAX_SIZE;
+
+    ObjectWriter writer;
+
+    public NdjsonExporter(ObjectMapper objectMapper) {
+        writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> export(Function<PageParams, List<T>> pages,
+                                                            Function<T, Long> idOf) {
+        StreamingResponseBody body = out -> {
+            List<T> batch = pages.apply(PageParams.offset(0, BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return;
+            }
+            SequenceWriter sequence = writer.writeValues(out);
+            while (!batch.isEmpty()) {
+                for (T value : batch) {
+                    sequence.write(value);
+                }
+                sequence.flush();
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+                batch = pages.apply(PageParams.after(idOf.apply(batch.get(batch.size() - 1)), BATCH_SIZE));
+            }
+            out.write('\n');
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE))
+                .body(body);
+    }
+}
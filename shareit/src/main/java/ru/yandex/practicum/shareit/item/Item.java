@@ -1,18 +1,13 @@
 package ru.yandex.practicum.shareit.item;
 
 import lombok.*;
-import lombok.experimental.FieldDefaults;
 import ru.yandex.practicum.shareit.request.ItemRequest;
 import ru.yandex.practicum.shareit.user.User;
 
-@Getter
-@Setter
-@ToString
-@EqualsAndHashCode
-@Builder
-@NoArgsConstructor
+@Value
+@With
+@Builder(toBuilder = true)
 @AllArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
 public class Item {
 
     Long id;
@@ -26,4 +21,6 @@ public class Item {
     User owner;
 
     ItemRequest request;
-}
\ No newline at end of file
+
+    long version;
+}
@@ -0,0 +1,8 @@
+package ru.yandex.practicum.shareit.item;
+
+import lombok.Value;
+
+@Value
+public class ItemChangedEvent {
+    Item item;
+}
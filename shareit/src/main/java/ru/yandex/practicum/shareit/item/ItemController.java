@@ -5,6 +5,8 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -16,10 +18,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.ratelimit.RateLimited;
+import ru.yandex.practicum.shareit.core.web.EncodedJsonArray;
+import ru.yandex.practicum.shareit.core.web.NdjsonExporter;
+import ru.yandex.practicum.shareit.item.cache.CachedItemResponse;
 import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.feed.ItemChangeFeed;
 import ru.yandex.practicum.shareit.item.service.ItemService;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.List;
 
 @RestController
@@ -29,25 +44,74 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class ItemController {
     private final static String USER_ID_HEADER = "X-Sharer-User-Id";
+    private final static String DEFAULT_SUGGESTIONS = "10";
+    private final static String SEARCH = "search";
+    private final static String EXPORT = "export";
+    private final static String CHANGES = "changes";
     ItemService itemService;
+    NdjsonExporter ndjsonExporter;
+    ItemChangeFeed itemChangeFeed;
 
     @GetMapping
-    public List<ItemDto> getByUserId(
+    public EncodedJsonArray getByUserId(
+            @PositiveOrZero @RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @Max(PageParams.MAX_SIZE) @RequestParam(defaultValue = PageParams.DEFAULT_SIZE) int size,
+            @PositiveOrZero @RequestParam(required = false) Long after) {
+        return itemService.getOwnerItemsResponse(userId, PageParams.of(from, size, after));
+    }
+
+    @GetMapping(params = "ids")
+    public List<ItemDto> getByIds(@NotEmpty @Size(max = PageParams.MAX_SIZE) @RequestParam List<Long> ids) {
+        return itemService.getItemsByIds(ids);
+    }
+
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    @RateLimited(EXPORT)
+    public ResponseEntity<StreamingResponseBody> exportByUserId(
             @PositiveOrZero @RequestHeader(required = false, name = USER_ID_HEADER) Long userId) {
-        return itemService.searchByOwnerId(userId);
+        return ndjsonExporter.export(page -> itemService.searchByOwnerId(userId, page), ItemDto::getId);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(
-            @RequestParam(required = false) String text) {
-        return itemService.searchByText(text);
+    @RateLimited(SEARCH)
+    public EncodedJsonArray search(
+            @RequestParam(required = false) String text,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @Max(PageParams.MAX_SIZE) @RequestParam(defaultValue = PageParams.DEFAULT_SIZE) int size,
+            @PositiveOrZero @RequestParam(required = false) Long after) {
+        return itemService.searchResponse(text, PageParams.of(from, size, after));
+    }
 
+    @GetMapping(path = "/search", produces = NdjsonExporter.MEDIA_TYPE)
+    @RateLimited(EXPORT)
+    public ResponseEntity<StreamingResponseBody> exportSearch(@RequestParam(required = false) String text) {
+        return ndjsonExporter.export(page -> itemService.searchByText(text, page), ItemDto::getId);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggest(
+            @RequestParam(required = false) String prefix,
+            @Positive @Max(PageParams.MAX_SIZE) @RequestParam(defaultValue = DEFAULT_SUGGESTIONS) int size) {
+        return itemService.suggestNames(prefix, size);
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RateLimited(CHANGES)
+    public SseEmitter changes(
+            @PositiveOrZero @RequestParam(required = false) Long ownerId,
+            @Size(max = PageParams.MAX_SIZE) @RequestParam(required = false) List<Long> ids) {
+        return itemChangeFeed.subscribe(ownerId, ids);
     }
 
     @GetMapping("/{id}")
-    public ItemDto getById(@PositiveOrZero @PathVariable long id,
-                           @RequestHeader(required = false, name = USER_ID_HEADER) Long userId) {
-        return itemService.getItemById(id, userId);
+    public ResponseEntity<byte[]> getById(@PositiveOrZero @PathVariable long id,
+                                          @RequestHeader(required = false, name = USER_ID_HEADER) Long userId) {
+        CachedItemResponse response = itemService.getItemResponse(id, userId);
+        return ResponseEntity.ok()
+                .eTag(response.getETag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.getBody());
     }
 
     @PostMapping
@@ -57,6 +121,13 @@ public class ItemController {
         return itemService.createItem(userId, dto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<ItemDto>> createBatch(
+            @RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+            @NonNull @Size(max = BatchResult.MAX_SIZE) @RequestBody List<ItemDto> dtos) {
+        return itemService.createItems(userId, dtos);
+    }
+
     @PatchMapping("/{id}")
     public ItemDto update(
             @PositiveOrZero @PathVariable long id, @RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
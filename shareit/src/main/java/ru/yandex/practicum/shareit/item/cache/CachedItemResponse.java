@@ -0,0 +1,17 @@
+package ru.yandex.practicum.shareit.item.cache;
+
+import lombok.Value;
+
+@Value
+public class CachedItemResponse {
+    private static final int OVERHEAD_BYTES = 96;
+
+    long id;
+    long version;
+    String eTag;
+    byte[] body;
+
+    int weight() {
+        return OVERHEAD_BYTES + body.length + eTag.length() * 2;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.yandex.practicum.shareit.item.cache;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "itemcache")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemCacheEndpoint {
+    ItemResponseCache itemResponseCache;
+
+    @ReadOperation
+    public ItemCacheStats stats() {
+        return itemResponseCache.stats();
+    }
+}
@@ -0,0 +1,13 @@
+package ru.yandex.practicum.shareit.item.cache;
+
+import lombok.Value;
+
+@Value
+public class ItemCacheStats {
+    long hits;
+    long misses;
+    long evictions;
+    long entries;
+    long sizeBytes;
+    long maxSizeBytes;
+}
@@ -0,0 +1,130 @@
+package ru.yandex.practicum.shareit.item.cache;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.ItemChangedEvent;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemResponseCache {
+    private static final int SEGMENTS = 16;
+
+    ItemMapper itemMapper;
+    String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    long maxSizeBytes;
+    Segment[] segments = new Segment[SEGMENTS];
+    LongAdder hits = new LongAdder();
+    LongAdder misses = new LongAdder();
+    LongAdder evictions = new LongAdder();
+
+    public ItemResponseCache(ItemMapper itemMapper,
+                             @Value("${shareit.cache.items.max-size:16MB}") DataSize maxSize) {
+        this.itemMapper = itemMapper;
+        this.maxSizeBytes = maxSize.toBytes();
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maxSizeBytes / SEGMENTS);
+        }
+    }
+
+    public CachedItemResponse get(long id, LongFunction<Item> loader) {
+        Segment segment = segmentFor(id);
+        CachedItemResponse cached = segment.get(id);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return segment.putIfNewer(encode(loader.apply(id)));
+    }
+
+    public byte[] encoded(Item item) {
+        Segment segment = segmentFor(item.getId());
+        CachedItemResponse cached = segment.get(item.getId());
+        if (cached != null && cached.getVersion() == item.getVersion()) {
+            hits.increment();
+            return cached.getBody();
+        }
+        misses.increment();
+        CachedItemResponse encoded = encode(item);
+        segment.putIfNewer(encoded);
+        return encoded.getBody();
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getItem();
+        segmentFor(item.getId()).putIfNewer(encode(item));
+    }
+
+    public ItemCacheStats stats() {
+        long entries = 0;
+        long sizeBytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                entries += segment.entries.size();
+                sizeBytes += segment.sizeBytes;
+            }
+        }
+        return new ItemCacheStats(hits.sum(), misses.sum(), evictions.sum(), entries, sizeBytes, maxSizeBytes);
+    }
+
+    private CachedItemResponse encode(Item item) {
+        return new CachedItemResponse(item.getId(), item.getVersion(),
+                "\"" + epoch + "-" + item.getId() + "-" + item.getVersion() + "\"",
+                itemMapper.toJson(item));
+    }
+
+    private Segment segmentFor(long id) {
+        return segments[Long.hashCode(id) & (SEGMENTS - 1)];
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private class Segment {
+        final Map<Long, CachedItemResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+        final long maxSizeBytes;
+        long sizeBytes;
+
+        Segment(long maxSizeBytes) {
+            this.maxSizeBytes = maxSizeBytes;
+        }
+
+        synchronized CachedItemResponse get(long id) {
+            return entries.get(id);
+        }
+
+        synchronized CachedItemResponse putIfNewer(CachedItemResponse response) {
+            CachedItemResponse current = entries.get(response.getId());
+            if (current != null) {
+                if (current.getVersion() >= response.getVersion()) {
+                    return current;
+                }
+                sizeBytes -= current.weight();
+            }
+            entries.put(response.getId(), response);
+            sizeBytes += response.weight();
+            evict();
+            return response;
+        }
+
+        private void evict() {
+            Iterator<CachedItemResponse> eldest = entries.values().iterator();
+            while (sizeBytes > maxSizeBytes && eldest.hasNext()) {
+                sizeBytes -= eldest.next().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package ru.yandex.practicum.shareit.item.dao;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.core.concurrent.IdSequence;
+import ru.yandex.practicum.shareit.core.concurrent.LockStripes;
+import ru.yandex.practicum.shareit.core.index.CompactGroupIndex;
+import ru.yandex.practicum.shareit.core.index.PrefixIndex;
+import ru.yandex.practicum.shareit.core.index.TextIndex;
+import ru.yandex.practicum.shareit.core.memory.StringDeduplicator;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+@Repository
+@ConditionalOnProperty(prefix = "shareit.items", name = "storage", havingValue = "compact")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CompactItemStorage implements ItemStorage {
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int DEDUPLICATED_STRINGS = 1 << 16;
+    private static final String[] NO_TEXT = new String[0];
+
+    InMemoryUserStorage userStorage;
+    IdSequence ids = new IdSequence();
+    AtomicInteger count = new AtomicInteger();
+    AtomicReference<Chunk[]> chunks = new AtomicReference<>(new Chunk[16]);
+    TextIndex textIndex = new TextIndex();
+    CompactGroupIndex ownerIndex = new CompactGroupIndex();
+    CompactGroupIndex requestIndex = new CompactGroupIndex();
+    PrefixIndex nameIndex = new PrefixIndex();
+    StringDeduplicator strings = new StringDeduplicator(DEDUPLICATED_STRINGS);
+    LockStripes locks = new LockStripes(64);
+
+    public CompactItemStorage(InMemoryUserStorage userStorage) {
+        this.userStorage = userStorage;
+    }
+
+    @Override
+    public Item addItem(Item item) {
+        return insert(item, ids.next());
+    }
+
+    @Override
+    public List<Item> addItems(List<Item> batch) {
+        List<Item> added = new ArrayList<>(batch.size());
+        for (Item item : batch) {
+            added.add(insert(item, ids.next()));
+        }
+        return added;
+    }
+
+    @Override
+    public List<Item> searchByOwnerId(Long ownerId, PageParams page) {
+        return load(ownerIndex.page(ownerId, page));
+    }
+
+    @Override
+    public List<Item> searchByText(String text, PageParams page) {
+        return load(textIndex.search(text, page));
+    }
+
+    @Override
+    public List<Item> searchByRequestId(Long requestId, PageParams page) {
+        return load(requestIndex.page(requestId, page));
+    }
+
+    @Override
+    public List<Item> matchText(String text, int limit) {
+        return load(textIndex.matchAny(text, limit));
+    }
+
+    @Override
+    public List<String> suggestNames(String prefix, int limit) {
+        return nameIndex.complete(prefix, limit);
+    }
+
+    @Override
+    public Item updateItem(long itemId, UnaryOperator<Item> patch) {
+        Chunk chunk = existingChunk(itemId);
+        if (chunk == null) {
+            return null;
+        }
+        int row = (int) (itemId & CHUNK_MASK);
+        synchronized (locks.forId(itemId)) {
+            Item current = read(chunk, row, itemId, true);
+            if (current == null) {
+                return null;
+            }
+            Item item = patch.apply(current);
+            long ownerId = item.getOwner().getId();
+            if (chunk.ownerIds[row] != ownerId) {
+                ownerIndex.remove(chunk.ownerIds[row], itemId);
+                ownerIndex.add(ownerId, itemId);
+            }
+            String[] previousText = text(chunk, row);
+            String previousName = suggestedName(chunk, row);
+            chunk.names[row] = strings.deduplicate(item.getName());
+            chunk.descriptions[row] = strings.deduplicate(item.getDescription());
+            chunk.available[row] = item.isAvailable();
+            chunk.ownerIds[row] = ownerId;
+            chunk.versions[row]++;
+            textIndex.update(itemId, previousText, text(chunk, row));
+            nameIndex.replace(previousName, suggestedName(chunk, row));
+            return read(chunk, row, itemId, true);
+        }
+    }
+
+    @Override
+    public Item getItemById(long itemId) {
+        Chunk chunk = existingChunk(itemId);
+        if (chunk == null) {
+            return null;
+        }
+        synchronized (locks.forId(itemId)) {
+            return read(chunk, (int) (itemId & CHUNK_MASK), itemId, true);
+        }
+    }
+
+    @Override
+    public List<Item> getItemsByIds(List<Long> itemIds) {
+        return load(itemIds);
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    @Override
+    public long textIndexTermCount() {
+        return textIndex.termCount();
+    }
+
+    @Override
+    public int ownerIndexSize() {
+        return ownerIndex.groupCount();
+    }
+
+    @Override
+    public void restore(Item item) {
+        long itemId = item.getId();
+        Chunk chunk = chunkFor(itemId);
+        int row = (int) (itemId & CHUNK_MASK);
+        synchronized (locks.forId(itemId)) {
+            if (chunk.present[row]) {
+                remove(chunk, row, itemId);
+            }
+            write(chunk, row, itemId, item, item.getVersion());
+            restoreLastId(itemId);
+        }
+    }
+
+    @Override
+    public void restoreDeleted(long itemId) {
+        Chunk chunk = existingChunk(itemId);
+        if (chunk != null) {
+            int row = (int) (itemId & CHUNK_MASK);
+            synchronized (locks.forId(itemId)) {
+                if (chunk.present[row]) {
+                    remove(chunk, row, itemId);
+                }
+            }
+        }
+        restoreLastId(itemId);
+    }
+
+    @Override
+    public void forEachRecord(Consumer<Item> consumer) {
+        long last = ((long) chunks.get().length << CHUNK_BITS) - 1;
+        for (long itemId = 1; itemId <= last; itemId++) {
+            Chunk chunk = existingChunk(itemId);
+            if (chunk == null) {
+                itemId |= CHUNK_MASK;
+                continue;
+            }
+            Item item;
+            synchronized (locks.forId(itemId)) {
+                item = read(chunk, (int) (itemId & CHUNK_MASK), itemId, false);
+            }
+            if (item != null) {
+                consumer.accept(item);
+            }
+        }
+    }
+
+    @Override
+    public long lastId() {
+        return ids.last();
+    }
+
+    @Override
+    public void restoreLastId(long lastId) {
+        ids.advanceTo(lastId);
+    }
+
+    @Override
+    public void partitionIds(int stride, int offset) {
+        ids.partition(stride, offset);
+    }
+
+    @Override
+    public long nextId() {
+        return ids.next();
+    }
+
+    @Override
+    public boolean removeIfVersion(long itemId, long version) {
+        Chunk chunk = existingChunk(itemId);
+        if (chunk == null) {
+            return false;
+        }
+        int row = (int) (itemId & CHUNK_MASK);
+        synchronized (locks.forId(itemId)) {
+            if (!chunk.present[row] || chunk.versions[row] != version) {
+                return false;
+            }
+            remove(chunk, row, itemId);
+            return true;
+        }
+    }
+
+    private Item insert(Item item, long itemId) {
+        Chunk chunk = chunkFor(itemId);
+        int row = (int) (itemId & CHUNK_MASK);
+        synchronized (locks.forId(itemId)) {
+            write(chunk, row, itemId, item, 1);
+            return read(chunk, row, itemId, false);
+        }
+    }
+
+    private void write(Chunk chunk, int row, long itemId, Item item, long version) {
+        chunk.names[row] = strings.deduplicate(item.getName());
+        chunk.descriptions[row] = strings.deduplicate(item.getDescription());
+        chunk.available[row] = item.isAvailable();
+        chunk.ownerIds[row] = item.getOwner().getId();
+        chunk.requestIds[row] = item.getRequest() == null ? 0 : item.getRequest().getId();
+        chunk.versions[row] = version;
+        chunk.present[row] = true;
+        count.incrementAndGet();
+        ownerIndex.add(chunk.ownerIds[row], itemId);
+        if (chunk.requestIds[row] != 0) {
+            requestIndex.add(chunk.requestIds[row], itemId);
+        }
+        textIndex.update(itemId, NO_TEXT, text(chunk, row));
+        nameIndex.add(suggestedName(chunk, row));
+    }
+
+    private void remove(Chunk chunk, int row, long itemId) {
+        textIndex.update(itemId, text(chunk, row), NO_TEXT);
+        nameIndex.remove(suggestedName(chunk, row));
+        ownerIndex.remove(chunk.ownerIds[row], itemId);
+        if (chunk.requestIds[row] != 0) {
+            requestIndex.remove(chunk.requestIds[row], itemId);
+        }
+        chunk.names[row] = null;
+        chunk.descriptions[row] = null;
+        chunk.present[row] = false;
+        count.decrementAndGet();
+    }
+
+    private Item read(Chunk chunk, int row, long itemId, boolean hydrateOwner) {
+        if (!chunk.present[row]) {
+            return null;
+        }
+        long ownerId = chunk.ownerIds[row];
+        long requestId = chunk.requestIds[row];
+        return Item.builder()
+                .id(itemId)
+                .name(chunk.names[row])
+                .description(chunk.descriptions[row])
+                .available(chunk.available[row])
+                .owner(hydrateOwner
+                        ? userStorage.getById(ownerId).orElseGet(() -> User.builder().id(ownerId).build())
+                        : User.builder().id(ownerId).build())
+                .request(requestId == 0 ? null : ItemRequest.builder().id(requestId).build())
+                .version(chunk.versions[row])
+                .build();
+    }
+
+    private List<Item> load(List<Long> itemIds) {
+        return itemIds.stream()
+                .map(this::getItemById)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static String[] text(Chunk chunk, int row) {
+        return chunk.present[row] && chunk.available[row]
+                ? new String[]{chunk.names[row], chunk.descriptions[row]}
+                : NO_TEXT;
+    }
+
+    private static String suggestedName(Chunk chunk, int row) {
+        return chunk.present[row] && chunk.available[row] ? chunk.names[row] : null;
+    }
+
+    private Chunk existingChunk(long itemId) {
+        Chunk[] directory = chunks.get();
+        long index = itemId >>> CHUNK_BITS;
+        return itemId <= 0 || index >= directory.length ? null : directory[(int) index];
+    }
+
+    private Chunk chunkFor(long itemId) {
+        Chunk chunk = existingChunk(itemId);
+        if (chunk != null) {
+            return chunk;
+        }
+        synchronized (chunks) {
+            Chunk[] directory = chunks.get();
+            int index = Math.toIntExact(itemId >>> CHUNK_BITS);
+            if (index < directory.length && directory[index] != null) {
+                return directory[index];
+            }
+            Chunk[] grown = Arrays.copyOf(directory, Math.max(directory.length, Integer.highestOneBit(index) << 1));
+            grown[index] = new Chunk();
+            chunks.set(grown);
+            return grown[index];
+        }
+    }
+
+    private static final class Chunk {
+        final String[] names = new String[CHUNK_SIZE];
+        final String[] descriptions = new String[CHUNK_SIZE];
+        final long[] ownerIds = new long[CHUNK_SIZE];
+        final long[] requestIds = new long[CHUNK_SIZE];
+        final long[] versions = new long[CHUNK_SIZE];
+        final boolean[] available = new boolean[CHUNK_SIZE];
+        final boolean[] present = new boolean[CHUNK_SIZE];
+    }
+}
@@ -0,0 +1,115 @@
+package ru.yandex.practicum.shareit.item.dao;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.core.concurrent.LockStripes;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.persistence.PersistenceManager;
+import ru.yandex.practicum.shareit.core.persistence.RecordCodec;
+import ru.yandex.practicum.shareit.item.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+@Primary
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.persistence", name = "enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DurableItemStorage implements ItemDao {
+    ItemStorage delegate;
+    PersistenceManager persistence;
+    LockStripes locks = new LockStripes(64);
+
+    @Override
+    public Item addItem(Item item) {
+        Item record = item.toBuilder().id(delegate.nextId()).version(1).build();
+        return persistence.logThenApply(RecordCodec.itemPut(record), () -> publish(record));
+    }
+
+    @Override
+    public List<Item> addItems(List<Item> items) {
+        List<Item> records = new ArrayList<>(items.size());
+        List<byte[]> payloads = new ArrayList<>(items.size());
+        for (Item item : items) {
+            Item record = item.toBuilder().id(delegate.nextId()).version(1).build();
+            records.add(record);
+            payloads.add(RecordCodec.itemPut(record));
+        }
+        return persistence.logThenApply(payloads, () -> records.stream()
+                .map(this::publish)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Item> searchByOwnerId(Long ownerId, PageParams page) {
+        return delegate.searchByOwnerId(ownerId, page);
+    }
+
+    @Override
+    public List<Item> searchByText(String text, PageParams page) {
+        return delegate.searchByText(text, page);
+    }
+
+    @Override
+    public List<Item> searchByRequestId(Long requestId, PageParams page) {
+        return delegate.searchByRequestId(requestId, page);
+    }
+
+    @Override
+    public List<Item> matchText(String text, int limit) {
+        return delegate.matchText(text, limit);
+    }
+
+    @Override
+    public List<String> suggestNames(String prefix, int limit) {
+        return delegate.suggestNames(prefix, limit);
+    }
+
+    @Override
+    public Item updateItem(long itemId, UnaryOperator<Item> patch) {
+        synchronized (locks.forId(itemId)) {
+            Item current = delegate.getItemById(itemId);
+            if (current == null) {
+                return null;
+            }
+            Item patched = patch.apply(current);
+            Item record = current.toBuilder()
+                    .name(patched.getName())
+                    .description(patched.getDescription())
+                    .available(patched.isAvailable())
+                    .owner(patched.getOwner())
+                    .version(current.getVersion() + 1)
+                    .build();
+            // Rebalancing may hand the item to another node meanwhile. The update is then refused, and a delete is
+            // logged after the put so that replay does not bring the item back either.
+            Item updated = persistence.logThenApply(RecordCodec.itemPut(record),
+                    () -> delegate.updateItem(itemId, unused -> record));
+            if (updated == null) {
+                persistence.append(RecordCodec.itemDelete(itemId)).join();
+            }
+            return updated;
+        }
+    }
+
+    @Override
+    public Item getItemById(long itemId) {
+        return delegate.getItemById(itemId);
+    }
+
+    @Override
+    public List<Item> getItemsByIds(List<Long> itemIds) {
+        return delegate.getItemsByIds(itemIds);
+    }
+
+    private Item publish(Item record) {
+        delegate.restore(record);
+        return delegate.getItemById(record.getId());
+    }
+}
@@ -2,61 +2,115 @@ package ru.yandex.practicum.shareit.item.dao;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.core.concurrent.IdSequence;
+import ru.yandex.practicum.shareit.core.concurrent.LockStripes;
+import ru.yandex.practicum.shareit.core.index.GroupIndex;
+import ru.yandex.practicum.shareit.core.index.PrefixIndex;
+import ru.yandex.practicum.shareit.core.index.SnapshotGroupIndex;
+import ru.yandex.practicum.shareit.core.index.TextIndex;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
 import ru.yandex.practicum.shareit.item.Item;
-import ru.yandex.practicum.shareit.request.ItemRequest;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Repository
-@NoArgsConstructor
-@AllArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
-public class InMemoryItemStorage implements ItemDao {
+@ConditionalOnProperty(prefix = "shareit.items", name = "storage", havingValue = "standard", matchIfMissing = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InMemoryItemStorage implements ItemStorage {
 
-    Long id = 0L;
-    Map<Long, Item> items = new HashMap<>();
+    IdSequence ids = new IdSequence();
+    Map<Long, Item> items = new ConcurrentHashMap<>();
+    TextIndex textIndex = new TextIndex();
+    SnapshotGroupIndex<Item> ownerIndex = new SnapshotGroupIndex<>(Item::getId);
+    GroupIndex requestIndex = new GroupIndex();
+    PrefixIndex nameIndex = new PrefixIndex();
+    LockStripes locks = new LockStripes(64);
 
     @Override
     public Item addItem(Item item) {
-        id = id + 1L;
-        item.setId(id);
-        item.setRequest(new ItemRequest());
-        items.put(item.getId(), item);
-        return item;
+        return insert(item, ids.next());
     }
 
     @Override
-    public List<Item> searchByOwnerId(Long ownerId) {
-        return items.values().stream()
-                .filter(item -> item.getOwner().getId().equals(ownerId))
+    public List<Item> addItems(List<Item> batch) {
+        List<Item> added = new ArrayList<>(batch.size());
+        for (Item item : batch) {
+            added.add(insert(item, ids.next()));
+        }
+        return added;
+    }
+
+    @Override
+    public List<Item> searchByOwnerId(Long ownerId, PageParams page) {
+        return ownerIndex.page(ownerId, page);
+    }
+
+    @Override
+    public List<Item> searchByText(String text, PageParams page) {
+        return textIndex.search(text, page)
+                .stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<Item> searchByText(String text) {
+    public List<Item> searchByRequestId(Long requestId, PageParams page) {
+        return requestIndex.page(requestId, page)
+                .stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
-        return items.values()
+    @Override
+    public List<Item> matchText(String text, int limit) {
+        return textIndex.matchAny(text, limit)
                 .stream()
-                .filter(i -> i.getDescription().toLowerCase().contains(text.toLowerCase()) &&
-                        i.isAvailable() || i.getName().contains(text))
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Item updateItem(Item itemDto) {
+    public List<String> suggestNames(String prefix, int limit) {
+        return nameIndex.complete(prefix, limit);
+    }
 
-        Item item = items.get(itemDto.getId());
+    @Override
+    public Item updateItem(long itemId, UnaryOperator<Item> patch) {
+        synchronized (locks.forId(itemId)) {
+            Item current = items.get(itemId);
+            if (current == null) {
+                return null;
+            }
+            Item itemDto = patch.apply(current);
+            Item item = Item.builder()
+                    .id(current.getId())
+                    .name(itemDto.getName())
+                    .description(itemDto.getDescription())
+                    .available(itemDto.isAvailable())
+                    .owner(itemDto.getOwner())
+                    .request(current.getRequest())
+                    .version(current.getVersion() + 1)
+                    .build();
 
-        item.setName(itemDto.getName());
-        item.setDescription(itemDto.getDescription());
-        item.setAvailable(itemDto.isAvailable());
-        item.setOwner(itemDto.getOwner());
+            items.put(item.getId(), item);
+            indexOwner(current, item);
+            indexText(item);
+            indexName(current, item);
 
-        return item;
+            return item;
+        }
     }
 
     @Override
@@ -64,4 +118,131 @@ public class InMemoryItemStorage implements ItemDao {
 
         return items.get(itemId);
     }
+
+    @Override
+    public List<Item> getItemsByIds(List<Long> itemIds) {
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public long textIndexTermCount() {
+        return textIndex.termCount();
+    }
+
+    @Override
+    public int ownerIndexSize() {
+        return ownerIndex.groupCount();
+    }
+
+    @Override
+    public void restore(Item item) {
+        synchronized (locks.forId(item.getId())) {
+            Item previous = items.put(item.getId(), item);
+            indexOwner(previous, item);
+            indexRequest(item);
+            indexText(item);
+            indexName(previous, item);
+            restoreLastId(item.getId());
+        }
+    }
+
+    @Override
+    public void restoreDeleted(long itemId) {
+        synchronized (locks.forId(itemId)) {
+            Item previous = items.remove(itemId);
+            indexOwner(previous, null);
+            indexName(previous, null);
+            requestIndex.remove(itemId);
+            textIndex.remove(itemId);
+            restoreLastId(itemId);
+        }
+    }
+
+    @Override
+    public void forEachRecord(Consumer<Item> consumer) {
+        items.values().forEach(consumer);
+    }
+
+    @Override
+    public long lastId() {
+        return ids.last();
+    }
+
+    @Override
+    public void restoreLastId(long lastId) {
+        ids.advanceTo(lastId);
+    }
+
+    @Override
+    public void partitionIds(int stride, int offset) {
+        ids.partition(stride, offset);
+    }
+
+    @Override
+    public long nextId() {
+        return ids.next();
+    }
+
+    @Override
+    public boolean removeIfVersion(long itemId, long version) {
+        synchronized (locks.forId(itemId)) {
+            Item current = items.get(itemId);
+            if (current == null || current.getVersion() != version) {
+                return false;
+            }
+            restoreDeleted(itemId);
+            return true;
+        }
+    }
+
+    private Item insert(Item item, long itemId) {
+        item = item.toBuilder().id(itemId).version(1).build();
+        synchronized (locks.forId(itemId)) {
+            items.put(itemId, item);
+            indexOwner(null, item);
+            indexRequest(item);
+            indexText(item);
+            indexName(null, item);
+        }
+        return item;
+    }
+
+    private void indexOwner(Item previous, Item current) {
+        if (previous != null && (current == null || !previous.getOwner().getId().equals(current.getOwner().getId()))) {
+            ownerIndex.remove(previous.getOwner().getId(), previous.getId());
+        }
+        if (current != null) {
+            ownerIndex.put(current.getOwner().getId(), current);
+        }
+    }
+
+    private void indexRequest(Item item) {
+        if (item.getRequest() != null) {
+            requestIndex.put(item.getId(), item.getRequest().getId());
+        }
+    }
+
+    private void indexName(Item previous, Item current) {
+        nameIndex.replace(suggestedName(previous), suggestedName(current));
+    }
+
+    private static String suggestedName(Item item) {
+        return item != null && item.isAvailable() ? item.getName() : null;
+    }
+
+    private void indexText(Item item) {
+        if (item.isAvailable()) {
+            textIndex.index(item.getId(), item.getName(), item.getDescription());
+        } else {
+            textIndex.remove(item.getId());
+        }
+    }
 }
@@ -1,18 +1,34 @@
 package ru.yandex.practicum.shareit.item.dao;
 
+import ru.yandex.practicum.shareit.core.paging.PageParams;
 import ru.yandex.practicum.shareit.item.Item;
 
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 public interface ItemDao {
     Item addItem(Item item);
 
-    List<Item> searchByOwnerId(Long ownerId);
+    List<Item> addItems(List<Item> items);
 
-    List<Item> searchByText(String text);
+    List<Item> searchByOwnerId(Long ownerId, PageParams page);
 
-    Item updateItem(Item item);
+    List<Item> searchByText(String text, PageParams page);
+
+    List<Item> searchByRequestId(Long requestId, PageParams page);
+
+    List<Item> matchText(String text, int limit);
+
+    List<String> suggestNames(String prefix, int limit);
+
+    Item updateItem(long itemId, UnaryOperator<Item> patch);
+
+    default Item updateItem(Item item) {
+        return updateItem(item.getId(), current -> item);
+    }
 
     Item getItemById(long itemId);
 
+    List<Item> getItemsByIds(List<Long> itemIds);
+
 }
@@ -0,0 +1,18 @@
+package ru.yandex.practicum.shareit.item.dao;
+
+import ru.yandex.practicum.shareit.core.persistence.Restorable;
+import ru.yandex.practicum.shareit.item.Item;
+
+public interface ItemStorage extends ItemDao, Restorable<Item> {
+    int size();
+
+    long textIndexTermCount();
+
+    int ownerIndexSize();
+
+    void partitionIds(int stride, int offset);
+
+    long nextId();
+
+    boolean removeIfVersion(long itemId, long version);
+}
@@ -0,0 +1,192 @@
+package ru.yandex.practicum.shareit.item.dao;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.shareit.core.index.PrefixIndex;
+import ru.yandex.practicum.shareit.core.index.TextIndex;
+import ru.yandex.practicum.shareit.core.jdbc.BatchInserts;
+import ru.yandex.practicum.shareit.core.jdbc.KeysetQueries;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+@Primary
+@Repository
+@Profile("jdbc")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JdbcItemStorage implements ItemDao {
+    private static final String SELECT_ITEMS = "SELECT i.id, i.name, i.description, i.available, i.request_id, "
+            + "i.version, i.owner_id, u.name AS owner_name, u.email AS owner_email "
+            + "FROM items i LEFT JOIN users u ON u.id = i.owner_id";
+    private static final String INSERT_ITEM = "INSERT INTO items (name, name_key, description, available, "
+            + "owner_id, request_id, version) VALUES (?, ?, ?, ?, ?, ?, 1)";
+    private static final String TERM_PREFIX = "i.id IN (SELECT t.item_id FROM item_terms t WHERE t.term >= ? "
+            + "AND t.term < ?)";
+    private static final RowMapper<Item> ITEM = (rs, rowNum) -> {
+        Long requestId = rs.getObject("request_id", Long.class);
+        return Item.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .available(rs.getBoolean("available"))
+                .owner(new User(rs.getLong("owner_id"), rs.getString("owner_name"), rs.getString("owner_email")))
+                .request(requestId == null ? null : ItemRequest.builder().id(requestId).build())
+                .version(rs.getLong("version"))
+                .build();
+    };
+
+    JdbcTemplate jdbc;
+    NamedParameterJdbcTemplate namedJdbc;
+    TransactionTemplate transactions;
+
+    @Override
+    public Item addItem(Item item) {
+        return addItems(List.of(item)).get(0);
+    }
+
+    @Override
+    public List<Item> addItems(List<Item> batch) {
+        return transactions.execute(status -> {
+            List<Long> ids = BatchInserts.insertReturningIds(jdbc, INSERT_ITEM, batch, JdbcItemStorage::bind);
+            List<Item> added = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                added.add(batch.get(i).toBuilder().id(ids.get(i)).version(1).build());
+            }
+            insertTerms(added);
+            return added;
+        });
+    }
+
+    @Override
+    public List<Item> searchByOwnerId(Long ownerId, PageParams page) {
+        return KeysetQueries.page(jdbc, SELECT_ITEMS, "i.owner_id = ?", "i.id", page, ITEM, ownerId);
+    }
+
+    @Override
+    public List<Item> searchByText(String text, PageParams page) {
+        List<String> words = new ArrayList<>(TextIndex.terms(text));
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> bounds = new ArrayList<>(words.size() * 2);
+        for (String word : words) {
+            bounds.add(word);
+            bounds.add(word + Character.MAX_VALUE);
+        }
+        String condition = "i.available = TRUE AND "
+                + String.join(" AND ", Collections.nCopies(words.size(), TERM_PREFIX));
+        return KeysetQueries.page(jdbc, SELECT_ITEMS, condition, "i.id", page, ITEM, bounds.toArray());
+    }
+
+    @Override
+    public List<Item> searchByRequestId(Long requestId, PageParams page) {
+        return KeysetQueries.page(jdbc, SELECT_ITEMS, "i.request_id = ?", "i.id", page, ITEM, requestId);
+    }
+
+    @Override
+    public List<Item> matchText(String text, int limit) {
+        Set<String> terms = TextIndex.terms(text);
+        terms.removeIf(term -> term.length() < TextIndex.MIN_MATCH_TERM_LENGTH);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = namedJdbc.queryForList("SELECT t.item_id FROM item_terms t WHERE t.term IN (:terms) "
+                        + "GROUP BY t.item_id ORDER BY COUNT(*) DESC, t.item_id DESC LIMIT :limit",
+                Map.of("terms", terms, "limit", limit), Long.class);
+        return getItemsByIds(ids);
+    }
+
+    @Override
+    public List<String> suggestNames(String prefix, int limit) {
+        String key = PrefixIndex.normalizePrefix(prefix);
+        return jdbc.queryForList("SELECT MIN(name) FROM items WHERE available = TRUE AND name_key >= ? "
+                        + "AND name_key < ? GROUP BY name_key ORDER BY COUNT(*) DESC, name_key LIMIT ?",
+                String.class, key, key + Character.MAX_VALUE, limit);
+    }
+
+    @Override
+    public Item updateItem(long itemId, UnaryOperator<Item> patch) {
+        return transactions.execute(status -> {
+            if (jdbc.queryForList("SELECT id FROM items WHERE id = ? FOR UPDATE", Long.class, itemId).isEmpty()) {
+                return null;
+            }
+            Item item = patch.apply(getItemById(itemId)).withId(itemId);
+            jdbc.update("UPDATE items SET name = ?, name_key = ?, description = ?, available = ?, owner_id = ?, "
+                            + "version = version + 1 WHERE id = ?",
+                    item.getName(), PrefixIndex.normalize(item.getName()), item.getDescription(), item.isAvailable(),
+                    item.getOwner().getId(), item.getId());
+            jdbc.update("DELETE FROM item_terms WHERE item_id = ?", item.getId());
+            insertTerms(List.of(item));
+            return getItemById(item.getId());
+        });
+    }
+
+    @Override
+    public Item getItemById(long itemId) {
+        return jdbc.query(SELECT_ITEMS + " WHERE i.id = ?", ITEM, itemId).stream().findFirst().orElse(null);
+    }
+
+    @Override
+    public List<Item> getItemsByIds(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> found = namedJdbc.query(SELECT_ITEMS + " WHERE i.id IN (:ids)", Map.of("ids", itemIds), ITEM)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void insertTerms(List<Item> items) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Item item : items) {
+            if (item.isAvailable()) {
+                for (String term : TextIndex.terms(item.getName(), item.getDescription())) {
+                    rows.add(new Object[]{term, item.getId()});
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO item_terms (term, item_id) VALUES (?, ?)", rows);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Item item) throws SQLException {
+        statement.setString(1, item.getName());
+        statement.setString(2, PrefixIndex.normalize(item.getName()));
+        statement.setString(3, item.getDescription());
+        statement.setBoolean(4, item.isAvailable());
+        statement.setLong(5, item.getOwner().getId());
+        if (item.getRequest() == null) {
+            statement.setNull(6, Types.BIGINT);
+        } else {
+            statement.setLong(6, item.getRequest().getId());
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package ru.yandex.practicum.shareit.item.dto;
 
 import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.core.web.JsonBytes;
 import ru.yandex.practicum.shareit.item.Item;
 @Component
 public class ItemMapper {
+    private static final int JSON_CAPACITY = 160;
+
     public ItemDto toItemDto(Item item) {
         return new ItemDto(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.isAvailable(),
-                0L
+                item.getRequest() == null ? null : item.getRequest().getId()
         );
     }
 
@@ -20,7 +23,29 @@ public class ItemMapper {
                 dto.getDescription(),
                 dto.getAvailable(),
                 null,
-                null
+                null,
+                0L
         );
     }
+
+    public byte[] toJson(Item item) {
+        return toJson(item.getId(), item.getName(), item.getDescription(), item.isAvailable(),
+                item.getRequest() == null ? null : item.getRequest().getId());
+    }
+
+    public byte[] toJson(ItemDto dto) {
+        return toJson(dto.getId(), dto.getName(), dto.getDescription(), dto.getAvailable(), dto.getRequestId());
+    }
+
+    private static byte[] toJson(Long id, String name, String description, Boolean available, Long requestId) {
+        return new JsonBytes(JSON_CAPACITY)
+                .beginObject()
+                .field("id", id)
+                .field("name", name)
+                .field("description", description)
+                .field("available", available)
+                .field("requestId", requestId)
+                .endObject()
+                .toByteArray();
+    }
 }
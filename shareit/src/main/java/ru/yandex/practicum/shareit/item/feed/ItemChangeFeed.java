@@ -0,0 +1,221 @@
+package ru.yandex.practicum.shareit.item.feed;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.yandex.practicum.shareit.core.web.JsonBytes;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.ItemChangedEvent;
+import ru.yandex.practicum.shareit.item.cache.ItemResponseCache;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemChangeFeed {
+    private static final String ITEM_EVENT = "item";
+    private static final String DROPPED_EVENT = "dropped";
+    private static final int DRAIN_BATCH = 64;
+
+    ItemResponseCache itemResponseCache;
+    long timeoutMillis;
+    long sendTimeoutNanos;
+    int queueSize;
+    List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    ExecutorService senders;
+    ScheduledExecutorService watchdog;
+
+    public ItemChangeFeed(ItemResponseCache itemResponseCache,
+                          @Value("${shareit.items.changes.timeout:10m}") Duration timeout,
+                          @Value("${shareit.items.changes.queue-size:256}") int queueSize,
+                          @Value("${shareit.items.changes.send-timeout:10s}") Duration sendTimeout) {
+        this.itemResponseCache = itemResponseCache;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.queueSize = queueSize;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(runnable ->
+                daemon(runnable, "item-changes-" + threads.incrementAndGet()));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable ->
+                daemon(runnable, "item-changes-watchdog"));
+        long period = Math.max(1, sendTimeout.toMillis() / 2);
+        watchdog.scheduleWithFixedDelay(this::dropStuck, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long ownerId, Collection<Long> itemIds) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(emitter, ownerId, itemIds == null ? null : Set.copyOf(itemIds));
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getItem();
+        byte[] body = null;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.matches(item)) {
+                if (body == null) {
+                    body = itemResponseCache.encoded(item);
+                }
+                subscription.offer(body);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void dropStuck() {
+        long now = System.nanoTime();
+        subscriptions.forEach(subscription -> subscription.dropIfStuck(now));
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private final class Subscription {
+        SseEmitter emitter;
+        Long ownerId;
+        Set<Long> itemIds;
+        ArrayBlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(queueSize);
+        AtomicLong dropped = new AtomicLong();
+        AtomicBoolean scheduled = new AtomicBoolean();
+        @NonFinal
+        Thread sender;
+        @NonFinal
+        long sendingSince;
+        @NonFinal
+        boolean stuck;
+
+        Subscription(SseEmitter emitter, Long ownerId, Set<Long> itemIds) {
+            this.emitter = emitter;
+            this.ownerId = ownerId;
+            this.itemIds = itemIds;
+        }
+
+        boolean matches(Item item) {
+            return (ownerId == null || ownerId.equals(item.getOwner().getId()))
+                    && (itemIds == null || itemIds.contains(item.getId()));
+        }
+
+        void offer(byte[] body) {
+            if (!queue.offer(body)) {
+                dropped.incrementAndGet();
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        void drain() {
+            try {
+                for (int i = 0; i < DRAIN_BATCH; i++) {
+                    long lost = dropped.getAndSet(0);
+                    if (lost > 0) {
+                        send(SseEmitter.event()
+                                .name(DROPPED_EVENT)
+                                .data(new JsonBytes(24).beginObject().field("dropped", lost).endObject()
+                                        .toByteArray(), MediaType.APPLICATION_JSON));
+                    }
+                    byte[] body = queue.poll();
+                    if (body == null) {
+                        break;
+                    }
+                    send(SseEmitter.event().name(ITEM_EVENT).data(body, MediaType.APPLICATION_JSON));
+                }
+            } catch (Exception e) {
+                log.debug("Dropping item change subscriber: {}", e.getMessage());
+                subscriptions.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                clearInterruptIfStuck();
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty() || dropped.get() > 0) {
+                schedule();
+            }
+        }
+
+        void send(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                if (stuck) {
+                    throw new IOException("Subscriber stopped reading");
+                }
+                sender = Thread.currentThread();
+                sendingSince = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                }
+            }
+        }
+
+        synchronized void dropIfStuck(long now) {
+            if (sender != null && !stuck && now - sendingSince > sendTimeoutNanos) {
+                stuck = true;
+                subscriptions.remove(this);
+                sender.interrupt();
+            }
+        }
+
+        synchronized void clearInterruptIfStuck() {
+            if (stuck) {
+                Thread.interrupted();
+            }
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package ru.yandex.practicum.shareit.item.service;
 
 import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.web.EncodedJsonArray;
+import ru.yandex.practicum.shareit.item.cache.CachedItemResponse;
 import ru.yandex.practicum.shareit.item.dto.ItemDto;
 
 import java.util.List;
 
 @Component
 public interface ItemService {
-    List<ItemDto> searchByOwnerId(Long userId);
+    List<ItemDto> searchByOwnerId(Long userId, PageParams page);
 
-    List<ItemDto> searchByText(String text);
+    EncodedJsonArray getOwnerItemsResponse(Long userId, PageParams page);
+
+    List<ItemDto> searchByText(String text, PageParams page);
+
+    EncodedJsonArray searchResponse(String text, PageParams page);
+
+    List<String> suggestNames(String prefix, int size);
 
     ItemDto getItemById(long id, Long userId);
 
+    CachedItemResponse getItemResponse(long id, Long userId);
+
+    List<ItemDto> getItemsByIds(List<Long> ids);
+
     ItemDto createItem(Long userId, ItemDto dto);
 
+    List<BatchResult<ItemDto>> createItems(Long userId, List<ItemDto> dtos);
+
     ItemDto updateItem(long id, Long userId, ItemDto dto);
 
 }
@@ -3,16 +3,26 @@ package ru.yandex.practicum.shareit.item.service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
 import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
 import ru.yandex.practicum.shareit.core.exception.NotFoundException;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.web.EncodedJsonArray;
 import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.ItemChangedEvent;
+import ru.yandex.practicum.shareit.item.cache.CachedItemResponse;
+import ru.yandex.practicum.shareit.item.cache.ItemResponseCache;
 import ru.yandex.practicum.shareit.item.dto.ItemMapper;
 import ru.yandex.practicum.shareit.item.dao.ItemDao;
 import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.request.dao.ItemRequestDao;
 import ru.yandex.practicum.shareit.user.User;
 import ru.yandex.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -22,37 +32,67 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class ItemServiceImpl implements ItemService {
+    private static final FieldValidationException EMPTY_USER_ID =
+            new FieldValidationException("userId", "empty");
+    private static final FieldValidationException EMPTY_ITEM =
+            new FieldValidationException("item", "empty");
+    private static final FieldValidationException EMPTY_DESCRIPTION =
+            new FieldValidationException("description", "empty");
+    private static final FieldValidationException EMPTY_AVAILABLE =
+            new FieldValidationException("available", "empty");
+    private static final FieldValidationException BLANK_NAME =
+            new FieldValidationException("name", "blank");
 
     ItemDao itemDao;
     UserService userService;
+    ItemRequestDao itemRequestDao;
     ItemMapper itemMapper;
+    ItemResponseCache itemResponseCache;
+    ApplicationEventPublisher eventPublisher;
 
     @Override
-    public List<ItemDto> searchByOwnerId(Long userId) {
-        return itemDao.searchByOwnerId(userId)
+    public List<ItemDto> searchByOwnerId(Long userId, PageParams page) {
+        return itemDao.searchByOwnerId(userId, page)
                 .stream()
-                .map(item -> {
-                    ItemDto itemDto = itemMapper.toItemDto(item);
-                    return itemDto;
-                })
+                .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> searchByText(String text) {
-        if (text.isBlank()) {
+    public EncodedJsonArray getOwnerItemsResponse(Long userId, PageParams page) {
+        return EncodedJsonArray.of(itemDao.searchByOwnerId(userId, page), itemResponseCache::encoded);
+    }
+
+    @Override
+    public List<ItemDto> searchByText(String text, PageParams page) {
+        if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
 
-        List<Item> items = itemDao
-                .searchByText(text);
-        System.out.println(items);
-        return items.stream()
+        return itemDao.searchByText(text, page)
+                .stream()
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
 
     }
 
+    @Override
+    public EncodedJsonArray searchResponse(String text, PageParams page) {
+        if (text == null || text.isBlank()) {
+            return new EncodedJsonArray(Collections.emptyList());
+        }
+
+        return EncodedJsonArray.of(itemDao.searchByText(text, page), itemResponseCache::encoded);
+    }
+
+    @Override
+    public List<String> suggestNames(String prefix, int size) {
+        if (prefix == null) {
+            return Collections.emptyList();
+        }
+        return itemDao.suggestNames(prefix, size);
+    }
+
     @Override
     public ItemDto getItemById(long id, Long userId) {
 
@@ -61,57 +101,120 @@ public class ItemServiceImpl implements ItemService {
         return itemMapper.toItemDto(item);
     }
 
+    @Override
+    public CachedItemResponse getItemResponse(long id, Long userId) {
+        return itemResponseCache.get(id, itemId -> Optional.ofNullable(itemDao.getItemById(itemId))
+                .orElseThrow(() -> new NotFoundException("item", itemId)));
+    }
+
+    @Override
+    public List<ItemDto> getItemsByIds(List<Long> ids) {
+        return itemDao.getItemsByIds(ids)
+                .stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public ItemDto createItem(Long userId, ItemDto dto) {
 
         Optional.ofNullable(userId).orElseThrow(
-                () -> new FieldValidationException("userId", "empty"));
+                () -> EMPTY_USER_ID);
 
-        if (userService.getAll().stream().noneMatch(u -> u.getId().equals(userId))) {
-            throw new NotFoundException("userId", userId);
-        }
+        User owner = userService.getById(userId);
 
-        Optional.ofNullable(dto.getDescription())
-                .orElseThrow(
-                        () -> new FieldValidationException("description", "empty"));
+        validateNew(dto);
+        Item item = itemMapper.toItem(dto)
+                .withOwner(owner)
+                .withRequest(findRequest(dto));
 
-        Optional.ofNullable(dto.getAvailable())
-                .orElseThrow(
-                        () -> new FieldValidationException("available", "empty"));
+        Item added = itemDao.addItem(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(added));
+        return itemMapper.toItemDto(added);
+    }
 
-        if (dto.getName().isBlank()) {
-            throw new FieldValidationException("name", "blank");
+    @Override
+    public List<BatchResult<ItemDto>> createItems(Long userId, List<ItemDto> dtos) {
+
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        User owner = userService.getById(userId);
+
+        List<BatchResult<ItemDto>> results = new ArrayList<>(Collections.nCopies(dtos.size(), null));
+        List<Integer> positions = new ArrayList<>(dtos.size());
+        List<Item> items = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            ItemRequest request;
+            try {
+                validateNew(dtos.get(i));
+                request = findRequest(dtos.get(i));
+            } catch (FieldValidationException | NotFoundException e) {
+                results.set(i, BatchResult.failed(i, e));
+                continue;
+            }
+            positions.add(i);
+            items.add(itemMapper.toItem(dtos.get(i)).withOwner(owner).withRequest(request));
         }
-        Item item = itemMapper.toItem(dto);
-        item.setOwner(userService.getById(userId));
 
-        return itemMapper.toItemDto(itemDao.addItem(item));
+        List<Item> added = itemDao.addItems(items);
+        for (int i = 0; i < added.size(); i++) {
+            eventPublisher.publishEvent(new ItemChangedEvent(added.get(i)));
+            results.set(positions.get(i), BatchResult.created(positions.get(i), itemMapper.toItemDto(added.get(i))));
+        }
+        return results;
     }
 
     @Override
     public ItemDto updateItem(long id, Long userId, ItemDto dto) {
-        User user = userService.getById(userId);
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        if (!userService.existsById(userId)) {
+            throw new NotFoundException("user", userId);
+        }
 
         Item item = Optional.ofNullable(itemDao.getItemById(id))
                 .orElseThrow(() -> new NotFoundException("item", id));
 
-        if (!user.getId().equals(item.getOwner().getId())) {
+        if (!userId.equals(item.getOwner().getId())) {
             throw new NotFoundException("owner", userId);
         }
 
-        if (dto.getName() != null) {
-            item.setName(dto.getName());
-        }
+        Item updated = Optional.ofNullable(itemDao.updateItem(id, current -> current.toBuilder()
+                        .name(dto.getName() != null ? dto.getName() : current.getName())
+                        .description(dto.getDescription() != null ? dto.getDescription() : current.getDescription())
+                        .available(dto.getAvailable() != null ? dto.getAvailable() : current.isAvailable())
+                        .build()))
+                .orElseThrow(() -> new NotFoundException("item", id));
+        eventPublisher.publishEvent(new ItemChangedEvent(updated));
+        return itemMapper.toItemDto(updated);
+    }
 
-        if (dto.getDescription() != null) {
-            item.setDescription(dto.getDescription());
+    private ItemRequest findRequest(ItemDto dto) {
+        Long requestId = dto.getRequestId();
+        if (requestId == null) {
+            return null;
         }
+        return itemRequestDao.getById(requestId)
+                .orElseThrow(() -> new NotFoundException("request", requestId));
+    }
 
-        if (dto.getAvailable() != null) {
-            item.setAvailable(dto.getAvailable());
-        }
+    private void validateNew(ItemDto dto) {
+        Optional.ofNullable(dto)
+                .orElseThrow(
+                        () -> EMPTY_ITEM);
 
-        return itemMapper.toItemDto(itemDao.updateItem(item));
-    }
+        Optional.ofNullable(dto.getDescription())
+                .orElseThrow(
+                        () -> EMPTY_DESCRIPTION);
+
+        Optional.ofNullable(dto.getAvailable())
+                .orElseThrow(
+                        () -> EMPTY_AVAILABLE);
 
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            throw BLANK_NAME;
+        }
+    }
 }
@@ -0,0 +1,261 @@
+package ru.yandex.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.cluster.ClusterClient;
+import ru.yandex.practicum.shareit.core.cluster.ClusterMembership;
+import ru.yandex.practicum.shareit.core.index.PrefixIndex;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.web.EncodedJsonArray;
+import ru.yandex.practicum.shareit.item.cache.CachedItemResponse;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Primary
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.cluster", name = "enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ShardedItemService implements ItemService {
+    private static final TypeReference<List<ItemDto>> ITEMS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<String>> NAMES = new TypeReference<>() {
+    };
+
+    ItemServiceImpl local;
+    ClusterMembership membership;
+    ClusterClient client;
+    ItemMapper itemMapper;
+
+    @Override
+    public List<ItemDto> searchByOwnerId(Long userId, PageParams page) {
+        return local.searchByOwnerId(userId, page);
+    }
+
+    @Override
+    public EncodedJsonArray getOwnerItemsResponse(Long userId, PageParams page) {
+        return local.getOwnerItemsResponse(userId, page);
+    }
+
+    @Override
+    public List<ItemDto> searchByText(String text, PageParams page) {
+        List<ShardCursor> cursors = membership.nodes()
+                .stream()
+                .map(node -> new ShardCursor(searchOn(node, text), page.getAfter()))
+                .collect(Collectors.toList());
+        int first = remaining(page.getFrom(), page.getSize(), 0);
+        cursors.forEach(cursor -> cursor.request(first));
+        PriorityQueue<ShardCursor> heads = new PriorityQueue<>(Comparator.comparing(cursor -> cursor.head().getId()));
+        for (ShardCursor cursor : cursors) {
+            if (cursor.await()) {
+                heads.add(cursor);
+            }
+        }
+
+        List<ItemDto> result = new ArrayList<>(page.getSize());
+        int skip = page.getFrom();
+        Long last = null;
+        while (!heads.isEmpty() && result.size() < page.getSize()) {
+            ShardCursor cursor = heads.poll();
+            ItemDto item = cursor.next();
+            if (!item.getId().equals(last)) {
+                last = item.getId();
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    result.add(item);
+                }
+            }
+            int remaining = remaining(skip, page.getSize(), result.size());
+            if (cursor.isDrained() && remaining > 0) {
+                cursor.request(remaining);
+            }
+            if (cursor.await()) {
+                heads.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public EncodedJsonArray searchResponse(String text, PageParams page) {
+        return EncodedJsonArray.of(searchByText(text, page), itemMapper::toJson);
+    }
+
+    @Override
+    public List<String> suggestNames(String prefix, int size) {
+        if (prefix == null) {
+            return List.of();
+        }
+        List<List<String>> ranked = gather(node -> node.equals(membership.self())
+                ? CompletableFuture.completedFuture(local.suggestNames(prefix, size))
+                : client.get(node, "/cluster/items/suggest", Map.of("prefix", prefix, "size", size), NAMES),
+                List.of());
+        Set<String> seen = new HashSet<>();
+        List<String> merged = new ArrayList<>(size);
+        for (int rank = 0; merged.size() < size; rank++) {
+            boolean any = false;
+            for (List<String> names : ranked) {
+                if (rank < names.size()) {
+                    any = true;
+                    if (merged.size() < size && seen.add(PrefixIndex.normalize(names.get(rank)))) {
+                        merged.add(names.get(rank));
+                    }
+                }
+            }
+            if (!any) {
+                break;
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public ItemDto getItemById(long id, Long userId) {
+        return local.getItemById(id, userId);
+    }
+
+    @Override
+    public CachedItemResponse getItemResponse(long id, Long userId) {
+        return local.getItemResponse(id, userId);
+    }
+
+    @Override
+    public List<ItemDto> getItemsByIds(List<Long> ids) {
+        Map<Long, ItemDto> found = new HashMap<>();
+        local.getItemsByIds(ids).forEach(item -> found.put(item.getId(), item));
+        List<Long> missing = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            String joined = missing.stream().map(String::valueOf).collect(Collectors.joining(","));
+            gather(node -> node.equals(membership.self())
+                    ? CompletableFuture.completedFuture(List.<ItemDto>of())
+                    : client.get(node, "/cluster/items", Map.of("ids", joined), ITEMS), List.<ItemDto>of())
+                    .forEach(items -> items.forEach(item -> found.putIfAbsent(item.getId(), item)));
+        }
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ItemDto createItem(Long userId, ItemDto dto) {
+        return local.createItem(userId, dto);
+    }
+
+    @Override
+    public List<BatchResult<ItemDto>> createItems(Long userId, List<ItemDto> dtos) {
+        return local.createItems(userId, dtos);
+    }
+
+    @Override
+    public ItemDto updateItem(long id, Long userId, ItemDto dto) {
+        return local.updateItem(id, userId, dto);
+    }
+
+    private Function<PageParams, CompletableFuture<List<ItemDto>>> searchOn(String node, String text) {
+        if (node.equals(membership.self())) {
+            return page -> CompletableFuture.completedFuture(local.searchByText(text, page));
+        }
+        return page -> {
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("text", text == null ? "" : text);
+            params.put("size", page.getSize());
+            params.put("after", page.getAfter());
+            return orEmpty(node, client.get(node, "/cluster/items/search", params, ITEMS), List.of());
+        };
+    }
+
+    private <T> List<T> gather(Function<String, CompletableFuture<T>> call, T fallback) {
+        List<CompletableFuture<T>> futures = membership.nodes()
+                .stream()
+                .map(node -> orEmpty(node, call.apply(node), fallback))
+                .collect(Collectors.toList());
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    private static <T> CompletableFuture<T> orEmpty(String node, CompletableFuture<T> call, T fallback) {
+        return call.exceptionally(e -> {
+            log.warn("Shard {} did not answer, skipping its results: {}", node, e.getMessage());
+            return fallback;
+        });
+    }
+
+    private static int remaining(int skip, int size, int collected) {
+        return (int) Math.min(PageParams.MAX_SIZE, (long) skip + size - collected);
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static final class ShardCursor {
+        final Function<PageParams, CompletableFuture<List<ItemDto>>> fetch;
+        final Deque<ItemDto> buffer = new ArrayDeque<>();
+        Long after;
+        boolean exhausted;
+        int requested;
+        CompletableFuture<List<ItemDto>> pending;
+
+        ShardCursor(Function<PageParams, CompletableFuture<List<ItemDto>>> fetch, Long after) {
+            this.fetch = fetch;
+            this.after = after;
+        }
+
+        void request(int size) {
+            requested = size;
+            pending = fetch.apply(after == null ? PageParams.offset(0, size) : PageParams.after(after, size));
+        }
+
+        boolean await() {
+            if (pending != null) {
+                List<ItemDto> page = pending.join();
+                pending = null;
+                buffer.addAll(page);
+                exhausted = page.size() < requested;
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getId();
+                }
+            }
+            return !buffer.isEmpty();
+        }
+
+        ItemDto head() {
+            return buffer.peekFirst();
+        }
+
+        ItemDto next() {
+            return buffer.pollFirst();
+        }
+
+        boolean isDrained() {
+            return buffer.isEmpty() && !exhausted;
+        }
+    }
+}
@@ -19,7 +19,7 @@ public class ItemRequest {
 
     String description;
 
-    LocalDateTime requestor;
+    User requestor;
 
-    User user;
+    LocalDateTime created;
 }
\ No newline at end of file
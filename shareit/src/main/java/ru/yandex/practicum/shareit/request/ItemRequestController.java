@@ -0,0 +1,66 @@
+package ru.yandex.practicum.shareit.request;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.request.dto.ItemRequestDto;
+import ru.yandex.practicum.shareit.request.service.ItemRequestService;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@Validated
+@RequestMapping("/requests")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemRequestController {
+    private final static String USER_ID_HEADER = "X-Sharer-User-Id";
+    ItemRequestService itemRequestService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ItemRequestDto create(@RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+                                 @NonNull @RequestBody ItemRequestDto dto) {
+        return itemRequestService.create(userId, dto);
+    }
+
+    @GetMapping
+    public List<ItemRequestDto> getOwn(
+            @RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @Max(PageParams.MAX_SIZE) @RequestParam(defaultValue = PageParams.DEFAULT_SIZE) int size,
+            @PositiveOrZero @RequestParam(required = false) Long after) {
+        return itemRequestService.getOwn(userId, PageParams.of(from, size, after));
+    }
+
+    @GetMapping("/all")
+    public List<ItemRequestDto> getOthers(
+            @RequestHeader(required = false, name = USER_ID_HEADER) Long userId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @Max(PageParams.MAX_SIZE) @RequestParam(defaultValue = PageParams.DEFAULT_SIZE) int size,
+            @PositiveOrZero @RequestParam(required = false) Long after) {
+        return itemRequestService.getOthers(userId, PageParams.of(from, size, after));
+    }
+
+    @GetMapping("/{id}")
+    public ItemRequestDto getById(@PositiveOrZero @PathVariable long id,
+                                  @RequestHeader(required = false, name = USER_ID_HEADER) Long userId) {
+        return itemRequestService.getById(id, userId);
+    }
+}
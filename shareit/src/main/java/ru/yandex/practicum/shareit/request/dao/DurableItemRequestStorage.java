@@ -0,0 +1,64 @@
+package ru.yandex.practicum.shareit.request.dao;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.persistence.PersistenceManager;
+import ru.yandex.practicum.shareit.core.persistence.RecordCodec;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Primary
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.persistence", name = "enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DurableItemRequestStorage implements ItemRequestDao {
+    InMemoryItemRequestStorage delegate;
+    PersistenceManager persistence;
+
+    @Override
+    public ItemRequest add(ItemRequest request) {
+        ItemRequest added = delegate.add(request);
+        persistence.append(RecordCodec.requestPut(added)).join();
+        return added;
+    }
+
+    @Override
+    public Optional<ItemRequest> getById(long id) {
+        return delegate.getById(id);
+    }
+
+    @Override
+    public List<ItemRequest> findByRequestorId(long requestorId, PageParams page) {
+        return delegate.findByRequestorId(requestorId, page);
+    }
+
+    @Override
+    public List<ItemRequest> findAllExceptRequestor(long requestorId, PageParams page) {
+        return delegate.findAllExceptRequestor(requestorId, page);
+    }
+
+    @Override
+    public List<ItemRequest> matchText(String text, int limit) {
+        return delegate.matchText(text, limit);
+    }
+
+    @Override
+    public void addSuggestions(long requestId, Collection<Long> itemIds) {
+        delegate.addSuggestions(requestId, itemIds);
+    }
+
+    @Override
+    public List<Long> getSuggestedItemIds(long requestId, Function<ItemRequest, Collection<Long>> seed) {
+        return delegate.getSuggestedItemIds(requestId, seed);
+    }
+}
@@ -0,0 +1,152 @@
+package ru.yandex.practicum.shareit.request.dao;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.core.index.GroupIndex;
+import ru.yandex.practicum.shareit.core.index.TextIndex;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.paging.Pages;
+import ru.yandex.practicum.shareit.core.persistence.Restorable;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Repository
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InMemoryItemRequestStorage implements ItemRequestDao, Restorable<ItemRequest> {
+    public static final int MAX_SUGGESTIONS = 20;
+
+    AtomicLong id = new AtomicLong();
+    ConcurrentNavigableMap<Long, ItemRequest> requests = new ConcurrentSkipListMap<>();
+    GroupIndex requestorIndex = new GroupIndex();
+    TextIndex textIndex = new TextIndex();
+    Map<Long, NavigableSet<Long>> suggestionsByRequest = new ConcurrentHashMap<>();
+
+    @Override
+    public ItemRequest add(ItemRequest request) {
+        request.setId(id.incrementAndGet());
+        put(request);
+        return request;
+    }
+
+    @Override
+    public Optional<ItemRequest> getById(long requestId) {
+        return Optional.ofNullable(requests.get(requestId));
+    }
+
+    @Override
+    public List<ItemRequest> findByRequestorId(long requestorId, PageParams page) {
+        return requestorIndex.page(requestorId, page)
+                .stream()
+                .map(requests::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemRequest> findAllExceptRequestor(long requestorId, PageParams page) {
+        Collection<ItemRequest> source = page.isKeyset()
+                ? requests.tailMap(page.getAfter(), false).values()
+                : requests.values();
+        return Pages.slice(source.stream()
+                .filter(request -> request.getRequestor().getId() != requestorId)
+                .iterator(), page);
+    }
+
+    @Override
+    public List<ItemRequest> matchText(String text, int limit) {
+        return textIndex.matchAny(text, limit)
+                .stream()
+                .map(requests::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void addSuggestions(long requestId, Collection<Long> itemIds) {
+        suggestionsByRequest.computeIfPresent(requestId, (key, ids) -> {
+            ids.addAll(itemIds);
+            trim(ids);
+            return ids;
+        });
+    }
+
+    @Override
+    public List<Long> getSuggestedItemIds(long requestId, Function<ItemRequest, Collection<Long>> seed) {
+        ItemRequest request = requests.get(requestId);
+        if (request == null) {
+            return List.of();
+        }
+        NavigableSet<Long> ids = suggestionsByRequest.computeIfAbsent(requestId, key -> {
+            NavigableSet<Long> seeded = new ConcurrentSkipListSet<>(seed.apply(request));
+            trim(seeded);
+            return seeded;
+        });
+        return new ArrayList<>(ids.descendingSet());
+    }
+
+    public int size() {
+        return requests.size();
+    }
+
+    public long textIndexTermCount() {
+        return textIndex.termCount();
+    }
+
+    @Override
+    public void restore(ItemRequest request) {
+        put(request);
+        restoreLastId(request.getId());
+    }
+
+    @Override
+    public void restoreDeleted(long requestId) {
+        requests.remove(requestId);
+        requestorIndex.remove(requestId);
+        textIndex.remove(requestId);
+        suggestionsByRequest.remove(requestId);
+        restoreLastId(requestId);
+    }
+
+    @Override
+    public void forEachRecord(Consumer<ItemRequest> consumer) {
+        requests.values().forEach(consumer);
+    }
+
+    @Override
+    public long lastId() {
+        return id.get();
+    }
+
+    @Override
+    public void restoreLastId(long lastId) {
+        id.accumulateAndGet(lastId, Math::max);
+    }
+
+    private void put(ItemRequest request) {
+        requests.put(request.getId(), request);
+        requestorIndex.put(request.getId(), request.getRequestor().getId());
+        textIndex.index(request.getId(), request.getDescription());
+    }
+
+    private static void trim(NavigableSet<Long> ids) {
+        while (ids.size() > MAX_SUGGESTIONS) {
+            ids.pollFirst();
+        }
+    }
+}
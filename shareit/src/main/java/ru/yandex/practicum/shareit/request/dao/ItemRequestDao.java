@@ -0,0 +1,25 @@
+package ru.yandex.practicum.shareit.request.dao;
+
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+public interface ItemRequestDao {
+    ItemRequest add(ItemRequest request);
+
+    Optional<ItemRequest> getById(long id);
+
+    List<ItemRequest> findByRequestorId(long requestorId, PageParams page);
+
+    List<ItemRequest> findAllExceptRequestor(long requestorId, PageParams page);
+
+    List<ItemRequest> matchText(String text, int limit);
+
+    void addSuggestions(long requestId, Collection<Long> itemIds);
+
+    List<Long> getSuggestedItemIds(long requestId, Function<ItemRequest, Collection<Long>> seed);
+}
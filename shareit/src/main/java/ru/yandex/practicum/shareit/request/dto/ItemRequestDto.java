@@ -0,0 +1,26 @@
+package ru.yandex.practicum.shareit.request.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemRequestDto {
+    @PositiveOrZero Long id;
+    @NotBlank String description;
+    LocalDateTime created;
+    List<ItemDto> items;
+    List<ItemDto> suggestions;
+}
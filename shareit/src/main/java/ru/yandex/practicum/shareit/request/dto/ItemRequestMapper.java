@@ -0,0 +1,28 @@
+package ru.yandex.practicum.shareit.request.dto;
+
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+
+import java.util.List;
+
+@Component
+public class ItemRequestMapper {
+    public ItemRequestDto toItemRequestDto(ItemRequest request, List<ItemDto> items, List<ItemDto> suggestions) {
+        return new ItemRequestDto(
+                request.getId(),
+                request.getDescription(),
+                request.getCreated(),
+                items,
+                suggestions
+        );
+    }
+
+    public ItemRequest toItemRequest(ItemRequestDto dto) {
+        return new ItemRequest(null,
+                dto.getDescription(),
+                null,
+                null
+        );
+    }
+}
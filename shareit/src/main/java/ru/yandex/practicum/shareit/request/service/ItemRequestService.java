@@ -0,0 +1,20 @@
+package ru.yandex.practicum.shareit.request.service;
+
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+@Component
+public interface ItemRequestService {
+
+    ItemRequestDto create(Long userId, ItemRequestDto dto);
+
+    List<ItemRequestDto> getOwn(Long userId, PageParams page);
+
+    List<ItemRequestDto> getOthers(Long userId, PageParams page);
+
+    ItemRequestDto getById(long id, Long userId);
+
+}
@@ -0,0 +1,151 @@
+package ru.yandex.practicum.shareit.request.service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
+import ru.yandex.practicum.shareit.core.exception.NotFoundException;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.ItemChangedEvent;
+import ru.yandex.practicum.shareit.item.dao.ItemDao;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.request.dao.InMemoryItemRequestStorage;
+import ru.yandex.practicum.shareit.request.dao.ItemRequestDao;
+import ru.yandex.practicum.shareit.request.dto.ItemRequestDto;
+import ru.yandex.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final FieldValidationException EMPTY_USER_ID =
+            new FieldValidationException("userId", "empty");
+    private static final FieldValidationException EMPTY_REQUEST =
+            new FieldValidationException("request", "empty");
+    private static final FieldValidationException BLANK_DESCRIPTION =
+            new FieldValidationException("description", "blank");
+    private static final int FAN_OUT_LIMIT = 100;
+    private static final PageParams ANSWERS = PageParams.offset(0, PageParams.MAX_SIZE);
+
+    ItemRequestDao itemRequestDao;
+    ItemDao itemDao;
+    UserService userService;
+    ItemRequestMapper itemRequestMapper;
+    ItemMapper itemMapper;
+
+    @Override
+    public ItemRequestDto create(Long userId, ItemRequestDto dto) {
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        User requestor = userService.getById(userId);
+
+        Optional.ofNullable(dto).orElseThrow(
+                () -> EMPTY_REQUEST);
+        if (dto.getDescription() == null || dto.getDescription().isBlank()) {
+            throw BLANK_DESCRIPTION;
+        }
+
+        ItemRequest request = itemRequestMapper.toItemRequest(dto);
+        request.setRequestor(requestor);
+        request.setCreated(LocalDateTime.now());
+
+        return toDto(itemRequestDao.add(request), true);
+    }
+
+    @Override
+    public List<ItemRequestDto> getOwn(Long userId, PageParams page) {
+        requireUser(userId);
+        return itemRequestDao.findByRequestorId(userId, page)
+                .stream()
+                .map(request -> toDto(request, true))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemRequestDto> getOthers(Long userId, PageParams page) {
+        requireUser(userId);
+        return itemRequestDao.findAllExceptRequestor(userId, page)
+                .stream()
+                .map(request -> toDto(request, false))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ItemRequestDto getById(long id, Long userId) {
+        requireUser(userId);
+        ItemRequest request = itemRequestDao.getById(id)
+                .orElseThrow(() -> new NotFoundException("request", id));
+        return toDto(request, request.getRequestor().getId().equals(userId));
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getItem();
+        if (!item.isAvailable()) {
+            return;
+        }
+        List<Long> itemIds = List.of(item.getId());
+        for (ItemRequest request : itemRequestDao.matchText(item.getName() + " " + item.getDescription(),
+                FAN_OUT_LIMIT)) {
+            if (!isOwnItem(request, item)) {
+                itemRequestDao.addSuggestions(request.getId(), itemIds);
+            }
+        }
+    }
+
+    private void requireUser(Long userId) {
+        Optional.ofNullable(userId).orElseThrow(
+                () -> EMPTY_USER_ID);
+
+        if (!userService.existsById(userId)) {
+            throw new NotFoundException("user", userId);
+        }
+    }
+
+    private ItemRequestDto toDto(ItemRequest request, boolean withSuggestions) {
+        List<ItemDto> items = itemDao.searchByRequestId(request.getId(), ANSWERS)
+                .stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+        return itemRequestMapper.toItemRequestDto(request, items, withSuggestions ? suggestions(request) : null);
+    }
+
+    private List<ItemDto> suggestions(ItemRequest request) {
+        List<Long> ids = itemRequestDao.getSuggestedItemIds(request.getId(), this::seed);
+        return itemDao.getItemsByIds(ids)
+                .stream()
+                .filter(item -> item.isAvailable() && !isOwnItem(request, item) && !isAnswer(request, item))
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    private Collection<Long> seed(ItemRequest request) {
+        return itemDao.matchText(request.getDescription(), InMemoryItemRequestStorage.MAX_SUGGESTIONS)
+                .stream()
+                .filter(item -> !isOwnItem(request, item))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isAnswer(ItemRequest request, Item item) {
+        return item.getRequest() != null && request.getId().equals(item.getRequest().getId());
+    }
+
+    private static boolean isOwnItem(ItemRequest request, Item item) {
+        return request.getRequestor().getId().equals(item.getOwner().getId());
+    }
+}
@@ -4,18 +4,15 @@ import lombok.*;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.PositiveOrZero;
 
-@Getter
-@Setter
-@ToString
-@EqualsAndHashCode
-@Builder
-@NoArgsConstructor
+@Value
+@With
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class User {
 
-    @PositiveOrZero private Long id;
+    @PositiveOrZero Long id;
 
-    @NotEmpty private String name;
+    @NotEmpty String name;
 
-    private String email;
-}
\ No newline at end of file
+    String email;
+}
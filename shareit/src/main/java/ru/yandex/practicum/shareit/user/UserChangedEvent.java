@@ -0,0 +1,9 @@
+package ru.yandex.practicum.shareit.user;
+
+import lombok.Value;
+
+@Value
+public class UserChangedEvent {
+    User user;
+    boolean deleted;
+}
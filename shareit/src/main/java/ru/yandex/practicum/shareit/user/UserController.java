@@ -5,6 +5,7 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,12 +14,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.ratelimit.RateLimited;
+import ru.yandex.practicum.shareit.core.web.EncodedJsonArray;
+import ru.yandex.practicum.shareit.core.web.NdjsonExporter;
 import ru.yandex.practicum.shareit.user.dto.UserDto;
 import ru.yandex.practicum.shareit.user.service.UserService;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.List;
 
 @RestController
@@ -28,10 +39,20 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserController {
     UserService userService;
+    NdjsonExporter ndjsonExporter;
 
     @GetMapping
-    public List<User> getAll() {
-        return userService.getAll();
+    public EncodedJsonArray getAll(
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @Max(PageParams.MAX_SIZE) @RequestParam(defaultValue = PageParams.DEFAULT_SIZE) int size,
+            @PositiveOrZero @RequestParam(required = false) Long after) {
+        return userService.getAllResponse(PageParams.of(from, size, after));
+    }
+
+    @GetMapping(produces = NdjsonExporter.MEDIA_TYPE)
+    @RateLimited("export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ndjsonExporter.export(userService::getAll, User::getId);
     }
 
     @GetMapping("/{id}")
@@ -45,6 +66,12 @@ public class UserController {
         return userService.create(dto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<User>> createBatch(
+            @NonNull @Size(max = BatchResult.MAX_SIZE) @RequestBody List<UserDto> dtos) {
+        return userService.createAll(dtos);
+    }
+
     @PatchMapping("/{id}")
     public User update(@PositiveOrZero @PathVariable long id, @NonNull @RequestBody UserDto dto) {
         return userService.update(id, dto);
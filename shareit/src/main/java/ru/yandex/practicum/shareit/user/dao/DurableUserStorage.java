@@ -0,0 +1,100 @@
+package ru.yandex.practicum.shareit.user.dao;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.exception.DuplicatedEmailException;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.persistence.PersistenceManager;
+import ru.yandex.practicum.shareit.core.persistence.RecordCodec;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Primary
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.persistence", name = "enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DurableUserStorage implements UserDao {
+    InMemoryUserStorage delegate;
+    PersistenceManager persistence;
+
+    @Override
+    public List<User> findAll(PageParams page) {
+        return delegate.findAll(page);
+    }
+
+    @Override
+    public Optional<User> getById(Long id) {
+        return delegate.getById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public User save(User user) {
+        return delegate.write(user, claimed -> log(delegate.claim(claimed)));
+    }
+
+    @Override
+    public List<BatchResult<User>> insertAll(List<User> users) {
+        List<BatchResult<User>> results = new ArrayList<>(users.size());
+        List<User> claimed = new ArrayList<>(users.size());
+        List<byte[]> payloads = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                User user = delegate.claim(users.get(i).withId(delegate.nextId()));
+                claimed.add(user);
+                payloads.add(RecordCodec.userPut(user));
+                results.add(BatchResult.created(i, user));
+            } catch (DuplicatedEmailException e) {
+                results.add(BatchResult.failed(i, e));
+            }
+        }
+        try {
+            return persistence.logThenApply(payloads, () -> {
+                claimed.forEach(delegate::commit);
+                return results;
+            });
+        } catch (RuntimeException e) {
+            claimed.forEach(delegate::release);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean getByEmail(String email) {
+        return delegate.getByEmail(email);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        synchronized (delegate.lockFor(id)) {
+            if (delegate.existsById(id)) {
+                persistence.logThenApply(RecordCodec.userDelete(id), () -> {
+                    delegate.deleteById(id);
+                    return id;
+                });
+            }
+        }
+    }
+
+    private User log(User claimed) {
+        try {
+            return persistence.logThenApply(RecordCodec.userPut(claimed), () -> delegate.commit(claimed));
+        } catch (RuntimeException e) {
+            delegate.release(claimed);
+            throw e;
+        }
+    }
+}
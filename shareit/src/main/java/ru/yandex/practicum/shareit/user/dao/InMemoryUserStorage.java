@@ -3,46 +3,240 @@ package ru.yandex.practicum.shareit.user.dao;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.concurrent.LockStripes;
+import ru.yandex.practicum.shareit.core.exception.DuplicatedEmailException;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.paging.Pages;
+import ru.yandex.practicum.shareit.core.persistence.Restorable;
 import ru.yandex.practicum.shareit.user.User;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Repository
-@NoArgsConstructor
-@AllArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
-public class InMemoryUserStorage implements UserDao {
-    Long id = 0L;
-    Map<Long, User> users = new HashMap<>();
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InMemoryUserStorage implements UserDao, Restorable<User> {
+    AtomicLong id = new AtomicLong();
+    ConcurrentNavigableMap<Long, User> users = new ConcurrentSkipListMap<>();
+    Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    AtomicLong userCount = new AtomicLong();
+    LockStripes locks = new LockStripes(64);
 
     @Override
-    public List<User> findAll() {
-        return new ArrayList<>(users.values());
+    public List<User> findAll(PageParams page) {
+        return Pages.slice(page.isKeyset() ? users.tailMap(page.getAfter(), false).values() : users.values(), page);
     }
 
     @Override
     public Optional<User> getById(Long id) {
-        return Optional.of(users.get(id));
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return users.containsKey(id);
     }
 
     @Override
     public User save(User user) {
-        if (!users.containsKey(user.getId())) {
-            id = id + 1L;
-            user.setId(id);
+        return write(user, claimed -> commit(claim(claimed)));
+    }
+
+    @Override
+    public List<BatchResult<User>> insertAll(List<User> batch) {
+        long first = id.getAndAdd(batch.size()) + 1;
+        List<BatchResult<User>> inserted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            User user = batch.get(i).withId(first + i);
+            synchronized (locks.forId(user.getId())) {
+                try {
+                    claimEmail(normalizeEmail(user.getEmail()), user);
+                } catch (DuplicatedEmailException e) {
+                    inserted.add(BatchResult.failed(i, e));
+                    continue;
+                }
+                users.put(user.getId(), user);
+            }
+            userCount.incrementAndGet();
+            inserted.add(BatchResult.created(i, user));
         }
-        users.put(user.getId(), user);
-        return user;
+        return inserted;
     }
 
     @Override
     public boolean getByEmail(String email) {
-
-        return findAll().stream().anyMatch(user -> user.getEmail().equals(email));
+        if (email == null) {
+            return false;
+        }
+        String normalized = normalizeEmail(email);
+        Long ownerId = idsByEmail.get(normalized);
+        if (ownerId == null || ownsEmail(ownerId, normalized)) {
+            return ownerId != null;
+        }
+        // The owner is being written right now; answer once that write has finished.
+        synchronized (locks.forId(ownerId)) {
+            return ownsEmail(ownerId, normalized);
+        }
     }
 
     @Override
     public void deleteById(Long id) {
-        users.remove(id);
+        synchronized (locks.forId(id)) {
+            User user = users.remove(id);
+            if (user == null) {
+                return;
+            }
+            userCount.decrementAndGet();
+            if (user.getEmail() != null) {
+                idsByEmail.remove(normalizeEmail(user.getEmail()), id);
+            }
+        }
+    }
+
+    public long size() {
+        return userCount.get();
+    }
+
+    public int emailIndexSize() {
+        return idsByEmail.size();
+    }
+
+    @Override
+    public void restore(User user) {
+        synchronized (locks.forId(user.getId())) {
+            User previous = users.put(user.getId(), user);
+            if (previous == null) {
+                userCount.incrementAndGet();
+            } else if (previous.getEmail() != null) {
+                idsByEmail.remove(normalizeEmail(previous.getEmail()), user.getId());
+            }
+            if (user.getEmail() != null) {
+                idsByEmail.put(normalizeEmail(user.getEmail()), user.getId());
+            }
+            restoreLastId(user.getId());
+        }
+    }
+
+    @Override
+    public void restoreDeleted(long id) {
+        deleteById(id);
+        restoreLastId(id);
+    }
+
+    @Override
+    public void forEachRecord(Consumer<User> consumer) {
+        users.values().forEach(consumer);
+    }
+
+    @Override
+    public long lastId() {
+        return id.get();
+    }
+
+    @Override
+    public void restoreLastId(long lastId) {
+        id.accumulateAndGet(lastId, Math::max);
+    }
+
+    // Runs a write under the lock of the user's id, so readers and conflicting writers can wait for it to finish. New
+    // users, and users deleted before the lock was taken, get a fresh id.
+    <T> T write(User user, Function<User, T> write) {
+        while (true) {
+            boolean update = user.getId() != null && users.containsKey(user.getId());
+            User target = update ? user : user.withId(id.incrementAndGet());
+            long pendingOwnerId;
+            synchronized (locks.forId(target.getId())) {
+                if (update && !users.containsKey(target.getId())) {
+                    continue;
+                }
+                try {
+                    return write.apply(target);
+                } catch (PendingEmailException e) {
+                    pendingOwnerId = e.ownerId;
+                }
+            }
+            synchronized (locks.forId(pendingOwnerId)) {
+                Thread.yield();
+            }
+        }
+    }
+
+    Object lockFor(long userId) {
+        return locks.forId(userId);
+    }
+
+    long nextId() {
+        return id.incrementAndGet();
+    }
+
+    // Reserves the email without making the user visible, so the change can be logged first.
+    User claim(User user) {
+        User previous = users.get(user.getId());
+        String email = normalizeEmail(user.getEmail());
+        if (previous == null || !Objects.equals(email, normalizeEmail(previous.getEmail()))) {
+            claimEmail(email, user);
+        }
+        return user;
+    }
+
+    User commit(User user) {
+        User previous = users.put(user.getId(), user);
+        if (previous == null) {
+            userCount.incrementAndGet();
+        } else {
+            String previousEmail = normalizeEmail(previous.getEmail());
+            if (previousEmail != null && !previousEmail.equals(normalizeEmail(user.getEmail()))) {
+                idsByEmail.remove(previousEmail, user.getId());
+            }
+        }
+        return user;
+    }
+
+    void release(User user) {
+        String email = normalizeEmail(user.getEmail());
+        User current = users.get(user.getId());
+        if (email != null && (current == null || !email.equals(normalizeEmail(current.getEmail())))) {
+            idsByEmail.remove(email, user.getId());
+        }
+    }
+
+    private void claimEmail(String email, User user) {
+        if (email == null) {
+            return;
+        }
+        Long emailOwnerId = idsByEmail.putIfAbsent(email, user.getId());
+        if (emailOwnerId == null || emailOwnerId.equals(user.getId())) {
+            return;
+        }
+        if (ownsEmail(emailOwnerId, email)) {
+            throw new DuplicatedEmailException(user.getEmail());
+        }
+        throw new PendingEmailException(user.getEmail(), emailOwnerId);
+    }
+
+    private boolean ownsEmail(long userId, String email) {
+        User owner = users.get(userId);
+        return owner != null && email.equals(normalizeEmail(owner.getEmail()));
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // The email is claimed by a write that has not finished yet. Batch inserts report it as a duplicate, single writes
+    // wait for the owner and try again.
+    static final class PendingEmailException extends DuplicatedEmailException {
+        private final long ownerId;
+
+        PendingEmailException(String email, long ownerId) {
+            super(email);
+            this.ownerId = ownerId;
+        }
     }
 }
@@ -0,0 +1,171 @@
+package ru.yandex.practicum.shareit.user.dao;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.exception.DuplicatedEmailException;
+import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
+import ru.yandex.practicum.shareit.core.jdbc.BatchInserts;
+import ru.yandex.practicum.shareit.core.jdbc.KeysetQueries;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Primary
+@Repository
+@Profile("jdbc")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JdbcUserStorage implements UserDao {
+    private static final String SELECT_USERS = "SELECT id, name, email FROM users";
+    private static final String INSERT_USER = "INSERT INTO users (name, email, email_key) VALUES (?, ?, ?)";
+    private static final FieldValidationException CONSTRAINT_VIOLATION =
+            new FieldValidationException("user", "violates a database constraint");
+    private static final RowMapper<User> USER =
+            (rs, rowNum) -> new User(rs.getLong("id"), rs.getString("name"), rs.getString("email"));
+
+    JdbcTemplate jdbc;
+    NamedParameterJdbcTemplate namedJdbc;
+    TransactionTemplate transactions;
+
+    @Override
+    public List<User> findAll(PageParams page) {
+        return KeysetQueries.page(jdbc, SELECT_USERS, null, "id", page, USER);
+    }
+
+    @Override
+    public Optional<User> getById(Long id) {
+        return jdbc.query(SELECT_USERS + " WHERE id = ?", USER, id).stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return exists("SELECT COUNT(*) FROM users WHERE id = ?", id);
+    }
+
+    @Override
+    public User save(User user) {
+        if (user.getId() != null && update(user)) {
+            return user;
+        }
+        try {
+            return user.withId(BatchInserts.insertReturningIds(jdbc, INSERT_USER, List.of(user), JdbcUserStorage::bind)
+                    .get(0));
+        } catch (DuplicateKeyException e) {
+            throw new DuplicatedEmailException(user.getEmail());
+        } catch (DataIntegrityViolationException e) {
+            throw CONSTRAINT_VIOLATION;
+        }
+    }
+
+    @Override
+    public List<BatchResult<User>> insertAll(List<User> batch) {
+        Set<String> taken = takenEmails(batch);
+        List<BatchResult<User>> results = new ArrayList<>(Collections.nCopies(batch.size(), null));
+        List<Integer> positions = new ArrayList<>(batch.size());
+        List<User> accepted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String email = normalizeEmail(batch.get(i).getEmail());
+            if (email == null || taken.add(email)) {
+                positions.add(i);
+                accepted.add(batch.get(i));
+            } else {
+                results.set(i, BatchResult.failed(i, new DuplicatedEmailException(batch.get(i).getEmail())));
+            }
+        }
+        List<Long> ids;
+        try {
+            ids = transactions.execute(status -> BatchInserts.insertReturningIds(jdbc, INSERT_USER, accepted,
+                    JdbcUserStorage::bind));
+        } catch (DataIntegrityViolationException e) {
+            return insertOneByOne(batch);
+        }
+        for (int i = 0; i < accepted.size(); i++) {
+            results.set(positions.get(i), BatchResult.created(positions.get(i), accepted.get(i).withId(ids.get(i))));
+        }
+        return results;
+    }
+
+    @Override
+    public boolean getByEmail(String email) {
+        return email != null && exists("SELECT COUNT(*) FROM users WHERE email_key = ?", normalizeEmail(email));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        jdbc.update("DELETE FROM users WHERE id = ?", id);
+    }
+
+    private boolean update(User user) {
+        try {
+            return jdbc.update("UPDATE users SET name = ?, email = ?, email_key = ? WHERE id = ?",
+                    user.getName(), user.getEmail(), normalizeEmail(user.getEmail()), user.getId()) > 0;
+        } catch (DuplicateKeyException e) {
+            throw new DuplicatedEmailException(user.getEmail());
+        } catch (DataIntegrityViolationException e) {
+            throw CONSTRAINT_VIOLATION;
+        }
+    }
+
+    private List<BatchResult<User>> insertOneByOne(List<User> batch) {
+        List<BatchResult<User>> results = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                results.add(BatchResult.created(i, save(batch.get(i).withId(null))));
+            } catch (DuplicatedEmailException | FieldValidationException e) {
+                results.add(BatchResult.failed(i, e));
+            }
+        }
+        return results;
+    }
+
+    private Set<String> takenEmails(List<User> batch) {
+        Set<String> emails = new HashSet<>();
+        for (User user : batch) {
+            String email = normalizeEmail(user.getEmail());
+            if (email != null) {
+                emails.add(email);
+            }
+        }
+        if (emails.isEmpty()) {
+            return emails;
+        }
+        return new HashSet<>(namedJdbc.queryForList("SELECT email_key FROM users WHERE email_key IN (:emails)",
+                Map.of("emails", emails), String.class));
+    }
+
+    private boolean exists(String sql, Object argument) {
+        Integer count = jdbc.queryForObject(sql, Integer.class, argument);
+        return count != null && count > 0;
+    }
+
+    private static void bind(PreparedStatement statement, User user) throws SQLException {
+        statement.setString(1, user.getName());
+        statement.setString(2, user.getEmail());
+        statement.setString(3, normalizeEmail(user.getEmail()));
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
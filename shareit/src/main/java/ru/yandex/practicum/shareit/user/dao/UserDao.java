@@ -1,18 +1,24 @@
 package ru.yandex.practicum.shareit.user.dao;
 
 import org.springframework.stereotype.Repository;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
 import ru.yandex.practicum.shareit.user.User;
 
 import java.util.List;
 import java.util.Optional;
 @Repository
 public interface UserDao {
-    List<User> findAll();
+    List<User> findAll(PageParams page);
 
     Optional<User> getById(Long id);
 
+    boolean existsById(Long id);
+
     User save(User user);
 
+    List<BatchResult<User>> insertAll(List<User> users);
+
     boolean getByEmail(String email);
 
     void deleteById(Long id);
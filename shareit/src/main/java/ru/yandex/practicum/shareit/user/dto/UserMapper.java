@@ -1,10 +1,13 @@
 package ru.yandex.practicum.shareit.user.dto;
 
 import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.core.web.JsonBytes;
 import ru.yandex.practicum.shareit.user.User;
 
 @Component
 public class UserMapper {
+    private static final int JSON_CAPACITY = 96;
+
     public User toUser(UserDto dto) {
         return new User(null,
                 dto.getName(),
@@ -18,4 +21,14 @@ public class UserMapper {
                 user.getEmail()
         );
     }
+
+    public byte[] toJson(User user) {
+        return new JsonBytes(JSON_CAPACITY)
+                .beginObject()
+                .field("id", user.getId())
+                .field("name", user.getName())
+                .field("email", user.getEmail())
+                .endObject()
+                .toByteArray();
+    }
 }
@@ -0,0 +1,41 @@
+package ru.yandex.practicum.shareit.user.service;
+
+public final class EmailValidator {
+
+    private EmailValidator() {
+    }
+
+    public static boolean isValid(String email) {
+        if (email == null) {
+            return false;
+        }
+        int length = email.length();
+        int firstLineTerminator = length;
+        int lastWhitespace = -1;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (firstLineTerminator == length && isLineTerminator(c)) {
+                firstLineTerminator = i;
+            }
+            if (isWhitespace(c)) {
+                lastWhitespace = i;
+            }
+        }
+        int from = Math.max(1, lastWhitespace + 1);
+        int to = Math.min(firstLineTerminator, length - 2);
+        for (int at = from; at <= to; at++) {
+            if (email.charAt(at) == '@') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -1,6 +1,9 @@
 package ru.yandex.practicum.shareit.user.service;
 
 import org.springframework.stereotype.Component;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.web.EncodedJsonArray;
 import ru.yandex.practicum.shareit.user.User;
 import ru.yandex.practicum.shareit.user.dto.UserDto;
 
@@ -9,12 +12,18 @@ import java.util.List;
 @Component
 public interface UserService {
 
-    List<User> getAll();
+    List<User> getAll(PageParams page);
+
+    EncodedJsonArray getAllResponse(PageParams page);
 
     User getById(long id);
 
+    boolean existsById(long id);
+
     User create(UserDto dto);
 
+    List<BatchResult<User>> createAll(List<UserDto> dtos);
+
     User update(long id, UserDto dto);
 
     User delete(long id);
@@ -3,30 +3,48 @@ package ru.yandex.practicum.shareit.user.service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import ru.yandex.practicum.shareit.core.exception.DuplicatedEmailException;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
 import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
 import ru.yandex.practicum.shareit.core.exception.NotFoundException;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.core.web.EncodedJsonArray;
 import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.UserChangedEvent;
 import ru.yandex.practicum.shareit.user.dao.UserDao;
 import ru.yandex.practicum.shareit.user.dto.UserDto;
 import ru.yandex.practicum.shareit.user.dto.UserMapper;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserServiceImpl implements UserService {
+    private static final FieldValidationException EMPTY_USER =
+            new FieldValidationException("user", "empty");
+    private static final FieldValidationException NO_EMAIL =
+            new FieldValidationException("email", "no email");
+    private static final FieldValidationException INVALID_EMAIL =
+            new FieldValidationException("email", "invalid email");
+
     UserDao userDao;
     UserMapper userMapper;
+    ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public List<User> getAll(PageParams page) {
+        return userDao.findAll(page);
+    }
 
     @Override
-    public List<User> getAll() {
-        return userDao.findAll();
+    public EncodedJsonArray getAllResponse(PageParams page) {
+        return EncodedJsonArray.of(userDao.findAll(page), userMapper::toJson);
     }
 
     @Override
@@ -34,57 +52,87 @@ public class UserServiceImpl implements UserService {
         return userDao.getById(id).orElseThrow(() -> new NotFoundException("user", id));
     }
 
+    @Override
+    public boolean existsById(long id) {
+        return userDao.existsById(id);
+    }
+
     @Override
     public User create(UserDto dto) {
-        Optional.ofNullable(dto.getEmail())
-                .orElseThrow(
-                        () -> new FieldValidationException("email", "no email"));
-        if (!dto.getEmail().isBlank() &&
-                checkIfEmailValid(dto.getEmail())) {
-            checkIfEmailHasDuplicates(dto.getEmail()); //@Email?
-        } else {
-            throw new FieldValidationException("email", "invalid email");
-        }
+        validateNew(dto);
+
+        User user = userDao.save(userMapper.toUser(dto));
+        eventPublisher.publishEvent(new UserChangedEvent(user, false));
+        return user;
+    }
 
-        User user = userMapper.toUser(dto);
+    @Override
+    public List<BatchResult<User>> createAll(List<UserDto> dtos) {
+        List<BatchResult<User>> results = new ArrayList<>(Collections.nCopies(dtos.size(), null));
+        List<Integer> positions = new ArrayList<>(dtos.size());
+        List<User> users = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                validateNew(dtos.get(i));
+            } catch (FieldValidationException e) {
+                results.set(i, BatchResult.failed(i, e));
+                continue;
+            }
+            positions.add(i);
+            users.add(userMapper.toUser(dtos.get(i)));
+        }
 
-        return userDao.save(user);
+        List<BatchResult<User>> inserted = userDao.insertAll(users);
+        for (int i = 0; i < inserted.size(); i++) {
+            BatchResult<User> result = inserted.get(i).withIndex(positions.get(i));
+            if (result.getResult() != null) {
+                eventPublisher.publishEvent(new UserChangedEvent(result.getResult(), false));
+            }
+            results.set(result.getIndex(), result);
+        }
+        return results;
     }
 
     @Override
     public User update(long id, UserDto dto) {
         User user = userDao.getById(id).orElseThrow(() -> new NotFoundException("user", id));
+        User updated = user;
 
-        if (dto.getEmail() != null && !dto.getEmail().equals(user.getEmail())) {
-            checkIfEmailHasDuplicates(dto.getEmail());
-            user.setEmail(dto.getEmail());
+        if (dto.getEmail() != null) {
+            validateEmail(dto.getEmail());
+            updated = updated.withEmail(dto.getEmail());
         }
 
         if (dto.getName() != null && !dto.getName().isBlank()) {
-            user.setName(dto.getName());
+            updated = updated.withName(dto.getName());
         }
 
-        return userDao.save(user);
+        User saved = userDao.save(updated);
+        eventPublisher.publishEvent(new UserChangedEvent(saved, false));
+        return saved;
     }
 
     @Override
     public User delete(long id) {
         User user = userDao.getById(id).orElseThrow(() -> new NotFoundException("user", id));
         userDao.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(user, true));
         return user;
     }
 
-    private void checkIfEmailHasDuplicates(String email) {
-        if (userDao.getByEmail(email)) {
-            throw new DuplicatedEmailException(email);
-        }
+    private void validateNew(UserDto dto) {
+        Optional.ofNullable(dto)
+                .orElseThrow(
+                        () -> EMPTY_USER);
+        Optional.ofNullable(dto.getEmail())
+                .orElseThrow(
+                        () -> NO_EMAIL);
+        validateEmail(dto.getEmail());
     }
 
-    public static boolean checkIfEmailValid(String emailAddress) {
-
-        String regexPattern = "^(.+)@(\\S+)$";
-        return Pattern.compile(regexPattern)
-                .matcher(emailAddress)
-                .matches();
+    private static void validateEmail(String email) {
+        if (email.isBlank() || !EmailValidator.isValid(email)) {
+            throw INVALID_EMAIL;
+        }
     }
 }
@@ -0,0 +1,30 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR NOT NULL,
+    email VARCHAR,
+    email_key VARCHAR,
+    CONSTRAINT users_email_key UNIQUE (email_key)
+);
+
+CREATE TABLE IF NOT EXISTS items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR NOT NULL,
+    name_key VARCHAR NOT NULL,
+    description VARCHAR NOT NULL,
+    available BOOLEAN NOT NULL,
+    owner_id BIGINT NOT NULL,
+    request_id BIGINT,
+    version BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS items_owner_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS items_request_id ON items (request_id, id);
+CREATE INDEX IF NOT EXISTS items_name_key ON items (name_key);
+
+CREATE TABLE IF NOT EXISTS item_terms (
+    term VARCHAR NOT NULL,
+    item_id BIGINT NOT NULL,
+    PRIMARY KEY (term, item_id)
+);
+
+CREATE INDEX IF NOT EXISTS item_terms_item_id ON item_terms (item_id);
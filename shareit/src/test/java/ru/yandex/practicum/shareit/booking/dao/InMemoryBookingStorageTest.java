@@ -0,0 +1,98 @@
+package ru.yandex.practicum.shareit.booking.dao;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.booking.BookingStatus;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryBookingStorageTest {
+    private static final int THREADS = 8;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final PageParams ALL = PageParams.offset(0, Integer.MAX_VALUE);
+
+    @Test
+    void rejectsOverlapsAndFindsNearestApprovedBookings() {
+        InMemoryBookingStorage storage = new InMemoryBookingStorage();
+        Booking first = storage.add(booking(1, 0, 10)).orElseThrow();
+        Booking second = storage.add(booking(1, 20, 30)).orElseThrow();
+
+        assertTrue(storage.add(booking(1, 5, 25)).isEmpty());
+        assertTrue(storage.add(booking(1, 29, 31)).isEmpty());
+        assertTrue(storage.add(booking(2, 5, 25)).isPresent());
+        assertTrue(storage.isFree(1, hour(10), hour(20)));
+        assertFalse(storage.isFree(1, hour(9), hour(11)));
+
+        storage.changeStatus(first.getId(), BookingStatus.WAITING, BookingStatus.APPROVED);
+        storage.changeStatus(second.getId(), BookingStatus.WAITING, BookingStatus.APPROVED);
+        assertEquals(first.getId(), storage.findLast(1, hour(15)).orElseThrow().getId());
+        assertEquals(second.getId(), storage.findNext(1, hour(15)).orElseThrow().getId());
+
+        storage.changeStatus(second.getId(), BookingStatus.APPROVED, BookingStatus.CANCELED);
+        assertTrue(storage.findNext(1, hour(15)).isEmpty());
+        assertTrue(storage.add(booking(1, 25, 35)).isPresent());
+    }
+
+    @Test
+    void concurrentBookingsOfOneItemNeverOverlap() throws Exception {
+        InMemoryBookingStorage storage = new InMemoryBookingStorage();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        int from = random.nextInt(10_000);
+                        storage.add(booking(1, from, from + 1 + random.nextInt(5)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Booking> booked = new ArrayList<>(storage.findByOwnerId(1, booking -> true, ALL));
+        booked.sort(Comparator.comparing(Booking::getStart));
+        for (int i = 1; i < booked.size(); i++) {
+            assertFalse(booked.get(i).getStart().isBefore(booked.get(i - 1).getEnd()));
+        }
+    }
+
+    private static Booking booking(long itemId, int fromHour, int toHour) {
+        return Booking.builder()
+                .start(hour(fromHour))
+                .end(hour(toHour))
+                .item(Item.builder().id(itemId).owner(new User(1L, "owner", null)).build())
+                .booker(new User(2L, "booker", null))
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+
+    private static LocalDateTime hour(int hour) {
+        return EPOCH.plusHours(hour);
+    }
+}
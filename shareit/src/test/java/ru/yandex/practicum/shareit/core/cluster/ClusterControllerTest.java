@@ -0,0 +1,122 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.yandex.practicum.shareit.core.persistence.RecordCodec;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.cluster.enabled=true",
+        "shareit.cluster.self=http://localhost:8080",
+        "shareit.cluster.secret=" + ClusterControllerTest.SECRET,
+        "shareit.cluster.allowed-nodes=" + ClusterControllerTest.DEAD_NODE,
+        "shareit.cluster.timeout=500ms"
+})
+@AutoConfigureMockMvc
+class ClusterControllerTest {
+    static final String SECRET = "peer-secret";
+    static final String DEAD_NODE = "http://127.0.0.1:1";
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    ObjectMapper mapper;
+
+    @Test
+    void rejectsClusterCallsWithoutSecret() throws Exception {
+        mvc.perform(post("/cluster/nodes").param("node", "http://attacker"))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/cluster/nodes").param("node", "http://attacker")
+                        .header(ClusterClient.FORWARDED_HEADER, "true")
+                        .header(ClusterClient.SECRET_HEADER, "guess"))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/cluster/records")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(ClusterClient.frame(List.of(RecordCodec.userPut(new User(99L, "x", "x@x.ru"))))))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/users/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void acceptsOnlyConfiguredNodes() throws Exception {
+        mvc.perform(post("/cluster/nodes").param("node", "http://attacker")
+                        .header(ClusterClient.SECRET_HEADER, SECRET))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/cluster/nodes").header(ClusterClient.SECRET_HEADER, SECRET))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", not(hasItem("http://attacker"))));
+    }
+
+    @Test
+    @DirtiesContext
+    void searchSkipsUnreachableShard() throws Exception {
+        String user = mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"owner\",\"email\":\"owner@shareit.ru\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long owner = mapper.readTree(user).get("id").asLong();
+        mvc.perform(post("/items")
+                        .header(USER_ID_HEADER, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Drill\",\"description\":\"Tool\",\"available\":true}"))
+                .andExpect(status().isCreated());
+
+        mvc.perform(post("/cluster/nodes").param("node", DEAD_NODE)
+                        .header(ClusterClient.SECRET_HEADER, SECRET))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasItem(DEAD_NODE)));
+
+        mvc.perform(get("/items/search").param("text", "drill"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Drill"));
+        mvc.perform(get("/items/suggest").param("prefix", "dr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Drill"));
+    }
+
+    @Test
+    @DirtiesContext
+    void itemLookupSkipsUnreachableShard() throws Exception {
+        String user = mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"owner\",\"email\":\"lookup@shareit.ru\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String item = mvc.perform(post("/items")
+                        .header(USER_ID_HEADER, mapper.readTree(user).get("id").asLong())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Saw\",\"description\":\"Tool\",\"available\":true}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = mapper.readTree(item).get("id").asLong();
+
+        mvc.perform(post("/cluster/nodes").param("node", DEAD_NODE)
+                        .header(ClusterClient.SECRET_HEADER, SECRET))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/items/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Saw"));
+        mvc.perform(get("/items/{id}", id + 1_000_000))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,108 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import ru.yandex.practicum.shareit.booking.Booking;
+import ru.yandex.practicum.shareit.core.persistence.PersistenceManager;
+import ru.yandex.practicum.shareit.core.persistence.RecordCodec;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dao.InMemoryItemStorage;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ClusterReplicatorTest {
+    private static final String SELF = "http://node-a";
+    private static final String PEER = "http://node-b";
+
+    ClusterReplicator replicator;
+
+    @AfterEach
+    void tearDown() {
+        replicator.close();
+    }
+
+    @Test
+    void rebalanceCopiesAgainWhenItemChangesDuringHandoff() {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setSelf(SELF);
+        properties.setNodes(List.of(SELF, PEER));
+        ClusterMembership membership = new ClusterMembership(properties);
+        long ownerId = LongStream.iterate(1, id -> id + 1)
+                .filter(id -> membership.ownerNode(id).equals(PEER))
+                .findFirst()
+                .orElseThrow();
+        InMemoryItemStorage items = new InMemoryItemStorage();
+        Item drill = items.addItem(new Item(null, "drill", "tool", true, new User(ownerId, "owner", null), null, 0L));
+        PeerClient peer = new PeerClient(() -> items.updateItem(drill.getId(), item -> item.withName("hammer")));
+        replicator = new ClusterReplicator(membership, peer, new InMemoryUserStorage(), items,
+                new StaticListableBeanFactory().getBeanProvider(PersistenceManager.class), properties);
+
+        replicator.rebalance();
+
+        assertNull(items.getItemById(drill.getId()));
+        assertEquals(List.of("drill", "hammer"), peer.names);
+    }
+
+    private static final class PeerClient extends ClusterClient {
+        final List<String> names = new ArrayList<>();
+        Runnable duringFirstCopy;
+
+        PeerClient(Runnable duringFirstCopy) {
+            super(new ObjectMapper(), Duration.ofSeconds(1), "secret");
+            this.duringFirstCopy = duringFirstCopy;
+        }
+
+        @Override
+        public void post(String node, String path, List<byte[]> records) {
+            for (byte[] record : records) {
+                try {
+                    RecordCodec.decode(record, new RecordCodec.RecordHandler() {
+                        @Override
+                        public void userPut(User user) {
+                        }
+
+                        @Override
+                        public void userDelete(long id) {
+                        }
+
+                        @Override
+                        public void itemPut(Item item) {
+                            names.add(item.getName());
+                        }
+
+                        @Override
+                        public void itemDelete(long id) {
+                        }
+
+                        @Override
+                        public void requestPut(ItemRequest request) {
+                        }
+
+                        @Override
+                        public void bookingPut(Booking booking) {
+                        }
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            if (duringFirstCopy != null) {
+                duringFirstCopy.run();
+                duringFirstCopy = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashRingTest {
+    private static final int KEYS = 100_000;
+
+    @Test
+    void keysSpreadEvenlyAcrossNodes() {
+        HashRing ring = new HashRing(List.of("http://a", "http://b", "http://c", "http://d"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long key = 1; key <= KEYS; key++) {
+            counts.merge(ring.nodeFor(key), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - KEYS / 4) < KEYS / 4 * 0.2, counts::toString));
+    }
+
+    @Test
+    void addingANodeOnlyMovesKeysToIt() {
+        HashRing ring = new HashRing(List.of("http://a", "http://b", "http://c"), 128);
+        HashRing grown = ring.with("http://d");
+        int moved = 0;
+        for (long key = 1; key <= KEYS; key++) {
+            String before = ring.nodeFor(key);
+            String after = grown.nodeFor(key);
+            if (!before.equals(after)) {
+                assertEquals("http://d", after);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > KEYS / 4 * 0.8 && moved < KEYS / 4 * 1.2, String.valueOf(moved));
+        assertEquals(ring, ring.with("http://b"));
+    }
+}
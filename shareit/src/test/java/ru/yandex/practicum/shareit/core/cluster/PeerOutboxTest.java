@@ -0,0 +1,120 @@
+package ru.yandex.practicum.shareit.core.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeerOutboxTest {
+    private static final String PEER = "http://peer";
+
+    ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void retriesUntilPeerAnswersAndKeepsOrder() throws InterruptedException {
+        RecordingClient client = new RecordingClient(2, null);
+        PeerOutbox outbox = new PeerOutbox(PEER, client, executor, List::of, 16, 1, 4);
+
+        outbox.offer(bytes("a"));
+        outbox.offer(bytes("b"));
+        outbox.offer(bytes("c"));
+
+        assertTrue(client.awaitDelivered(3));
+        assertEquals(List.of("a", "b", "c"), client.delivered());
+        assertTrue(client.calls.get() >= 3);
+    }
+
+    @Test
+    void resyncsPeerAfterQueueOverflow() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingClient client = new RecordingClient(0, release);
+        PeerOutbox outbox = new PeerOutbox(PEER, client, executor, () -> List.of(bytes("full")), 2, 1, 4);
+
+        outbox.offer(bytes("a"));
+        assertTrue(client.awaitCalls(1));
+        outbox.offer(bytes("b"));
+        outbox.offer(bytes("c"));
+        outbox.offer(bytes("d"));
+        release.countDown();
+
+        assertTrue(client.awaitDelivered(2));
+        assertEquals(List.of("a", "full"), client.delivered());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class RecordingClient extends ClusterClient {
+        final List<byte[]> records = new CopyOnWriteArrayList<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final int failures;
+        final CountDownLatch release;
+
+        RecordingClient(int failures, CountDownLatch release) {
+            super(new ObjectMapper(), Duration.ofSeconds(1), "secret");
+            this.failures = failures;
+            this.release = release;
+        }
+
+        @Override
+        public void post(String node, String path, List<byte[]> batch) {
+            int call = calls.incrementAndGet();
+            if (call <= failures) {
+                throw new IllegalStateException("peer is down");
+            }
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            records.addAll(batch);
+        }
+
+        boolean awaitCalls(int count) throws InterruptedException {
+            return awaitUntil(() -> calls.get() >= count);
+        }
+
+        boolean awaitDelivered(int count) throws InterruptedException {
+            return awaitUntil(() -> records.size() >= count);
+        }
+
+        List<String> delivered() {
+            return records.stream()
+                    .map(record -> new String(record, StandardCharsets.UTF_8))
+                    .collect(Collectors.toList());
+        }
+
+        private static boolean awaitUntil(BooleanSupplier condition) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!condition.getAsBoolean()) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+            return true;
+        }
+    }
+}
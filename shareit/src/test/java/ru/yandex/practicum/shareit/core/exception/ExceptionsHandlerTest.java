@@ -0,0 +1,125 @@
+package ru.yandex.practicum.shareit.core.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExceptionsHandlerTest {
+    private static final FieldValidationException BLANK_NAME = new FieldValidationException("name", "must not be blank");
+
+    SimpleMeterRegistry registry;
+    MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        mvc = MockMvcBuilders.standaloneSetup(new ThrowingController())
+                .setControllerAdvice(new ExceptionsHandler(registry))
+                .build();
+    }
+
+    @Test
+    void countsErrorsPerExceptionClassAndStatus() throws Exception {
+        mvc.perform(get("/invalid")).andExpect(status().isBadRequest());
+        mvc.perform(get("/invalid")).andExpect(status().isBadRequest());
+        mvc.perform(get("/not-found")).andExpect(status().isNotFound());
+        mvc.perform(get("/limited")).andExpect(status().isTooManyRequests());
+        mvc.perform(get("/broken")).andExpect(status().isInternalServerError());
+
+        assertEquals(4, registry.find("shareit.errors").counters().size());
+        assertEquals(2, count("FieldValidationException", "400"));
+        assertEquals(1, count("NotFoundException", "404"));
+        assertEquals(1, count("RateLimitExceededException", "429"));
+        assertEquals(1, count("IllegalStateException", "500"));
+    }
+
+    @Test
+    void rendersStatusAndBodyForExpectedErrors() throws Exception {
+        mvc.perform(get("/invalid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].field").value("name"))
+                .andExpect(jsonPath("$[0].description").value("must not be blank"));
+        mvc.perform(get("/not-found"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("item with id=42 not found"));
+        mvc.perform(get("/duplicated"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("User with email = user@shareit.ru already exists"));
+        mvc.perform(get("/limited"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("rate limit for search exceeded, retry in 3s"));
+        mvc.perform(get("/paged"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].field").value("size"));
+        mvc.perform(get("/paged").param("size", "ten"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].field").value("size"));
+    }
+
+    @Test
+    void sharedExceptionStaysStacklessAcrossRequests() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/invalid"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].field").value("name"));
+        }
+
+        assertEquals(0, BLANK_NAME.getStackTrace().length);
+        assertEquals(0, BLANK_NAME.getSuppressed().length);
+        assertNull(BLANK_NAME.getCause());
+    }
+
+    private double count(String exception, String status) {
+        return registry.counter("shareit.errors", "exception", exception, "status", status).count();
+    }
+
+    @RestController
+    static class ThrowingController {
+        @GetMapping("/invalid")
+        void invalid() {
+            throw BLANK_NAME;
+        }
+
+        @GetMapping("/not-found")
+        void notFound() {
+            throw new NotFoundException("item", 42);
+        }
+
+        @GetMapping("/duplicated")
+        void duplicated() {
+            throw new DuplicatedEmailException("user@shareit.ru");
+        }
+
+        @GetMapping("/limited")
+        void limited() {
+            throw new RateLimitExceededException("search", 3);
+        }
+
+        @GetMapping("/paged")
+        void paged(@RequestParam int size) {
+        }
+
+        @GetMapping("/broken")
+        void broken() {
+            throw new IllegalStateException("broken");
+        }
+    }
+}
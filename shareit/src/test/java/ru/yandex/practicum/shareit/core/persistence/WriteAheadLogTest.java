@@ -0,0 +1,313 @@
+package ru.yandex.practicum.shareit.core.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yandex.practicum.shareit.booking.dao.InMemoryBookingStorage;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dao.DurableItemStorage;
+import ru.yandex.practicum.shareit.item.dao.InMemoryItemStorage;
+import ru.yandex.practicum.shareit.request.dao.InMemoryItemRequestStorage;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.DurableUserStorage;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteAheadLogTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAcknowledgedRecordsInOrder() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(directory)) {
+            wal.replay(0, payload -> { });
+            wal.start();
+            wal.append(bytes("a")).join();
+            wal.rotate();
+            wal.append(bytes("b")).join();
+            wal.append(bytes("c")).join();
+        }
+
+        WriteAheadLog reopened = new WriteAheadLog(directory);
+        List<String> replayed = new ArrayList<>();
+        assertEquals(3, reopened.replay(0, payload -> replayed.add(string(payload))));
+        assertEquals(List.of("a", "b", "c"), replayed);
+
+        replayed.clear();
+        new WriteAheadLog(directory).replay(1, payload -> replayed.add(string(payload)));
+        assertEquals(List.of("b", "c"), replayed);
+    }
+
+    @Test
+    void truncatesTornTailAndKeepsAppending() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(directory)) {
+            wal.replay(0, payload -> { });
+            wal.start();
+            wal.append(bytes("a")).join();
+            wal.append(bytes("b")).join();
+        }
+        Path segment = lastSegment();
+        long intact = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(directory)) {
+            assertEquals(2, wal.replay(0, payload -> replayed.add(string(payload))));
+            assertEquals(intact, Files.size(segment));
+            wal.start();
+            wal.append(bytes("c")).join();
+        }
+        assertEquals(List.of("a", "b"), replayed);
+
+        replayed.clear();
+        new WriteAheadLog(directory).replay(0, payload -> replayed.add(string(payload)));
+        assertEquals(List.of("a", "b", "c"), replayed);
+    }
+
+    @Test
+    void discardsPartialWriteBeforeAcceptingMoreRecords() throws IOException {
+        try (WriteAheadLog wal = new FailingWriteAheadLog(directory, 2)) {
+            wal.replay(0, payload -> { });
+            wal.start();
+            wal.append(bytes("a")).join();
+            assertThrows(CompletionException.class, () -> wal.append(bytes("b")).join());
+            wal.append(bytes("c")).join();
+        }
+
+        List<String> replayed = new ArrayList<>();
+        new WriteAheadLog(directory).replay(0, payload -> replayed.add(string(payload)));
+        assertEquals(List.of("a", "c"), replayed);
+    }
+
+    @Test
+    void recoversFromSnapshotAndLaterLogRecords() throws IOException {
+        InMemoryUserStorage users = new InMemoryUserStorage();
+        try (PersistenceManager manager = manager(users)) {
+            manager.recover();
+            manager.append(RecordCodec.userPut(users.save(new User(null, "first", "first@shareit.ru")))).join();
+            manager.append(RecordCodec.userPut(users.save(new User(null, "second", "second@shareit.ru")))).join();
+            manager.snapshot();
+            User renamed = new User(1L, "renamed", "first@shareit.ru");
+            manager.append(RecordCodec.userPut(users.save(renamed))).join();
+            manager.append(RecordCodec.userPut(users.save(new User(null, "third", "third@shareit.ru")))).join();
+            manager.append(RecordCodec.userDelete(2)).join();
+            users.deleteById(2L);
+        }
+
+        InMemoryUserStorage recovered = new InMemoryUserStorage();
+        try (PersistenceManager manager = manager(recovered)) {
+            manager.recover();
+        }
+        assertEquals("renamed", recovered.getById(1L).orElseThrow().getName());
+        assertTrue(recovered.getById(2L).isEmpty());
+        assertEquals("third", recovered.getById(3L).orElseThrow().getName());
+        assertEquals(3, recovered.lastId());
+    }
+
+    @Test
+    void durableStoresPublishOnlyLoggedChanges() throws IOException {
+        InMemoryUserStorage users = new InMemoryUserStorage();
+        InMemoryItemStorage items = new InMemoryItemStorage();
+        DurableUserStorage durableUsers;
+        DurableItemStorage durableItems;
+        User owner;
+        Item drill;
+        try (PersistenceManager manager = manager(users, items)) {
+            manager.recover();
+            durableUsers = new DurableUserStorage(users, manager);
+            durableItems = new DurableItemStorage(items, manager);
+            owner = durableUsers.save(new User(null, "owner", "owner@shareit.ru"));
+            drill = durableItems.addItem(new Item(null, "drill", "tool", true, owner, null, 0L));
+        }
+
+        assertThrows(CompletionException.class, () -> durableItems.updateItem(drill.getId(),
+                item -> item.withName("hammer")));
+        assertThrows(CompletionException.class, () -> durableUsers.save(owner.withEmail("moved@shareit.ru")));
+        assertThrows(CompletionException.class, () -> durableUsers.save(new User(null, "new", "new@shareit.ru")));
+        assertThrows(CompletionException.class, () -> durableUsers.deleteById(owner.getId()));
+        assertEquals(drill, items.getItemById(drill.getId()));
+        assertEquals(List.of(drill.getId()), ids(items.searchByText("drill", PageParams.offset(0, 10))));
+        assertEquals(owner, users.getById(owner.getId()).orElseThrow());
+        assertFalse(users.getByEmail("moved@shareit.ru"));
+        assertFalse(users.getByEmail("new@shareit.ru"));
+        assertEquals(1, users.size());
+
+        InMemoryUserStorage recoveredUsers = new InMemoryUserStorage();
+        InMemoryItemStorage recoveredItems = new InMemoryItemStorage();
+        try (PersistenceManager manager = manager(recoveredUsers, recoveredItems)) {
+            manager.recover();
+        }
+        assertEquals(owner, recoveredUsers.getById(owner.getId()).orElseThrow());
+        assertEquals("drill", recoveredItems.getItemById(drill.getId()).getName());
+    }
+
+    private PersistenceManager manager(InMemoryUserStorage users) throws IOException {
+        return manager(users, new InMemoryItemStorage());
+    }
+
+    private PersistenceManager manager(InMemoryUserStorage users, InMemoryItemStorage items) throws IOException {
+        return new PersistenceManager(directory, users, items,
+                new InMemoryItemRequestStorage(), new InMemoryBookingStorage());
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files
+                    .filter(path -> path.getFileName().toString().startsWith("wal-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            return segments.get(segments.size() - 1);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private static class FailingWriteAheadLog extends WriteAheadLog {
+        private final int failingWrite;
+
+        FailingWriteAheadLog(Path directory, int failingWrite) throws IOException {
+            super(directory);
+            this.failingWrite = failingWrite;
+        }
+
+        @Override
+        FileChannel openChannel(Path segment) throws IOException {
+            return new TornWriteChannel(super.openChannel(segment), failingWrite);
+        }
+    }
+
+    private static class TornWriteChannel extends FileChannel {
+        private final FileChannel delegate;
+        private final int failingWrite;
+        private int writes;
+
+        TornWriteChannel(FileChannel delegate, int failingWrite) {
+            this.delegate = delegate;
+            this.failingWrite = failingWrite;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            if (++writes != failingWrite) {
+                return delegate.write(source);
+            }
+            ByteBuffer half = source.duplicate();
+            half.limit(source.position() + source.remaining() / 2);
+            delegate.write(half);
+            throw new IOException("Disk full");
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            return delegate.read(target);
+        }
+
+        @Override
+        public long read(ByteBuffer[] targets, int offset, int length) throws IOException {
+            return delegate.read(targets, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            return delegate.write(sources, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            return delegate.transferFrom(source, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer target, long position) throws IOException {
+            return delegate.read(target, position);
+        }
+
+        @Override
+        public int write(ByteBuffer source, long position) throws IOException {
+            return delegate.write(source, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.shareit.core.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import ru.yandex.practicum.shareit.core.cluster.ClusterClient;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.rate-limit.quotas.search.rate=1",
+        "shareit.rate-limit.quotas.search.burst=2"
+})
+@AutoConfigureMockMvc
+class RateLimitInterceptorTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void rejectsRequestsOverQuotaWithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 1001))
+                    .andExpect(status().isOk());
+        }
+
+        mvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 1001))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error").value("rate limit for search exceeded, retry in 1s"));
+        mvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 1002))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void limitsAnonymousCallersPerAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/items/search").param("text", "drill").with(from("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+
+        mvc.perform(get("/items/search").param("text", "drill").with(from("10.0.0.1")))
+                .andExpect(status().isTooManyRequests());
+        mvc.perform(get("/items/search").param("text", "drill").with(from("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void ignoresSpoofedForwardedHeader() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 2001)
+                            .header(ClusterClient.FORWARDED_HEADER, "true"))
+                    .andExpect(status().isOk());
+        }
+
+        mvc.perform(get("/items/search").param("text", "drill").header(USER_ID_HEADER, 2001)
+                        .header(ClusterClient.FORWARDED_HEADER, "true")
+                        .header(ClusterClient.SECRET_HEADER, "guess"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
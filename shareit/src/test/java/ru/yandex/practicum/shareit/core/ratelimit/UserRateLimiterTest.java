@@ -0,0 +1,81 @@
+package ru.yandex.practicum.shareit.core.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstIsAdmittedThenRefillsAtRate() {
+        UserRateLimiter limiter = new UserRateLimiter(10, 5, 100, SECOND, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(1, 0));
+        }
+        assertEquals(SECOND / 10, limiter.tryAcquire(1, 0));
+        assertEquals(0, limiter.tryAcquire(2, 0));
+        assertEquals(SECOND / 20, limiter.tryAcquire(1, SECOND / 20));
+        assertEquals(0, limiter.tryAcquire(1, SECOND / 10));
+        assertTrue(limiter.tryAcquire(1, SECOND / 10) > 0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(1, 10 * SECOND));
+        }
+    }
+
+    @Test
+    void refilledUsersAreEvictedAndNewcomersShareOverflow() {
+        UserRateLimiter limiter = new UserRateLimiter(1, 1, 3, SECOND, 0);
+        for (long user = 1; user <= 3; user++) {
+            assertEquals(0, limiter.tryAcquire(user, 0));
+        }
+
+        assertEquals(0, limiter.tryAcquire(4, SECOND / 2));
+        assertTrue(limiter.tryAcquire(5, SECOND / 2) > 0);
+        assertEquals(3, limiter.size());
+
+        assertEquals(0, limiter.tryAcquire(6, 2 * SECOND));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedBurst() throws Exception {
+        UserRateLimiter limiter = new UserRateLimiter(0.001, 1_000, 10, SECOND, 0);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int admitted = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire(7, 1) == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            start.countDown();
+            int admitted = 0;
+            for (Future<Integer> future : futures) {
+                admitted += future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(1_000, admitted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
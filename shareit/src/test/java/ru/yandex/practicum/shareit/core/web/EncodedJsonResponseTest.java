@@ -0,0 +1,78 @@
+package ru.yandex.practicum.shareit.core.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.service.ItemService;
+import ru.yandex.practicum.shareit.user.dto.UserDto;
+import ru.yandex.practicum.shareit.user.service.UserService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EncodedJsonResponseTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final PageParams FIRST_PAGE = PageParams.of(0, Integer.parseInt(PageParams.DEFAULT_SIZE), null);
+    private static final String AWKWARD = "Дрель \"Bosch\" \\ 🔨\n\t\u0001\u007f  </script>";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    ObjectMapper mapper;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    UserService userService;
+
+    @Test
+    void listsMatchJacksonOutput() throws Exception {
+        long owner = userService.create(new UserDto(AWKWARD, UUID.randomUUID() + "@shareit.ru")).getId();
+        itemService.createItem(owner, ItemDto.builder().name(AWKWARD).description(AWKWARD).available(true).build());
+        itemService.createItem(owner, ItemDto.builder().name("дрель").description("").available(true).build());
+
+        assertEquals(2, itemService.searchByOwnerId(owner, FIRST_PAGE).size());
+        assertEquals(2, itemService.searchByText("дрель", FIRST_PAGE).size());
+        assertSameAsJackson(get("/items").header(USER_ID_HEADER, owner), itemService.searchByOwnerId(owner, FIRST_PAGE));
+        assertSameAsJackson(get("/items/search").param("text", "дрель"), itemService.searchByText("дрель", FIRST_PAGE));
+        assertSameAsJackson(get("/users"), userService.getAll(FIRST_PAGE));
+    }
+
+    @Test
+    void emptyListsMatchJacksonOutput() throws Exception {
+        long owner = userService.create(new UserDto("owner", UUID.randomUUID() + "@shareit.ru")).getId();
+
+        byte[] empty = assertSameAsJackson(get("/items").header(USER_ID_HEADER, owner),
+                itemService.searchByOwnerId(owner, FIRST_PAGE));
+        assertArrayEquals("[]".getBytes(StandardCharsets.UTF_8), empty);
+        assertSameAsJackson(get("/items/search").param("text", ""), itemService.searchByText("", FIRST_PAGE));
+        assertSameAsJackson(get("/users").param("after", String.valueOf(Long.MAX_VALUE - 1)),
+                userService.getAll(PageParams.of(0, FIRST_PAGE.getSize(), Long.MAX_VALUE - 1)));
+    }
+
+    private byte[] assertSameAsJackson(RequestBuilder request, Object expected) throws Exception {
+        MockHttpServletResponse response = mvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        byte[] body = response.getContentAsByteArray();
+        assertArrayEquals(mapper.writeValueAsBytes(expected), body, () -> new String(body, StandardCharsets.UTF_8));
+        assertEquals(String.valueOf(body.length), response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        return body;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.yandex.practicum.shareit.core.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dto.UserMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class JsonBytesTest {
+    private static final List<String> TEXTS = List.of("", "Дрель", "quote \" and \\ slash /", "tab\tnew\nline\r",
+            "\u0000\u0001\u001f\u007f", "emoji 🔨 hammer", "€ ≠ ü", "control \b\f");
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemMapper itemMapper = new ItemMapper();
+    UserMapper userMapper = new UserMapper();
+
+    @Test
+    void encodersMatchJackson() throws Exception {
+        long id = 0;
+        for (String text : TEXTS) {
+            Item item = new Item(id, text, text + text, id % 2 == 0, null,
+                    id % 3 == 0 ? null : ItemRequest.builder().id(Long.MAX_VALUE - id).build(), 1L);
+            User user = new User(id * 1_000_003, text, id % 2 == 0 ? null : text);
+            id++;
+
+            assertArrayEquals(objectMapper.writeValueAsBytes(itemMapper.toItemDto(item)), itemMapper.toJson(item));
+            assertArrayEquals(objectMapper.writeValueAsBytes(user), userMapper.toJson(user));
+        }
+        assertArrayEquals(objectMapper.writeValueAsBytes(new User(-5L, null, "x")),
+                userMapper.toJson(new User(-5L, null, "x")));
+    }
+}
@@ -0,0 +1,43 @@
+package ru.yandex.practicum.shareit.core.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonExporterTest {
+    NdjsonExporter exporter = new NdjsonExporter(new ObjectMapper());
+
+    @Test
+    void emptyExportHasEmptyBody() throws Exception {
+        assertEquals("", export(page -> List.of()));
+    }
+
+    @Test
+    void exportsEveryPageOneValuePerLine() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, PageParams.MAX_SIZE + 1).boxed().collect(Collectors.toList());
+        String body = export(page -> ids.stream()
+                .filter(id -> !page.isKeyset() || id > page.getAfter())
+                .skip(page.getFrom())
+                .limit(page.getSize())
+                .collect(Collectors.toList()));
+
+        assertEquals(ids.stream().map(String::valueOf).collect(Collectors.joining("\n", "", "\n")), body);
+    }
+
+    private String export(Function<PageParams, List<Long>> pages) throws Exception {
+        StreamingResponseBody body = exporter.export(pages, Function.identity()).getBody();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
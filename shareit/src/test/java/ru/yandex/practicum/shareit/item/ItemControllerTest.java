@@ -0,0 +1,195 @@
+package ru.yandex.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.item.dto.ItemDto;
+import ru.yandex.practicum.shareit.item.service.ItemService;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemControllerTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    ObjectMapper mapper;
+    @Autowired
+    ItemService itemService;
+
+    @Test
+    void answersNotModifiedUntilItemChanges() throws Exception {
+        long owner = createUser();
+        long item = createItem(owner, "Drill");
+
+        String eTag = mvc.perform(get("/items/{id}", item))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Drill"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/items/{id}", item).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().bytes(new byte[0]));
+
+        mvc.perform(patch("/items/{id}", item)
+                        .header(USER_ID_HEADER, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Hammer\"}"))
+                .andExpect(status().isOk());
+
+        String changed = mvc.perform(get("/items/{id}", item).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Hammer"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, changed);
+    }
+
+    @Test
+    void patchOfMissingItemIsNotFound() throws Exception {
+        long owner = createUser();
+
+        mvc.perform(patch("/items/{id}", Long.MAX_VALUE)
+                        .header(USER_ID_HEADER, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Hammer\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void concurrentPatchesOfDifferentFieldsKeepBothChanges() throws Exception {
+        long owner = createUser();
+        for (int round = 0; round < 50; round++) {
+            long item = createItem(owner, "Drill");
+            String name = "name" + round;
+            String description = "description" + round;
+
+            CompletableFuture<ItemDto> renaming = CompletableFuture.supplyAsync(() ->
+                    itemService.updateItem(item, owner, ItemDto.builder().name(name).build()));
+            CompletableFuture<ItemDto> describing = CompletableFuture.supplyAsync(() ->
+                    itemService.updateItem(item, owner, ItemDto.builder().description(description).build()));
+            CompletableFuture.allOf(renaming, describing).join();
+
+            ItemDto patched = itemService.getItemsByIds(List.of(item)).get(0);
+            assertEquals(name, patched.getName());
+            assertEquals(description, patched.getDescription());
+        }
+    }
+
+    @Test
+    void createsBatchWithPerRowResults() throws Exception {
+        long owner = createUser();
+
+        String body = mvc.perform(post("/items/batch")
+                        .header(USER_ID_HEADER, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Drill\",\"description\":\"Tool\",\"available\":true},"
+                                + "{\"name\":\"Saw\",\"available\":true},"
+                                + "{\"name\":\"Ladder\",\"description\":\"Tool\",\"available\":true,"
+                                + "\"requestId\":" + Long.MAX_VALUE + "},"
+                                + "{\"name\":\"Hammer\",\"description\":\"Tool\",\"available\":false}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].result.name").value("Drill"))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].result").doesNotExist())
+                .andExpect(jsonPath("$[1].error").isString())
+                .andExpect(jsonPath("$[2].status").value(404))
+                .andExpect(jsonPath("$[2].error").isString())
+                .andExpect(jsonPath("$[3].index").value(3))
+                .andExpect(jsonPath("$[3].status").value(201))
+                .andExpect(jsonPath("$[3].result.available").value(false))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode results = mapper.readTree(body);
+        long drill = results.get(0).get("result").get("id").asLong();
+        long hammer = results.get(3).get("result").get("id").asLong();
+        mvc.perform(get("/items")
+                        .param("ids", String.valueOf(hammer), String.valueOf(Long.MAX_VALUE), String.valueOf(drill)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(hammer))
+                .andExpect(jsonPath("$[1].id").value(drill));
+    }
+
+    @Test
+    void rejectsOversizedBatch() throws Exception {
+        long owner = createUser();
+        String row = "{\"name\":\"Drill\",\"description\":\"Tool\",\"available\":true}";
+
+        mvc.perform(post("/items/batch")
+                        .header(USER_ID_HEADER, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", Collections.nCopies(BatchResult.MAX_SIZE + 1, row)) + "]"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/items").header(USER_ID_HEADER, owner))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void suggestWithoutPrefixIsEmptyAndBadParametersAreRejected() throws Exception {
+        long owner = createUser();
+        createItem(owner, "Suggested drill");
+
+        mvc.perform(get("/items/suggest"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+        mvc.perform(get("/items/suggest").param("prefix", "sugg"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Suggested drill"));
+        mvc.perform(get("/items/suggest").param("prefix", "sugg").param("size", "many"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].field").value("size"));
+    }
+
+    private long createUser() throws Exception {
+        String body = mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"owner\",\"email\":\"" + UUID.randomUUID() + "@shareit.ru\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return id(body);
+    }
+
+    private long createItem(long owner, String name) throws Exception {
+        String body = mvc.perform(post("/items")
+                        .header(USER_ID_HEADER, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"description\":\"Tool\",\"available\":true}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return id(body);
+    }
+
+    private long id(String body) throws Exception {
+        JsonNode node = mapper.readTree(body);
+        return node.get("id").asLong();
+    }
+}
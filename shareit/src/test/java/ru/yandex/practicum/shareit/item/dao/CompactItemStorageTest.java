@@ -0,0 +1,94 @@
+package ru.yandex.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.InMemoryUserStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactItemStorageTest {
+    private static final int FOOTPRINT_ITEMS = 16_000;
+    private static final int OWNERS = 200;
+    private static final PageParams ALL = PageParams.offset(0, Integer.MAX_VALUE);
+
+    @Test
+    void readsHydrateOwnersAndKeepIndexesConsistent() {
+        InMemoryUserStorage users = users(2);
+        CompactItemStorage storage = new CompactItemStorage(users);
+        Item drill = storage.addItem(item("drill", true, 1, 7L));
+        storage.addItem(item("saw", true, 2, null));
+
+        Item found = storage.getItemById(drill.getId());
+        assertSame(users.getById(1L).orElseThrow(), found.getOwner());
+        assertEquals(7L, found.getRequest().getId());
+        assertEquals(List.of(drill.getId()), ids(storage.searchByRequestId(7L, ALL)));
+
+        storage.updateItem(new Item(drill.getId(), "hammer", "description", false, users.getById(2L).orElseThrow(),
+                null, found.getVersion()));
+        assertEquals(2L, storage.getItemById(drill.getId()).getVersion());
+        assertTrue(storage.searchByOwnerId(1L, ALL).isEmpty());
+        assertEquals(2, storage.searchByOwnerId(2L, ALL).size());
+        assertTrue(storage.searchByText("drill", ALL).isEmpty());
+        assertTrue(storage.searchByText("hammer", ALL).isEmpty());
+
+        assertNull(storage.updateItem(item("ghost", true, 1, null).withId(drill.getId() + 1_000)));
+        assertNull(storage.updateItem(item("ghost", true, 1, null).withId(1L << 40)));
+        assertNull(storage.getItemById(drill.getId() + 1_000));
+        assertEquals(2, storage.size());
+
+        storage.restoreDeleted(drill.getId());
+        assertNull(storage.getItemById(drill.getId()));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    void usesLessMemoryPerItemThanStandardStorage() {
+        InMemoryUserStorage users = users(OWNERS);
+        InMemoryItemStorage standard = new InMemoryItemStorage();
+        CompactItemStorage compact = new CompactItemStorage(users);
+        standard.addItems(batch(users));
+        compact.addItems(batch(users));
+
+        GraphLayout shared = GraphLayout.parseInstance(users);
+        long standardBytes = GraphLayout.parseInstance(standard).subtract(shared).totalSize() / FOOTPRINT_ITEMS;
+        long compactBytes = GraphLayout.parseInstance(compact).subtract(shared).totalSize() / FOOTPRINT_ITEMS;
+        assertTrue(compactBytes * 2 < standardBytes, () -> compactBytes + " * 2 >= " + standardBytes);
+    }
+
+    private static InMemoryUserStorage users(int count) {
+        InMemoryUserStorage users = new InMemoryUserStorage();
+        for (int i = 1; i <= count; i++) {
+            users.save(new User(null, "owner" + i, "owner" + i + "@mail.ru"));
+        }
+        return users;
+    }
+
+    private static List<Item> batch(InMemoryUserStorage users) {
+        List<Item> batch = new ArrayList<>(FOOTPRINT_ITEMS);
+        for (int i = 0; i < FOOTPRINT_ITEMS; i++) {
+            User owner = users.getById(1L + i % OWNERS).orElseThrow();
+            batch.add(new Item(null, "drill " + i % 5_000, "description " + i % 5_000, true, owner, null, 0L));
+        }
+        return batch;
+    }
+
+    private static Item item(String name, boolean available, long ownerId, Long requestId) {
+        return new Item(null, name, "description", available, new User(ownerId, "owner", null),
+                requestId == null ? null : ItemRequest.builder().id(requestId).build(), 0L);
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,194 @@
+package ru.yandex.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.shareit.core.concurrent.IdSequence;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryItemStorageTest {
+    private static final int THREADS = 8;
+    private static final int OWNERS = 4;
+    private static final PageParams ALL = PageParams.offset(0, Integer.MAX_VALUE);
+
+    @Test
+    void concurrentAddsGetUniqueIdsAndAreIndexed() throws Exception {
+        InMemoryItemStorage storage = new InMemoryItemStorage();
+        int perThread = 2_000;
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < perThread; i++) {
+                storage.addItem(item(null, "drill" + thread, true, 1 + i % OWNERS));
+            }
+        });
+
+        Set<Long> ids = new HashSet<>();
+        for (long owner = 1; owner <= OWNERS; owner++) {
+            List<Item> owned = storage.searchByOwnerId(owner, ALL);
+            assertEquals(THREADS * perThread / OWNERS, owned.size());
+            owned.forEach(item -> assertTrue(ids.add(item.getId())));
+        }
+        assertEquals(THREADS * perThread, ids.size());
+        for (int thread = 0; thread < THREADS; thread++) {
+            assertEquals(perThread, storage.searchByText("drill" + thread, ALL).size());
+        }
+    }
+
+    @Test
+    void concurrentUpdatesKeepIndexesConsistent() throws Exception {
+        InMemoryItemStorage storage = new InMemoryItemStorage();
+        int itemCount = 64;
+        for (int i = 0; i < itemCount; i++) {
+            storage.addItem(item(null, "item" + i, true, 1 + i % OWNERS));
+        }
+
+        runConcurrently(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 5_000; i++) {
+                long id = 1 + random.nextInt(itemCount);
+                storage.updateItem(item(id, "item" + (id - 1), random.nextBoolean(), 1 + random.nextInt(OWNERS)));
+            }
+        });
+
+        Set<Long> listed = new HashSet<>();
+        for (long owner = 1; owner <= OWNERS; owner++) {
+            for (Item item : storage.searchByOwnerId(owner, ALL)) {
+                assertEquals(owner, item.getOwner().getId());
+                assertTrue(listed.add(item.getId()));
+            }
+        }
+        assertEquals(itemCount, listed.size());
+        for (long id = 1; id <= itemCount; id++) {
+            Item item = storage.getItemById(id);
+            Set<Long> found = storage.searchByText(item.getName(), ALL)
+                    .stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(item.isAvailable(), found.contains(id));
+        }
+    }
+
+    @Test
+    void ownerListingsAreSnapshotsDuringUpdates() throws Exception {
+        InMemoryItemStorage storage = new InMemoryItemStorage();
+        int itemCount = 3_000;
+        for (int i = 0; i < itemCount; i++) {
+            storage.addItem(item(null, "item" + i, true, 1));
+        }
+        List<Item> before = storage.searchByOwnerId(1L, ALL);
+        assertEquals(before.subList(1_500, 1_600), storage.searchByOwnerId(1L, PageParams.offset(1_500, 100)));
+        assertEquals(before.subList(2_001, 2_701),
+                storage.searchByOwnerId(1L, PageParams.after(before.get(2_000).getId(), 700)));
+
+        runConcurrently(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 2_000; i++) {
+                if (thread % 2 == 0) {
+                    long id = 1 + random.nextInt(itemCount);
+                    storage.updateItem(item(id, "renamed" + i, random.nextBoolean(), 1));
+                } else {
+                    List<Item> listed = storage.searchByOwnerId(1L, ALL);
+                    assertEquals(itemCount, listed.size());
+                    for (int j = 1; j < listed.size(); j++) {
+                        assertTrue(listed.get(j - 1).getId() < listed.get(j).getId());
+                    }
+                }
+            }
+        });
+
+        assertEquals("item0", before.get(0).getName());
+        assertEquals(1L, before.get(0).getVersion());
+        storage.updateItem(item(before.get(0).getId(), "moved", true, 2));
+        storage.restoreDeleted(before.get(1).getId());
+        assertEquals(itemCount - 2, storage.searchByOwnerId(1L, ALL).size());
+        assertEquals(List.of("moved"), storage.searchByOwnerId(2L, ALL)
+                .stream()
+                .map(Item::getName)
+                .collect(Collectors.toList()));
+        assertEquals(itemCount, before.size());
+    }
+
+    @Test
+    void partitionedIdsSkipOtherNodesBlocks() {
+        InMemoryItemStorage storage = new InMemoryItemStorage();
+        storage.partitionIds(4, 1);
+        long block = 1L << IdSequence.BLOCK_BITS;
+
+        Item first = storage.addItem(item(null, "first", true, 1));
+        assertEquals(block, first.getId());
+        storage.restore(item(2 * block + 5, "moved in", true, 1).withVersion(1));
+        storage.restoreLastId(2 * block - 2);
+        List<Item> added = storage.addItems(List.of(item(null, "a", true, 1), item(null, "b", true, 1)));
+
+        assertEquals(List.of(2 * block - 1, 5 * block), added.stream().map(Item::getId).collect(Collectors.toList()));
+        assertEquals(4, storage.searchByOwnerId(1L, ALL).size());
+    }
+
+    @Test
+    void nameSuggestionsAreRankedAndFollowUpdates() {
+        InMemoryItemStorage storage = new InMemoryItemStorage();
+        storage.addItem(item(null, "Drill", true, 1));
+        storage.addItem(item(null, "drill  ", true, 2));
+        storage.addItem(item(null, "Drill press", true, 1));
+        Item hidden = storage.addItem(item(null, "Dremel", false, 1));
+        Item saw = storage.addItem(item(null, "Saw", true, 1));
+
+        assertEquals(List.of("Drill", "Drill press"), storage.suggestNames("DR", 10));
+        assertEquals(List.of("Drill press"), storage.suggestNames("drill ", 10));
+        assertEquals(List.of("Drill"), storage.suggestNames("d", 1));
+
+        storage.updateItem(item(hidden.getId(), "Dremel", true, 1));
+        storage.updateItem(item(saw.getId(), "Drill press", true, 1));
+        assertEquals(List.of("Drill", "Drill press", "Dremel"), storage.suggestNames("dr", 10));
+        assertTrue(storage.suggestNames("saw", 10).isEmpty());
+
+        storage.restoreDeleted(saw.getId());
+        storage.updateItem(item(hidden.getId(), "Dremel", false, 1));
+        assertEquals(List.of("Drill", "Drill press"), storage.suggestNames("", 10));
+    }
+
+    private static Item item(Long id, String name, boolean available, long ownerId) {
+        return new Item(id, name, "description", available, new User(ownerId, "owner", null), null, 0L);
+    }
+
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int number = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(number);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
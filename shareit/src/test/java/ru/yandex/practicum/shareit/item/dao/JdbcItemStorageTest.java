@@ -0,0 +1,80 @@
+package ru.yandex.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+import ru.yandex.practicum.shareit.user.dao.JdbcUserStorage;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JdbcTest
+@ActiveProfiles("jdbc")
+@Import({JdbcItemStorage.class, JdbcUserStorage.class})
+class JdbcItemStorageTest {
+    private static final PageParams ALL = PageParams.offset(0, Integer.MAX_VALUE);
+
+    @Autowired
+    JdbcItemStorage storage;
+    @Autowired
+    JdbcUserStorage users;
+
+    @Test
+    void ownerListingJoinsOwnersAndPagesByKey() {
+        User owner = users.save(new User(null, "owner", "owner@mail.ru"));
+        List<Item> added = storage.addItems(List.of(
+                item("drill", "power drill", true, owner, 7L),
+                item("saw", "hand saw", true, owner, null),
+                item("hammer", "steel hammer", true, owner, null)));
+
+        List<Item> owned = storage.searchByOwnerId(owner.getId(), ALL);
+        assertEquals(ids(added), ids(owned));
+        assertEquals("owner@mail.ru", owned.get(0).getOwner().getEmail());
+        assertEquals(7L, owned.get(0).getRequest().getId());
+        assertNull(owned.get(1).getRequest());
+        assertEquals(ids(added.subList(1, 3)),
+                ids(storage.searchByOwnerId(owner.getId(), PageParams.after(added.get(0).getId(), 5))));
+        assertEquals(ids(added.subList(0, 1)), ids(storage.searchByRequestId(7L, ALL)));
+    }
+
+    @Test
+    void textSearchFollowsUpdates() {
+        User owner = users.save(new User(null, "owner", "owner@mail.ru"));
+        Item drill = storage.addItem(item("Drill", "Cordless power drill", true, owner, null));
+        storage.addItem(item("Saw", "Power saw", true, owner, null));
+
+        assertEquals(2, storage.searchByText("pow", ALL).size());
+        assertEquals(List.of(drill.getId()), ids(storage.searchByText("cord pow", ALL)));
+        assertEquals(List.of(drill.getId()), ids(storage.matchText("cordless drill", 5).subList(0, 1)));
+        assertEquals(List.of("Drill"), storage.suggestNames("dri", 5));
+
+        Item updated = storage.updateItem(item("Drill", "Cordless power drill", false, owner, null, drill.getId()));
+        assertEquals(2L, updated.getVersion());
+        assertTrue(storage.searchByText("cord", ALL).isEmpty());
+        assertTrue(storage.suggestNames("dri", 5).isEmpty());
+    }
+
+    private static Item item(String name, String description, boolean available, User owner, Long requestId) {
+        return item(name, description, available, owner, requestId, null);
+    }
+
+    private static Item item(String name, String description, boolean available, User owner, Long requestId,
+                             Long id) {
+        return new Item(id, name, description, available, owner,
+                requestId == null ? null : ItemRequest.builder().id(requestId).build(), 0L);
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,166 @@
+package ru.yandex.practicum.shareit.item.feed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.yandex.practicum.shareit.item.Item;
+import ru.yandex.practicum.shareit.item.ItemChangedEvent;
+import ru.yandex.practicum.shareit.item.cache.ItemResponseCache;
+import ru.yandex.practicum.shareit.item.dto.ItemMapper;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemChangeFeedTest {
+    private final List<ItemChangeFeed> feeds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        feeds.forEach(ItemChangeFeed::close);
+    }
+
+    @Test
+    void deliversOnlyMatchingOwnerAndIds() throws Exception {
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        ItemChangeFeed feed = feed(16, Duration.ofSeconds(10), emitters);
+        feed.subscribe(1L, null);
+        feed.subscribe(null, List.of(2L, 3L));
+
+        publish(feed, item(1, 1), item(2, 2), item(3, 1), item(4, 2));
+
+        assertEquals(List.of("item 1", "item 3"), emitters.get(0).take(2));
+        assertEquals(List.of("item 2", "item 3"), emitters.get(1).take(2));
+        assertNull(emitters.get(0).events.poll(100, TimeUnit.MILLISECONDS));
+        assertNull(emitters.get(1).events.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void reportsDroppedChangesWhenQueueIsFull() throws Exception {
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        ItemChangeFeed feed = feed(2, Duration.ofSeconds(10), emitters);
+        feed.subscribe(null, null);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.blockFirstSend();
+
+        publish(feed, item(1, 1));
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        publish(feed, item(2, 1), item(3, 1), item(4, 1), item(5, 1));
+        emitter.release.countDown();
+
+        assertEquals(List.of("item 1", "dropped {\"dropped\":2}", "item 2", "item 3"), emitter.take(4));
+    }
+
+    @Test
+    void dropsSubscriberStuckInSend() throws Exception {
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        ItemChangeFeed feed = feed(16, Duration.ofMillis(100), emitters);
+        feed.subscribe(null, null);
+        feed.subscribe(null, null);
+        RecordingEmitter stuck = emitters.get(0);
+        RecordingEmitter healthy = emitters.get(1);
+        stuck.blockFirstSend();
+
+        publish(feed, item(1, 1));
+        assertTrue(stuck.sending.await(5, TimeUnit.SECONDS));
+        assertTrue(stuck.failed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, feed.subscriberCount());
+
+        publish(feed, item(2, 1));
+        assertEquals(List.of("item 1", "item 2"), healthy.take(2));
+    }
+
+    private ItemChangeFeed feed(int queueSize, Duration sendTimeout, List<RecordingEmitter> emitters) {
+        ItemChangeFeed feed = new ItemChangeFeed(new ItemResponseCache(new ItemMapper(), DataSize.ofMegabytes(1)),
+                Duration.ofMinutes(1), queueSize, sendTimeout) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        feeds.add(feed);
+        return feed;
+    }
+
+    private static void publish(ItemChangeFeed feed, Item... items) {
+        for (Item item : items) {
+            feed.onItemChanged(new ItemChangedEvent(item));
+        }
+    }
+
+    private static Item item(long id, long ownerId) {
+        return new Item(id, "item " + id, "description", true, new User(ownerId, "owner", "owner@shareit.ru"),
+                null, 1L);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch failed = new CountDownLatch(1);
+        volatile boolean blocking;
+
+        void blockFirstSend() {
+            blocking = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData() instanceof byte[]
+                    ? new String((byte[]) part.getData(), StandardCharsets.UTF_8)
+                    : part.getData().toString()));
+            if (blocking) {
+                blocking = false;
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException("interrupted");
+                }
+            }
+            events.add(render(text.toString()));
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed.countDown();
+        }
+
+        List<String> take(int count) throws InterruptedException {
+            List<String> taken = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String event = events.poll(5, TimeUnit.SECONDS);
+                if (event == null) {
+                    break;
+                }
+                taken.add(event);
+            }
+            return taken;
+        }
+
+        private static String render(String text) {
+            String name = text.substring("event:".length(), text.indexOf('\n'));
+            String data = text.substring(text.indexOf("data:") + "data:".length()).trim();
+            if (!name.equals("item")) {
+                return name + " " + data;
+            }
+            return name + " " + data.replaceAll(".*\"id\":(\\d+).*", "$1");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.yandex.practicum.shareit.request.dao;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.request.ItemRequest;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryItemRequestStorageTest {
+    private static final PageParams ALL = PageParams.offset(0, Integer.MAX_VALUE);
+
+    @Test
+    void separatesOwnAndOtherRequests() {
+        InMemoryItemRequestStorage storage = new InMemoryItemRequestStorage();
+        for (int i = 0; i < 10; i++) {
+            storage.add(request("request " + i, 1 + i % 3));
+        }
+
+        assertEquals(List.of(1L, 4L, 7L, 10L), ids(storage.findByRequestorId(1, ALL)));
+        assertEquals(List.of(2L, 3L, 5L, 6L, 8L, 9L), ids(storage.findAllExceptRequestor(1, ALL)));
+        assertEquals(List.of(5L, 6L), ids(storage.findAllExceptRequestor(1, PageParams.after(4L, 2))));
+    }
+
+    @Test
+    void matchesItemTextAgainstRequestsByOverlap() {
+        InMemoryItemRequestStorage storage = new InMemoryItemRequestStorage();
+        storage.add(request("Нужна дрель", 1));
+        storage.add(request("Ищу ударную дрель и перфоратор", 2));
+        storage.add(request("Ищу лестницу", 3));
+
+        assertEquals(List.of(2L, 1L), ids(storage.matchText("Ударная дрель, перфоратор в подарок", 10)));
+        assertEquals(List.of(), ids(storage.matchText("Велосипед", 10)));
+    }
+
+    @Test
+    void seedsSuggestionsOnceAndKeepsTheNewest() {
+        InMemoryItemRequestStorage storage = new InMemoryItemRequestStorage();
+        long requestId = storage.add(request("Нужна дрель", 1)).getId();
+
+        storage.addSuggestions(requestId, List.of(100L));
+        assertEquals(List.of(2L, 1L), storage.getSuggestedItemIds(requestId, request -> List.of(1L, 2L)));
+
+        storage.addSuggestions(requestId, LongStream.rangeClosed(3, 40).boxed().collect(Collectors.toList()));
+        List<Long> suggested = storage.getSuggestedItemIds(requestId, request -> List.of());
+        assertEquals(InMemoryItemRequestStorage.MAX_SUGGESTIONS, suggested.size());
+        assertEquals(40L, suggested.get(0));
+    }
+
+    private static ItemRequest request(String description, long requestorId) {
+        return new ItemRequest(null, description, User.builder().id(requestorId).build(), LocalDateTime.now());
+    }
+
+    private static List<Long> ids(List<ItemRequest> requests) {
+        return requests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+    }
+}
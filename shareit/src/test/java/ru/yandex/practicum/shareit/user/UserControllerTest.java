@@ -0,0 +1,88 @@
+package ru.yandex.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTest {
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void createsBatchWithPerRowResults() throws Exception {
+        String taken = email();
+        mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(user("existing", taken)))
+                .andExpect(status().isCreated());
+        String fresh = email();
+
+        mvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + user("first", fresh) + ","
+                                + user("invalid", "not-an-email") + ","
+                                + user("taken", taken) + ","
+                                + user("again", fresh) + ","
+                                + user("last", email()) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].result.email").value(fresh))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].result").doesNotExist())
+                .andExpect(jsonPath("$[1].error").isString())
+                .andExpect(jsonPath("$[2].status").value(409))
+                .andExpect(jsonPath("$[2].error").isString())
+                .andExpect(jsonPath("$[3].status").value(409))
+                .andExpect(jsonPath("$[4].index").value(4))
+                .andExpect(jsonPath("$[4].status").value(201))
+                .andExpect(jsonPath("$[4].result.name").value("last"));
+    }
+
+    @Test
+    void acceptsUserWithoutNameInMemory() throws Exception {
+        mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email() + "\"}"))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + user(" ", email()) + "," + user("named", email()) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(201));
+    }
+
+    @Test
+    void rejectsOversizedBatch() throws Exception {
+        String row = user("user", email());
+
+        mvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", Collections.nCopies(BatchResult.MAX_SIZE + 1, row)) + "]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String user(String name, String email) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}";
+    }
+
+    private static String email() {
+        return UUID.randomUUID() + "@shareit.ru";
+    }
+}
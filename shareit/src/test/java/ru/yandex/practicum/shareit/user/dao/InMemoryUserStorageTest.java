@@ -0,0 +1,268 @@
+package ru.yandex.practicum.shareit.user.dao;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.shareit.core.exception.DuplicatedEmailException;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryUserStorageTest {
+    private static final int THREADS = 8;
+    private static final PageParams ALL = PageParams.offset(0, Integer.MAX_VALUE);
+    private static final String[] EMAILS = {"a@mail.ru", "b@mail.ru", "c@mail.ru", "d@mail.ru"};
+
+    @Test
+    void concurrentSignupsGetUniqueIds() throws Exception {
+        InMemoryUserStorage storage = new InMemoryUserStorage();
+        int perThread = 2_000;
+
+        List<List<User>> saved = runConcurrently(thread -> {
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < perThread; i++) {
+                users.add(storage.save(new User(null, "user", "user" + thread + "-" + i + "@mail.ru")));
+            }
+            return users;
+        });
+
+        Set<Long> ids = new HashSet<>();
+        saved.forEach(users -> users.forEach(user -> assertTrue(ids.add(user.getId()))));
+        assertEquals(THREADS * perThread, ids.size());
+        assertEquals(THREADS * perThread, storage.findAll(ALL).size());
+        for (Long id : ids) {
+            assertEquals(id, storage.getById(id).orElseThrow().getId());
+        }
+    }
+
+    @Test
+    void concurrentSignupsWithSameEmailHaveSingleWinner() throws Exception {
+        InMemoryUserStorage storage = new InMemoryUserStorage();
+        int rounds = 500;
+        AtomicInteger winners = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int round = 0; round < rounds; round++) {
+                String email = (thread % 2 == 0 ? "Race" : "race") + round + "@mail.ru";
+                try {
+                    storage.save(new User(null, "user", email));
+                    winners.incrementAndGet();
+                } catch (DuplicatedEmailException ignored) {
+                }
+            }
+            return null;
+        });
+
+        assertEquals(rounds, winners.get());
+        assertEquals(rounds, storage.findAll(ALL).size());
+    }
+
+    @Test
+    void concurrentEmailChangesKeepIndexConsistent() throws Exception {
+        InMemoryUserStorage storage = new InMemoryUserStorage();
+        int users = 16;
+        for (int i = 0; i < users; i++) {
+            storage.save(new User(null, "user", "initial" + i + "@mail.ru"));
+        }
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < 2_000; i++) {
+                long id = 1 + (i + thread) % users;
+                try {
+                    storage.save(new User(id, "user", "shared" + (i % 8) + "@mail.ru"));
+                } catch (DuplicatedEmailException ignored) {
+                }
+            }
+            return null;
+        });
+
+        Set<String> emails = new HashSet<>();
+        for (User user : storage.findAll(ALL)) {
+            assertTrue(emails.add(user.getEmail().toLowerCase()));
+            assertTrue(storage.getByEmail(user.getEmail()));
+        }
+        for (int i = 0; i < 8; i++) {
+            String email = "shared" + i + "@mail.ru";
+            assertEquals(emails.contains(email), storage.getByEmail(email));
+        }
+    }
+
+    @Test
+    void concurrentHistoriesMatchSequentialModel() throws Exception {
+        for (int round = 0; round < 2000; round++) {
+            InMemoryUserStorage storage = new InMemoryUserStorage();
+            TreeMap<Long, String> initial = new TreeMap<>();
+            for (int i = 0; i < 3; i++) {
+                User user = storage.save(new User(null, "user", EMAILS[i]));
+                initial.put(user.getId(), user.getEmail());
+            }
+            AtomicLong clock = new AtomicLong();
+            long seed = round;
+
+            List<Operation> history = new ArrayList<>();
+            runConcurrently(thread -> {
+                SplittableRandom random = new SplittableRandom(seed * THREADS + thread);
+                List<Operation> operations = new ArrayList<>();
+                for (int i = 0; i < 2; i++) {
+                    operations.add(Operation.random(random).run(storage, clock));
+                }
+                return operations;
+            }).forEach(history::addAll);
+
+            assertTrue(linearizable(history, initial, 0, new HashSet<>()), () -> "Not linearizable: " + history);
+        }
+    }
+
+    // Looks for an order of the operations that respects real time and replays against the model with the same results.
+    private static boolean linearizable(List<Operation> history, TreeMap<Long, String> state, long done,
+                                        Set<String> dead) {
+        if (done == (1L << history.size()) - 1) {
+            return true;
+        }
+        if (!dead.add(done + " " + state)) {
+            return false;
+        }
+        for (int i = 0; i < history.size(); i++) {
+            if ((done & 1L << i) != 0 || !minimal(history, done, i)) {
+                continue;
+            }
+            TreeMap<Long, String> next = new TreeMap<>(state);
+            if (history.get(i).replay(next) && linearizable(history, next, done | 1L << i, dead)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean minimal(List<Operation> history, long done, int candidate) {
+        for (int i = 0; i < history.size(); i++) {
+            if ((done & 1L << i) == 0 && history.get(i).responded < history.get(candidate).invoked) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private enum Kind { SAVE, GET, HAS_EMAIL, DELETE }
+
+    private static final class Operation {
+        private static final String DUPLICATE = "duplicate";
+
+        final Kind kind;
+        final long id;
+        final String email;
+        String result;
+        long invoked;
+        long responded;
+
+        Operation(Kind kind, long id, String email) {
+            this.kind = kind;
+            this.id = id;
+            this.email = email;
+        }
+
+        static Operation random(SplittableRandom random) {
+            return new Operation(Kind.values()[random.nextInt(Kind.values().length)],
+                    1 + random.nextInt(3), EMAILS[random.nextInt(EMAILS.length)]);
+        }
+
+        Operation run(InMemoryUserStorage storage, AtomicLong clock) {
+            invoked = clock.incrementAndGet();
+            result = call(storage);
+            responded = clock.incrementAndGet();
+            return this;
+        }
+
+        private String call(InMemoryUserStorage storage) {
+            switch (kind) {
+                case SAVE:
+                    try {
+                        return String.valueOf(storage.save(new User(id, "user", email)).getId());
+                    } catch (DuplicatedEmailException e) {
+                        return DUPLICATE;
+                    }
+                case GET:
+                    return storage.getById(id).map(User::getEmail).orElse(null);
+                case HAS_EMAIL:
+                    return String.valueOf(storage.getByEmail(email));
+                default:
+                    storage.deleteById(id);
+                    return null;
+            }
+        }
+
+        // Applies the operation to the model and tells whether the model would have answered the same.
+        boolean replay(Map<Long, String> state) {
+            switch (kind) {
+                case SAVE:
+                    boolean taken = state.entrySet().stream()
+                            .anyMatch(user -> user.getKey() != id && user.getValue().equals(email));
+                    if (taken || DUPLICATE.equals(result)) {
+                        return taken && DUPLICATE.equals(result);
+                    }
+                    long savedId = Long.parseLong(result);
+                    if (state.containsKey(id) ? savedId != id : state.containsKey(savedId)) {
+                        return false;
+                    }
+                    state.put(savedId, email);
+                    return true;
+                case GET:
+                    return Objects.equals(result, state.get(id));
+                case HAS_EMAIL:
+                    return result.equals(String.valueOf(state.containsValue(email)));
+                default:
+                    state.remove(id);
+                    return true;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return kind + "(" + id + ", " + email + ") = " + result + " [" + invoked + ", " + responded + "]";
+        }
+    }
+
+    private static <T> List<T> runConcurrently(ThreadTask<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int number = thread;
+                futures.add(executor.submit((Callable<T>) () -> {
+                    start.await();
+                    return task.run(number);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask<T> {
+        T run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.yandex.practicum.shareit.user.dao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.yandex.practicum.shareit.core.batch.BatchResult;
+import ru.yandex.practicum.shareit.core.exception.DuplicatedEmailException;
+import ru.yandex.practicum.shareit.core.exception.FieldValidationException;
+import ru.yandex.practicum.shareit.core.paging.PageParams;
+import ru.yandex.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JdbcTest
+@ActiveProfiles("jdbc")
+@Import(JdbcUserStorage.class)
+class JdbcUserStorageTest {
+    @Autowired
+    JdbcUserStorage storage;
+
+    @Test
+    void batchInsertSkipsTakenAndRepeatedEmails() {
+        storage.save(new User(null, "first", "taken@mail.ru"));
+
+        List<BatchResult<User>> inserted = storage.insertAll(List.of(
+                new User(null, "a", "a@mail.ru"),
+                new User(null, "b", " TAKEN@mail.ru"),
+                new User(null, "c", "c@mail.ru"),
+                new User(null, "d", "A@MAIL.RU")));
+
+        assertEquals(List.of(201, 409, 201, 409), statuses(inserted));
+        assertEquals(List.of(0, 1, 2, 3), inserted.stream().map(BatchResult::getIndex).collect(Collectors.toList()));
+        assertTrue(storage.getByEmail("c@Mail.ru"));
+        assertEquals("c", storage.getById(inserted.get(2).getResult().getId()).orElseThrow().getName());
+        assertThrows(DuplicatedEmailException.class, () -> storage.save(new User(null, "e", "c@mail.ru")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void batchInsertReportsConstraintViolationsPerRow() {
+        List<BatchResult<User>> inserted = storage.insertAll(List.of(
+                new User(null, "a", "violations-a@mail.ru"),
+                new User(null, null, "nameless@mail.ru"),
+                new User(null, "c", "violations-c@mail.ru")));
+
+        assertEquals(List.of(201, 400, 201), statuses(inserted));
+        assertEquals("user: violates a database constraint", inserted.get(1).getError());
+        assertFalse(storage.getByEmail("nameless@mail.ru"));
+        assertEquals("c", storage.getById(inserted.get(2).getResult().getId()).orElseThrow().getName());
+        assertThrows(FieldValidationException.class, () -> storage.save(new User(null, null, "violations-d@mail.ru")));
+    }
+
+    @Test
+    void keysetPagesFollowIds() {
+        for (int i = 0; i < 5; i++) {
+            storage.save(new User(null, "user" + i, "user" + i + "@mail.ru"));
+        }
+        List<User> first = storage.findAll(PageParams.offset(0, 2));
+        List<User> next = storage.findAll(PageParams.after(first.get(1).getId(), 2));
+
+        assertEquals(2, next.size());
+        assertTrue(next.get(0).getId() > first.get(1).getId());
+        assertEquals(storage.findAll(PageParams.offset(2, 2)), next);
+    }
+
+    private static List<Integer> statuses(List<BatchResult<User>> results) {
+        return results.stream().map(BatchResult::getStatus).collect(Collectors.toList());
+    }
+}
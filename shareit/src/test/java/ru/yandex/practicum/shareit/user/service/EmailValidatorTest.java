@@ -0,0 +1,71 @@
+package ru.yandex.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailValidatorTest {
+    private static final Pattern LEGACY = Pattern.compile("^(.+)@(\\S+)$");
+    private static final String[] ALPHABET = {
+            "a", "я", ".", "@", "@", " ", "\t", "\n", "\r", "\u000B", "\f",
+            "\u0085", "\u2028", "\u2029", "\u00A0", "\uD83D\uDE00", "\uD83D"
+    };
+
+    @Test
+    void acceptsTheSameInputsAsTheLegacyRegex() {
+        SplittableRandom random = new SplittableRandom(2023);
+        for (int i = 0; i < 500_000; i++) {
+            StringBuilder email = new StringBuilder();
+            int length = random.nextInt(10);
+            for (int j = 0; j < length; j++) {
+                email.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            String candidate = email.toString();
+            assertEquals(LEGACY.matcher(candidate).matches(), EmailValidator.isValid(candidate),
+                    () -> "Mismatch for " + escape(candidate));
+        }
+    }
+
+    @Test
+    void handlesKnownCases() {
+        assertTrue(EmailValidator.isValid("user@mail.ru"));
+        assertTrue(EmailValidator.isValid("us er@mail.ru"));
+        assertTrue(EmailValidator.isValid("a@b@c"));
+        assertTrue(EmailValidator.isValid("a@\u2028@b"));
+        assertFalse(EmailValidator.isValid(null));
+        assertFalse(EmailValidator.isValid(""));
+        assertFalse(EmailValidator.isValid("@mail.ru"));
+        assertFalse(EmailValidator.isValid("user@"));
+        assertFalse(EmailValidator.isValid("user@ma il.ru"));
+        assertFalse(EmailValidator.isValid("user@mail.ru\n"));
+        assertFalse(EmailValidator.isValid("us\ner@mail.ru"));
+    }
+
+    @Test
+    void rejectsAdversarialInputInLinearTime() {
+        String manyAts = "@".repeat(1_000_000) + " ";
+        String longLocalPart = "a".repeat(1_000_000) + "@" + "b".repeat(1_000_000);
+        String trailingTerminator = "a@".repeat(500_000) + "\n";
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertFalse(EmailValidator.isValid(manyAts));
+            assertTrue(EmailValidator.isValid(longLocalPart));
+            assertFalse(EmailValidator.isValid(trailingTerminator));
+        });
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            escaped.append(c < 0x20 || c > 0x7E ? String.format("\\u%04X", (int) c) : String.valueOf(c));
+        }
+        return escaped.toString();
+    }
+}